@@ -0,0 +1,3 @@
+#!/bin/bash
+# Lets the optional replica (docker-compose --profile replica) stream from this instance.
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
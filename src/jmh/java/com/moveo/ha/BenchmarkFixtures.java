@@ -0,0 +1,57 @@
+package com.moveo.ha;
+
+import com.moveo.ha.entity.Project;
+import com.moveo.ha.entity.Task;
+import com.moveo.ha.enums.TaskStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+
+/**
+ * Entities shaped like production rows, built the same way on every run so results stay comparable.
+ */
+public final class BenchmarkFixtures {
+
+    private static final Instant EPOCH = Instant.parse("2025-11-01T00:00:00Z");
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Project project(long id) {
+        return Project.builder()
+                .id(id)
+                .name("Project " + id)
+                .description("Description of project " + id + ", long enough to look like a real one.")
+                .createdAt(EPOCH.plusSeconds(id))
+                .updatedAt(EPOCH.plusSeconds(id * 60))
+                .version(1L)
+                .build();
+    }
+
+    /**
+     * A project with {@code taskCount} tasks in its {@code tasks} collection.
+     */
+    public static Project projectWithTasks(long id, int taskCount) {
+        var project = project(id);
+        var tasks = new ArrayList<Task>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(task(id * 1_000_000 + i, project));
+        }
+        project.setTasks(tasks);
+        return project;
+    }
+
+    public static Task task(long id, Project project) {
+        return Task.builder()
+                .id(id)
+                .project(project)
+                .title("Task " + id)
+                .description("Description of task " + id + ": steps, acceptance criteria and a few notes.")
+                .status(STATUSES[(int) (id % STATUSES.length)])
+                .createdAt(EPOCH.plusSeconds(id))
+                .updatedAt(EPOCH.plusSeconds(id * 60))
+                .version(id % 5 + 1)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.moveo.ha.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moveo.ha.BenchmarkFixtures;
+import com.moveo.ha.dto.project.ProjectListDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.dto.task.TaskListDTO;
+import com.moveo.ha.mapper.ProjectMapper;
+import com.moveo.ha.mapper.TaskMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Jackson serialization of listing pages, configured like Spring Boot's {@link ObjectMapper}.
+ * Projects embed {@code moveo.projects.embedded-tasks-limit} (20) task summaries each, as in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListSerializationBenchmark {
+
+    private static final int EMBEDDED_TASKS = 20;
+
+    @Param({"20", "200"})
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private TaskListDTO taskPage;
+    private ProjectListDTO projectPage;
+
+    @Setup
+    public void setUp() {
+        var taskMapper = Mappers.getMapper(TaskMapper.class);
+        var projectMapper = Mappers.getMapper(ProjectMapper.class);
+
+        var owner = BenchmarkFixtures.project(7);
+        var tasks = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> taskMapper.toResponse(BenchmarkFixtures.task(id, owner)))
+                .toList();
+        taskPage = TaskListDTO.builder()
+                .totalTasks(10_000L).pageNumber(0).pageSize(pageSize).totalPages(10_000 / pageSize)
+                .first(true).last(false).sortBy("id").sortDir("asc")
+                .tasks(tasks)
+                .build();
+
+        var projects = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> BenchmarkFixtures.projectWithTasks(id, EMBEDDED_TASKS))
+                .map(p -> projectMapper.toResponse(p,
+                        p.getTasks().stream().map(projectMapper::toTaskSummary).toList(),
+                        new ProjectTaskStatsDTO(30, 10, 17)))
+                .toList();
+        projectPage = ProjectListDTO.builder()
+                .totalProjects(1_000L).pageNumber(0).pageSize(pageSize).totalPages(1_000 / pageSize)
+                .first(true).last(false).sortBy("id").sortDir("asc")
+                .projects(projects)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] taskList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskPage);
+    }
+
+    @Benchmark
+    public byte[] projectList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectPage);
+    }
+}
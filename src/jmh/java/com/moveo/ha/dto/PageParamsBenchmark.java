@@ -0,0 +1,37 @@
+package com.moveo.ha.dto;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PageParams#toPageable}, run for every listing request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageParamsBenchmark {
+
+    private static final Set<String> ALLOWED_SORT = Set.of("id", "title", "status", "project", "createdAt", "updatedAt");
+
+    private PageParams params;
+
+    @Setup
+    public void setUp() {
+        params = new PageParams();
+        params.setPageNumber(3);
+        params.setPageSize(50);
+        params.setSortBy("updatedAt");
+        params.setSortDir("DESC");
+    }
+
+    @Benchmark
+    public Pageable toPageable() {
+        return params.toPageable(ALLOWED_SORT);
+    }
+}
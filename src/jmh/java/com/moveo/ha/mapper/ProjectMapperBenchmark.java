@@ -0,0 +1,47 @@
+package com.moveo.ha.mapper;
+
+import com.moveo.ha.BenchmarkFixtures;
+import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.entity.Project;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ProjectMapper#toResponse(Project, java.util.Collection, ProjectTaskStatsDTO)} including the
+ * per-task {@link ProjectMapper#toTaskSummary} calls, for small, typical and very large projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectMapperBenchmark {
+
+    @Param({"10", "1000", "50000"})
+    public int tasks;
+
+    private final ProjectMapper mapper = Mappers.getMapper(ProjectMapper.class);
+    private Project project;
+    private ProjectTaskStatsDTO stats;
+
+    @Setup
+    public void setUp() {
+        project = BenchmarkFixtures.projectWithTasks(7, tasks);
+        stats = new ProjectTaskStatsDTO(tasks, 0, 0);
+    }
+
+    @Benchmark
+    public ProjectResponseDTO toResponse() {
+        var summaries = project.getTasks().stream().map(mapper::toTaskSummary).toList();
+        return mapper.toResponse(project, summaries, stats);
+    }
+
+    @Benchmark
+    public ProjectResponseDTO toResponseWithoutTasks() {
+        return mapper.toResponse(project);
+    }
+}
@@ -0,0 +1,34 @@
+package com.moveo.ha.mapper;
+
+import com.moveo.ha.BenchmarkFixtures;
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.entity.Task;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskMapper#toResponse(Task)}, run once per task of every page and single-task response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskMapperBenchmark {
+
+    private final TaskMapper mapper = Mappers.getMapper(TaskMapper.class);
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = BenchmarkFixtures.task(42, BenchmarkFixtures.project(7));
+    }
+
+    @Benchmark
+    public TaskResponseDTO toResponse() {
+        return mapper.toResponse(task);
+    }
+}
@@ -0,0 +1,43 @@
+package com.moveo.ha.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CognitoGroupsGrantedAuthoritiesConverter#convert}, run for every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CognitoGroupsGrantedAuthoritiesConverterBenchmark {
+
+    private final CognitoGroupsGrantedAuthoritiesConverter converter =
+            new CognitoGroupsGrantedAuthoritiesConverter("cognito:groups");
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() {
+        var issuedAt = Instant.parse("2025-11-01T00:00:00Z");
+        jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(3600))
+                .claim("cognito:groups", List.of("admin", " user ", "ROLE_AUDITOR"))
+                .build();
+    }
+
+    @Benchmark
+    public Collection<GrantedAuthority> convert() {
+        return converter.convert(jwt);
+    }
+}
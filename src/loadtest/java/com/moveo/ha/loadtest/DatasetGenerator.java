@@ -0,0 +1,317 @@
+package com.moveo.ha.loadtest;
+
+import com.moveo.ha.entity.Task;
+import com.moveo.ha.enums.TaskStatus;
+import org.postgresql.PGConnection;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates projects and tasks straight into the Liquibase schema with {@code COPY}, in parallel chunks.
+ * <p>
+ * Tasks per project follow a Zipf (power law) distribution over randomly ordered projects, statuses follow a
+ * configured mix, and timestamps spread over a window before {@link Spec#anchor()}: a project's tasks are
+ * created after the project, and updated after they were created. Every chunk draws from its own random
+ * stream derived from the seed, so the same {@link Spec} produces the same rows whatever the thread count.
+ * Ids are reserved from {@code project_seq} / {@code task_seq} in blocks, like Hibernate's pooled-lo
+ * optimizer, so the running application keeps allocating ids around them.
+ * <p>
+ * Statement triggers keep {@code project_task_stats} up to date as for any other insert. Run it while the
+ * application is idle: the second-level cache does not see the rows.
+ */
+final class DatasetGenerator {
+
+    static final String[] VOCABULARY = {
+            "release", "billing", "invoice", "deploy", "migration", "sprint", "review", "backlog",
+            "onboarding", "metrics", "latency", "cache", "payment", "report", "export", "security"
+    };
+
+    /** {@code project_seq} increment, the {@code allocationSize} of {@code Project.id}. */
+    private static final int PROJECT_ID_ALLOCATION_SIZE = 50;
+
+    private static final String COPY_PROJECTS =
+            "COPY projects (id, name, description, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_TASKS =
+            "COPY tasks (id, project_id, title, description, status, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+
+    DatasetGenerator(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    void generate(Spec spec) throws Exception {
+        var started = System.nanoTime();
+        var random = new SplittableRandom(spec.seed());
+
+        var taskCounts = taskCounts(spec, random);
+        var firstTask = new long[spec.projects() + 1];
+        for (int p = 0; p < spec.projects(); p++) {
+            firstTask[p + 1] = firstTask[p] + taskCounts[p];
+        }
+        var spreadSeconds = spec.spread().toSeconds();
+        var projectCreated = new long[spec.projects()];
+        for (int p = 0; p < spec.projects(); p++) {
+            projectCreated[p] = spec.anchor().getEpochSecond() - random.nextLong(spreadSeconds);
+        }
+
+        var projectIds = reserveIds("project_seq", spec.projects(), PROJECT_ID_ALLOCATION_SIZE);
+        var taskIds = reserveIds("task_seq", spec.tasks(), Task.ID_ALLOCATION_SIZE);
+
+        try (var executor = Executors.newFixedThreadPool(spec.threads())) {
+            var written = new AtomicLong();
+            var projectChunks = new ArrayList<Future<?>>();
+            for (int from = 0; from < spec.projects(); from += spec.chunkSize()) {
+                var chunk = new Chunk(from, Math.min(from + spec.chunkSize(), spec.projects()));
+                projectChunks.add(executor.submit(() -> copy(COPY_PROJECTS,
+                        projectsCsv(chunk, projectIds, projectCreated, spec), written, spec.projects(), "projects")));
+            }
+            await(projectChunks);
+
+            written.set(0);
+            var taskChunks = new ArrayList<Future<?>>();
+            for (int from = 0; from < spec.tasks(); from += spec.chunkSize()) {
+                var chunk = new Chunk(from, Math.min(from + spec.chunkSize(), spec.tasks()));
+                taskChunks.add(executor.submit(() -> copy(COPY_TASKS,
+                        tasksCsv(chunk, taskIds, projectIds, firstTask, projectCreated, spec), written, spec.tasks(), "tasks")));
+            }
+            await(taskChunks);
+        }
+        System.out.printf("Generated %d projects and %d tasks in %ds%n", spec.projects(), spec.tasks(),
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    /**
+     * Zipf-distributed task counts adding up to {@code spec.tasks()}, shuffled so project size does not
+     * follow id order.
+     */
+    private static int[] taskCounts(Spec spec, SplittableRandom random) {
+        var weights = new double[spec.projects()];
+        var total = 0.0;
+        for (int rank = 0; rank < weights.length; rank++) {
+            weights[rank] = Math.pow(rank + 1, -spec.skew());
+            total += weights[rank];
+        }
+        var counts = new int[spec.projects()];
+        long assigned = 0;
+        for (int rank = 0; rank < counts.length; rank++) {
+            counts[rank] = (int) (spec.tasks() * weights[rank] / total);
+            assigned += counts[rank];
+        }
+        // the rounding remainder goes to the largest projects, which are the first ranks
+        for (int rank = 0; assigned < spec.tasks(); rank = (rank + 1) % counts.length) {
+            counts[rank]++;
+            assigned++;
+        }
+        for (int i = counts.length - 1; i > 0; i--) {
+            var j = random.nextInt(i + 1);
+            var swap = counts[i];
+            counts[i] = counts[j];
+            counts[j] = swap;
+        }
+        return counts;
+    }
+
+    /**
+     * {@code count} ids as pooled-lo blocks: each {@code nextval} {@code v} owns {@code [v, v + blockSize)}.
+     */
+    private IdBlocks reserveIds(String sequence, int count, int blockSize) {
+        var blocks = (count + blockSize - 1) / blockSize;
+        var starts = jdbc.queryForList("SELECT nextval('%s') FROM generate_series(1, ?)".formatted(sequence),
+                        Long.class, blocks).stream()
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return new IdBlocks(starts, blockSize);
+    }
+
+    private static String projectsCsv(Chunk chunk, IdBlocks ids, long[] created, Spec spec) {
+        var random = chunk.random(spec.seed(), 1);
+        var csv = new StringBuilder(chunk.size() * 96);
+        for (int p = chunk.from(); p < chunk.to(); p++) {
+            var updated = between(random, created[p], spec.anchor().getEpochSecond());
+            csv.append(ids.id(p)).append(",Project ").append(p + 1).append(" ").append(word(random))
+                    .append(",\"Generated project ").append(p + 1).append(": ")
+                    .append(word(random)).append(", ").append(word(random)).append("\",")
+                    .append(Instant.ofEpochSecond(created[p])).append(',')
+                    .append(Instant.ofEpochSecond(updated)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static String tasksCsv(Chunk chunk, IdBlocks ids, IdBlocks projectIds, long[] firstTask,
+                                   long[] projectCreated, Spec spec) {
+        var random = chunk.random(spec.seed(), 2);
+        var csv = new StringBuilder(chunk.size() * 160);
+        var anchor = spec.anchor().getEpochSecond();
+        var project = Arrays.binarySearch(firstTask, chunk.from());
+        // several projects may start at the same task (empty projects); take the last of them
+        project = project < 0 ? -project - 2 : project;
+        while (project + 1 < firstTask.length && firstTask[project + 1] <= chunk.from()) {
+            project++;
+        }
+
+        for (int t = chunk.from(); t < chunk.to(); t++) {
+            while (firstTask[project + 1] <= t) {
+                project++;
+            }
+            var created = between(random, projectCreated[project], anchor);
+            var updated = between(random, created, anchor);
+            csv.append(ids.id(t)).append(',').append(projectIds.id(project))
+                    .append(",Task ").append(t + 1).append(' ').append(word(random)).append(' ').append(word(random))
+                    .append(",\"Generated task ").append(t + 1).append(": ")
+                    .append(word(random)).append(", ").append(word(random)).append(" and ").append(word(random)).append("\",")
+                    .append(status(random, spec)).append(',')
+                    .append(Instant.ofEpochSecond(created)).append(',')
+                    .append(Instant.ofEpochSecond(updated)).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private Void copy(String sql, String csv, AtomicLong written, long total, String table) throws Exception {
+        try (var connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            var rows = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv));
+            System.out.printf("Copied %s %d/%d%n", table, written.addAndGet(rows), total);
+        }
+        return null;
+    }
+
+    private static void await(Iterable<Future<?>> futures) throws InterruptedException, ExecutionException {
+        for (var future : futures) {
+            future.get();
+        }
+    }
+
+    private static long between(SplittableRandom random, long from, long to) {
+        return to > from ? from + random.nextLong(to - from) : from;
+    }
+
+    private static String word(SplittableRandom random) {
+        return VOCABULARY[random.nextInt(VOCABULARY.length)];
+    }
+
+    private static TaskStatus status(SplittableRandom random, Spec spec) {
+        var r = random.nextDouble();
+        return r < spec.todoShare() ? TaskStatus.TODO
+                : r < spec.todoShare() + spec.inProgressShare() ? TaskStatus.IN_PROGRESS
+                : TaskStatus.DONE;
+    }
+
+    /** Ids reserved as pooled-lo blocks: the {@code i}-th id is in block {@code i / blockSize}. */
+    private record IdBlocks(long[] starts, int blockSize) {
+
+        long id(int i) {
+            return starts[i / blockSize] + i % blockSize;
+        }
+    }
+
+    private record Chunk(int from, int to) {
+
+        int size() {
+            return to - from;
+        }
+
+        /** The chunk's own stream, independent of the order in which chunks run. */
+        SplittableRandom random(long seed, int table) {
+            return new SplittableRandom(seed * 31 + table * 1_000_003L + from);
+        }
+    }
+
+    /**
+     * @param projects        projects to generate
+     * @param tasks           tasks to generate, spread over the projects
+     * @param skew            Zipf exponent of tasks per project; 0 is uniform, 1 puts ~1/ln(projects) of all
+     *                        tasks in the largest project
+     * @param todoShare       share of TODO tasks
+     * @param inProgressShare share of IN_PROGRESS tasks; the rest is DONE
+     * @param spread          window before {@code anchor} the timestamps fall in
+     * @param anchor          latest timestamp; defaults to the start of the current day (UTC)
+     * @param seed            random seed
+     * @param threads         concurrent {@code COPY} connections
+     * @param chunkSize       rows per {@code COPY}
+     */
+    record Spec(int projects, int tasks, double skew, double todoShare, double inProgressShare,
+                Duration spread, Instant anchor, long seed, int threads, int chunkSize) {
+
+        Spec {
+            if (projects < 1 || tasks < 0 || threads < 1 || chunkSize < 1) {
+                throw new IllegalArgumentException("projects, threads and chunk size must be positive");
+            }
+            if (skew < 0 || todoShare < 0 || inProgressShare < 0 || todoShare + inProgressShare > 1) {
+                throw new IllegalArgumentException("skew and status shares must be non-negative, shares at most 1");
+            }
+            if (spread.toSeconds() < 1) {
+                throw new IllegalArgumentException("spread must be at least a second");
+            }
+        }
+
+        static Spec of(int projects, int tasks, long seed) {
+            return new Spec(projects, tasks, 0.8, 0.3, 0.2, Duration.ofDays(365),
+                    Instant.now().truncatedTo(ChronoUnit.DAYS), seed,
+                    Runtime.getRuntime().availableProcessors(), 50_000);
+        }
+
+        /**
+         * {@code --projects=N --tasks=N --skew=0.8 --status-mix=30,20,50 --spread=365d
+         * --anchor=2025-11-01T00:00:00Z --seed=42 --threads=N --chunk-size=50000}
+         */
+        static Spec parse(String... args) {
+            var spec = of(10_000, 1_000_000, 42);
+            int projects = spec.projects();
+            int tasks = spec.tasks();
+            var skew = spec.skew();
+            var todo = spec.todoShare();
+            var inProgress = spec.inProgressShare();
+            var spread = spec.spread();
+            var anchor = spec.anchor();
+            var seed = spec.seed();
+            var threads = spec.threads();
+            var chunkSize = spec.chunkSize();
+
+            for (var arg : args) {
+                var eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value, got '%s'".formatted(arg));
+                }
+                var value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "projects" -> projects = Integer.parseInt(value);
+                    case "tasks" -> tasks = Integer.parseInt(value);
+                    case "skew" -> skew = Double.parseDouble(value);
+                    case "status-mix" -> {
+                        var mix = Arrays.stream(value.split(",")).mapToDouble(Double::parseDouble).toArray();
+                        if (mix.length != 3) {
+                            throw new IllegalArgumentException("--status-mix takes TODO,IN_PROGRESS,DONE weights");
+                        }
+                        var sum = mix[0] + mix[1] + mix[2];
+                        todo = mix[0] / sum;
+                        inProgress = mix[1] / sum;
+                    }
+                    case "spread" -> spread = DurationStyle.detectAndParse(value);
+                    case "anchor" -> anchor = Instant.parse(value);
+                    case "seed" -> seed = Long.parseLong(value);
+                    case "threads" -> threads = Integer.parseInt(value);
+                    case "chunk-size" -> chunkSize = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option '%s'".formatted(arg));
+                }
+            }
+            return new Spec(projects, tasks, skew, todo, inProgress, spread, anchor, seed, threads, chunkSize);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.moveo.ha.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * Tops the database up to the requested number of tasks with {@link DatasetGenerator} and samples ids for
+ * the {@link Workload} to target.
+ * <p>
+ * Rows already present count toward the target, so repeated runs at the same scale reuse the data.
+ */
+final class DatasetSeeder {
+
+    private static final int SAMPLE = 100_000;
+
+    /** Every {@code stride}-th id, deterministic for a given table content. */
+    private static final String SAMPLE_IDS = """
+            SELECT id FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM %s) t
+            WHERE rn %% ? = 0
+            """;
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbc;
+
+    DatasetSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbc = new JdbcTemplate(dataSource);
+    }
+
+    Dataset seed(int tasks, int tasksPerProject, long seed) throws Exception {
+        var missing = tasks - count("tasks");
+        if (missing > 0) {
+            var projects = (int) Math.max(1, missing / tasksPerProject);
+            new DatasetGenerator(dataSource).generate(DatasetGenerator.Spec.of(projects, (int) missing, seed));
+        }
+        return new Dataset(count("projects"), count("tasks"), sample("projects"), sample("tasks"));
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+
+    private long[] sample(String table) {
+        var stride = Math.max(1, count(table) / SAMPLE);
+        return jdbc.queryForList(SAMPLE_IDS.formatted(table), Long.class, stride).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    /**
+     * Row counts and up to {@value #SAMPLE} ids per table for requests to pick from.
+     */
+    record Dataset(long projects, long tasks, long[] projectIds, long[] taskIds) {
+    }
+}
@@ -0,0 +1,94 @@
+package com.moveo.ha.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Outcomes and latencies of one endpoint's requests. Latency runs from the request's scheduled start, not
+ * from when it was sent, so time spent queued behind a slow server is counted (no coordinated omission).
+ */
+final class EndpointStats {
+
+    private final String endpoint;
+    private long[] latencies = new long[1024];
+    private int size;
+    private long clientErrors;
+    private long serverErrors;
+    private long failures;
+    private long dropped;
+    private long skipped;
+
+    EndpointStats(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void completed(int status, long latencyNanos) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+        latencies[size++] = latencyNanos;
+        if (status >= 500) {
+            serverErrors++;
+        } else if (status >= 400) {
+            clientErrors++;
+        }
+    }
+
+    /** The request got no response (connection error or timeout). */
+    synchronized void failed() {
+        failures++;
+    }
+
+    /** The request was not sent because {@code --max-in-flight} requests were outstanding. */
+    synchronized void dropped() {
+        dropped++;
+    }
+
+    /** The request had nothing to act on, e.g. a delete before any create of this run completed. */
+    synchronized void skipped() {
+        skipped++;
+    }
+
+    synchronized Summary summarize(double seconds) {
+        var sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, size, size / seconds, size - clientErrors - serverErrors,
+                clientErrors, serverErrors, failures, dropped, skipped,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99), percentile(sorted, 100));
+    }
+
+    static Summary total(Iterable<EndpointStats> all, double seconds) {
+        var total = new EndpointStats("TOTAL");
+        for (var stats : all) {
+            synchronized (stats) {
+                for (int i = 0; i < stats.size; i++) {
+                    total.completed(0, stats.latencies[i]);
+                }
+                total.clientErrors += stats.clientErrors;
+                total.serverErrors += stats.serverErrors;
+                total.failures += stats.failures;
+                total.dropped += stats.dropped;
+                total.skipped += stats.skipped;
+            }
+        }
+        return total.summarize(seconds);
+    }
+
+    /** Nearest-rank percentile in milliseconds, 0 without samples. */
+    private static double percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        var rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    /**
+     * @param requests   responses received, of any status
+     * @param throughput responses per second of the measured phase
+     * @param ok         responses below 400
+     */
+    record Summary(String endpoint, long requests, double throughput, long ok, long clientErrors,
+                   long serverErrors, long failures, long dropped, long skipped,
+                   double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+    }
+}
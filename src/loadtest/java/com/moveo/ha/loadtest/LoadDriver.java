@@ -0,0 +1,87 @@
+package com.moveo.ha.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests start at a fixed arrival rate whatever the response times, the way
+ * independent clients behave, instead of a fixed number of threads that slow down together with the server.
+ */
+final class LoadDriver {
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final int rate;
+    private final int maxInFlight;
+    private final SplittableRandom random;
+
+    LoadDriver(HttpClient client, Workload workload, LoadTestOptions options) {
+        this.client = client;
+        this.workload = workload;
+        this.rate = options.rate();
+        this.maxInFlight = options.maxInFlight();
+        this.random = new SplittableRandom(options.seed());
+    }
+
+    /**
+     * Runs the mix for {@code duration}, then waits for the outstanding responses.
+     *
+     * @return stats per endpoint, in the workload's order
+     */
+    Map<String, EndpointStats> run(Duration duration) throws InterruptedException {
+        var stats = new LinkedHashMap<String, EndpointStats>();
+        workload.operations().forEach(op -> stats.put(op.name(), new EndpointStats(op.name())));
+
+        var inFlight = new Semaphore(maxInFlight);
+        var start = System.nanoTime();
+        var arrivals = duration.toNanos() * rate / 1_000_000_000L;
+
+        for (long i = 0; i < arrivals; i++) {
+            var scheduled = start + i * 1_000_000_000L / rate;
+            var wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            var operation = workload.next(random);
+            var endpoint = stats.get(operation.name());
+            var request = operation.request().apply(random);
+            if (request == null) {
+                endpoint.skipped();
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                endpoint.dropped();
+                continue;
+            }
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                try {
+                    if (error != null) {
+                        endpoint.failed();
+                    } else {
+                        endpoint.completed(response.statusCode(), System.nanoTime() - scheduled);
+                        workload.onResponse(operation, response);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // every permit back means no request is outstanding
+        if (inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            inFlight.release(maxInFlight);
+        } else {
+            System.err.printf("%d requests still outstanding after the run%n", maxInFlight - inFlight.availablePermits());
+        }
+        return stats;
+    }
+}
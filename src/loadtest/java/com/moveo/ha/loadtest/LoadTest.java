@@ -0,0 +1,109 @@
+package com.moveo.ha.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moveo.ha.MoveoHomeAssignmentApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end HTTP benchmark: boots the application against the local Postgres ({@code docker-compose up -d},
+ * {@code DB_*} variables as for {@code bootRun}) with a {@link StubIssuer} in place of Cognito, seeds the
+ * dataset to {@code --tasks}, drives the {@link Workload} mix at {@code --rate} requests per second and
+ * reports latency percentiles and throughput per endpoint on stdout and as JSON.
+ * <p>
+ * The client shares the JVM with the application; keep {@code --rate} well below what saturates the
+ * machine, or compare runs at the same rate only.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var options = LoadTestOptions.parse(args);
+
+        try (var issuer = StubIssuer.start();
+             var app = new SpringApplicationBuilder(MoveoHomeAssignmentApplication.class)
+                     .properties(
+                             "server.port=0",
+                             "spring.security.oauth2.resourceserver.jwt.issuer-uri=" + issuer.issuer(),
+                             "security.cognito.client-id=" + StubIssuer.CLIENT_ID,
+                             "moveo.tasks.archive.cron=-",
+                             "moveo.projects.stats.reconcile-cron=-",
+                             "logging.level.com.moveo.ha.service=INFO")
+                     .run();
+             var executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+
+            var port = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            var dataset = new DatasetSeeder(app.getBean(DataSource.class))
+                    .seed(options.tasks(), options.tasksPerProject(), options.seed());
+            System.out.printf("Dataset: %d projects, %d tasks%n", dataset.projects(), dataset.tasks());
+
+            var ttl = options.warmup().plus(options.duration()).plus(Duration.ofMinutes(5));
+            var token = issuer.token("loadtest", List.of("ADMIN"), ttl);
+            var workload = new Workload(URI.create("http://localhost:" + port), token, dataset);
+            var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(executor)
+                    .build();
+            var driver = new LoadDriver(client, workload, options);
+
+            System.out.printf("Warming up for %s at %d req/s%n", options.warmup(), options.rate());
+            driver.run(options.warmup());
+
+            System.out.printf("Measuring for %s at %d req/s%n", options.duration(), options.rate());
+            var startedAt = Instant.now();
+            var stats = driver.run(options.duration());
+
+            var seconds = options.duration().toNanos() / 1e9;
+            var endpoints = stats.values().stream().map(s -> s.summarize(seconds)).toList();
+            var report = new Report(startedAt, options, dataset.projects(), dataset.tasks(), endpoints,
+                    EndpointStats.total(stats.values(), seconds));
+            print(report);
+            write(report);
+        }
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%n%-30s %9s %9s %7s %7s %7s %9s %9s %9s %9s%n", "endpoint", "requests", "req/s",
+                "4xx", "5xx", "failed", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (var s : report.endpoints()) {
+            printRow(s);
+        }
+        printRow(report.total());
+    }
+
+    private static void printRow(EndpointStats.Summary s) {
+        System.out.printf("%-30s %9d %9.1f %7d %7d %7d %9.2f %9.2f %9.2f %9.2f%n", s.endpoint(), s.requests(),
+                s.throughput(), s.clientErrors(), s.serverErrors(), s.failures() + s.dropped(),
+                s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs());
+    }
+
+    private static void write(Report report) throws Exception {
+        var mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToEnable(SerializationFeature.INDENT_OUTPUT)
+                .build();
+        var output = report.options().output();
+        Files.createDirectories(output);
+        var file = output.resolve("loadtest-%s.json".formatted(
+                DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC).format(report.startedAt())));
+        mapper.writeValue(file.toFile(), report);
+        System.out.printf("%nReport written to %s%n", file);
+    }
+
+    record Report(Instant startedAt, LoadTestOptions options, long projects, long tasks,
+                  List<EndpointStats.Summary> endpoints, EndpointStats.Summary total) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.moveo.ha.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command-line options of {@link LoadTest}, given as {@code --name=value}.
+ *
+ * @param rate            requests started per second, across all endpoints, regardless of how fast they complete
+ * @param duration        measured phase
+ * @param warmup          unmeasured phase before it (JIT, connection pools, caches)
+ * @param tasks           dataset size; tasks are topped up to this many before the run (1k to 10M)
+ * @param tasksPerProject average tasks per generated project
+ * @param maxInFlight     requests in flight before new arrivals are dropped (and reported as such)
+ * @param seed            seed of the generated data and of the request mix, so two runs send the same
+ *                        sequence of requests
+ * @param output          directory of the JSON report
+ */
+record LoadTestOptions(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        int tasks,
+        int tasksPerProject,
+        int maxInFlight,
+        long seed,
+        Path output
+) {
+
+    static final int MIN_TASKS = 1_000;
+    static final int MAX_TASKS = 10_000_000;
+
+    LoadTestOptions {
+        if (rate < 1) {
+            throw new IllegalArgumentException("--rate must be at least 1");
+        }
+        if (tasks < MIN_TASKS || tasks > MAX_TASKS) {
+            throw new IllegalArgumentException("--tasks must be between %d and %d".formatted(MIN_TASKS, MAX_TASKS));
+        }
+        if (tasksPerProject < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("--tasks-per-project and --max-in-flight must be at least 1");
+        }
+    }
+
+    static LoadTestOptions parse(String... args) {
+        int rate = 200;
+        var duration = Duration.ofSeconds(60);
+        var warmup = Duration.ofSeconds(15);
+        int tasks = 100_000;
+        int tasksPerProject = 100;
+        int maxInFlight = 2_000;
+        long seed = 42;
+        var output = Path.of("build", "loadtest");
+
+        for (var arg : args) {
+            var eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got '%s'".formatted(arg));
+            }
+            var value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "rate" -> rate = Integer.parseInt(value);
+                case "duration" -> duration = DurationStyle.detectAndParse(value);
+                case "warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "tasks" -> tasks = Integer.parseInt(value);
+                case "tasks-per-project" -> tasksPerProject = Integer.parseInt(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option '%s'".formatted(arg));
+            }
+        }
+        return new LoadTestOptions(rate, duration, warmup, tasks, tasksPerProject, maxInFlight, seed, output);
+    }
+}
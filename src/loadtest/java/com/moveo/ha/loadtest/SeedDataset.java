@@ -0,0 +1,32 @@
+package com.moveo.ha.loadtest;
+
+import com.moveo.ha.MoveoHomeAssignmentApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import javax.sql.DataSource;
+
+/**
+ * Command-line entry of {@link DatasetGenerator}: starts the application without a web server (so
+ * Liquibase brings the schema up to date), generates the data and exits. Options as in
+ * {@link DatasetGenerator.Spec#parse}; the database comes from the usual {@code DB_*} variables.
+ */
+public final class SeedDataset {
+
+    private SeedDataset() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        var spec = DatasetGenerator.Spec.parse(args);
+        System.out.println("Generating " + spec);
+
+        try (var app = new SpringApplicationBuilder(MoveoHomeAssignmentApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "moveo.tasks.archive.cron=-",
+                        "moveo.projects.stats.reconcile-cron=-")
+                .run()) {
+            new DatasetGenerator(app.getBean(DataSource.class)).generate(spec);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.moveo.ha.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Local stand-in for the Cognito user pool: serves OpenID discovery and a JWKS with a fresh RSA key, and
+ * mints access tokens that pass {@code SecurityConfig}'s validators (issuer, {@code token_use}, {@code client_id}).
+ */
+final class StubIssuer implements AutoCloseable {
+
+    static final String CLIENT_ID = "loadtest";
+
+    private final HttpServer server;
+    private final RSAKey key;
+    private final String issuer;
+
+    private StubIssuer(HttpServer server, RSAKey key) {
+        this.server = server;
+        this.key = key;
+        this.issuer = "http://localhost:%d".formatted(server.getAddress().getPort());
+    }
+
+    static StubIssuer start() throws IOException, JOSEException {
+        var key = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+        var server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        var stub = new StubIssuer(server, key);
+
+        var discovery = """
+                {"issuer":"%1$s","jwks_uri":"%1$s/jwks","subject_types_supported":["public"],\
+                "id_token_signing_alg_values_supported":["RS256"]}""".formatted(stub.issuer);
+        var jwks = new JWKSet(key.toPublicJWK()).toString();
+        server.createContext("/.well-known/openid-configuration", exchange -> respond(exchange, discovery));
+        server.createContext("/jwks", exchange -> respond(exchange, jwks));
+        server.start();
+        return stub;
+    }
+
+    String issuer() {
+        return issuer;
+    }
+
+    /**
+     * A signed access token for {@code username} in the given Cognito groups, valid for {@code ttl}.
+     */
+    String token(String username, List<String> groups, Duration ttl) throws JOSEException {
+        var now = Instant.now();
+        var claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject(username)
+                .claim("username", username)
+                .claim("client_id", CLIENT_ID)
+                .claim("token_use", "access")
+                .claim("cognito:groups", groups)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .build();
+        var jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, String json) throws IOException {
+        var body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.moveo.ha.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The request mix: every {@code /api/v1/projects} and {@code /api/v1/tasks} endpoint with a weight, roughly
+ * a read-heavy interactive client.
+ * <p>
+ * Reads and partial updates target the seeded rows. Full updates and deletes target rows created earlier in
+ * the run, so the seeded dataset keeps its shape across runs.
+ */
+final class Workload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "DONE"};
+    private static final int RECENT = 10_000;
+
+    private final URI baseUri;
+    private final String authorization;
+    private final DatasetSeeder.Dataset dataset;
+    private final List<Operation> operations;
+    private final int totalWeight;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLongArray recentTaskIds = new AtomicLongArray(RECENT);
+    private final AtomicLongArray recentTaskProjectIds = new AtomicLongArray(RECENT);
+    private final ConcurrentLinkedQueue<Long> deletableTaskIds = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> deletableProjectIds = new ConcurrentLinkedQueue<>();
+
+    Workload(URI baseUri, String token, DatasetSeeder.Dataset dataset) {
+        this.baseUri = baseUri;
+        this.authorization = "Bearer " + token;
+        this.dataset = dataset;
+        this.operations = List.of(
+                new Operation("GET /tasks/{id}", 20, r -> get("/api/v1/tasks/" + taskId(r))),
+                new Operation("GET /tasks", 10, r -> get("/api/v1/tasks?projectId=%d&pageSize=20&sortBy=updatedAt&sortDir=desc"
+                        .formatted(projectId(r)))),
+                new Operation("GET /tasks/search", 5, r -> get("/api/v1/tasks/search?q=%s+%s"
+                        .formatted(word(r), word(r)))),
+                new Operation("POST /tasks", 6, this::createTask),
+                new Operation("POST /tasks/batch", 1, this::createTasks),
+                new Operation("POST /tasks/status", 2, this::updateStatuses),
+                new Operation("POST /tasks/{id}", 3, this::updateTask),
+                new Operation("PATCH /tasks/{id}", 4, r -> patch("/api/v1/tasks/" + taskId(r),
+                        "{\"status\":\"%s\"}".formatted(status(r)))),
+                new Operation("DELETE /tasks/{id}", 2, r -> delete("/api/v1/tasks/", deletableTaskIds.poll())),
+                new Operation("GET /projects/{id}", 15, r -> get("/api/v1/projects/" + projectId(r))),
+                new Operation("GET /projects", 8, r -> get("/api/v1/projects?pageNumber=%d&pageSize=20"
+                        .formatted(r.nextInt(10)))),
+                new Operation("GET /projects/{id}/stats", 5, r -> get("/api/v1/projects/%d/stats".formatted(projectId(r)))),
+                new Operation("GET /projects/{id}/deletion", 1, r -> get("/api/v1/projects/%d/deletion".formatted(projectId(r)))),
+                new Operation("POST /projects", 2, this::createProject),
+                new Operation("POST /projects/{id}", 2, r -> post("/api/v1/projects/" + projectId(r),
+                        "{\"name\":\"Load project %1$d\",\"description\":\"Updated by the load test %1$d\"}"
+                                .formatted(r.nextInt(1_000_000)))),
+                new Operation("PATCH /projects/{id}", 2, r -> patch("/api/v1/projects/" + projectId(r),
+                        "{\"description\":\"Patched by the load test %d\"}".formatted(r.nextInt(1_000_000)))),
+                new Operation("DELETE /projects/{id}", 1, r -> delete("/api/v1/projects/", deletableProjectIds.poll()))
+        );
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+
+    Operation next(SplittableRandom random) {
+        var pick = random.nextInt(totalWeight);
+        for (var operation : operations) {
+            pick -= operation.weight();
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("weights changed");
+    }
+
+    /**
+     * Remembers what a create returned, for later full updates and deletes.
+     */
+    void onResponse(Operation operation, HttpResponse<?> response) {
+        if (response.statusCode() != 201) {
+            return;
+        }
+        var location = response.headers().firstValue("Location").orElse(null);
+        if (location == null) {
+            return;
+        }
+        var id = Long.parseLong(location.substring(location.lastIndexOf('/') + 1));
+        if (operation.name().equals("POST /projects")) {
+            deletableProjectIds.add(id);
+        } else if (operation.name().equals("POST /tasks")) {
+            var n = created.getAndIncrement();
+            if (n % 2 == 0) {
+                deletableTaskIds.add(id);
+            } else {
+                var projectId = response.request().headers().firstValue("X-Load-Project").map(Long::parseLong).orElseThrow();
+                var slot = (int) ((n / 2) % RECENT);
+                recentTaskProjectIds.set(slot, projectId);
+                recentTaskIds.set(slot, id);
+            }
+        }
+    }
+
+    private HttpRequest createTask(SplittableRandom r) {
+        var projectId = projectId(r);
+        return json("/api/v1/tasks")
+                .header("X-Load-Project", Long.toString(projectId))
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson(r, projectId)))
+                .build();
+    }
+
+    private HttpRequest createTasks(SplittableRandom r) {
+        var projectId = projectId(r);
+        var tasks = IntStream.range(0, 20)
+                .mapToObj(i -> taskJson(r, projectId))
+                .collect(Collectors.joining(",", "{\"tasks\":[", "]}"));
+        return post("/api/v1/tasks/batch", tasks);
+    }
+
+    private HttpRequest updateStatuses(SplittableRandom r) {
+        var ids = IntStream.range(0, 10)
+                .mapToObj(i -> Long.toString(taskId(r)))
+                .collect(Collectors.joining(","));
+        return post("/api/v1/tasks/status", "{\"status\":\"%s\",\"ids\":[%s]}".formatted(status(r), ids));
+    }
+
+    private HttpRequest updateTask(SplittableRandom r) {
+        var available = Math.min(created.get() / 2, RECENT);
+        if (available == 0) {
+            return null;
+        }
+        var slot = r.nextInt((int) available);
+        var id = recentTaskIds.get(slot);
+        var projectId = recentTaskProjectIds.get(slot);
+        if (id == 0) {
+            return null;
+        }
+        return post("/api/v1/tasks/" + id, taskJson(r, projectId));
+    }
+
+    private HttpRequest createProject(SplittableRandom r) {
+        return post("/api/v1/projects",
+                "{\"name\":\"Load project %1$d\",\"description\":\"Created by the load test %1$d\"}"
+                        .formatted(r.nextInt(1_000_000)));
+    }
+
+    private String taskJson(SplittableRandom r, long projectId) {
+        return "{\"projectId\":%d,\"title\":\"Load task %s %d\",\"description\":\"Created by the load test: %s %s\",\"status\":\"%s\"}"
+                .formatted(projectId, word(r), r.nextInt(1_000_000), word(r), word(r), status(r));
+    }
+
+    private long taskId(SplittableRandom r) {
+        return dataset.taskIds()[r.nextInt(dataset.taskIds().length)];
+    }
+
+    private long projectId(SplittableRandom r) {
+        return dataset.projectIds()[r.nextInt(dataset.projectIds().length)];
+    }
+
+    private static String word(SplittableRandom r) {
+        return DatasetGenerator.VOCABULARY[r.nextInt(DatasetGenerator.VOCABULARY.length)];
+    }
+
+    private static String status(SplittableRandom r) {
+        return STATUSES[r.nextInt(STATUSES.length)];
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return json(path).POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest patch(String path, String body) {
+        return request(path)
+                .header("Content-Type", "application/merge-patch+json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest delete(String path, Long id) {
+        return id == null ? null : request(path + id).DELETE().build();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(TIMEOUT)
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+    }
+
+    /**
+     * One endpoint of the mix.
+     *
+     * @param name    reported endpoint name, method and path template
+     * @param weight  relative share of the arrivals
+     * @param request builds the next request, {@code null} when there is nothing to act on yet
+     */
+    record Operation(String name, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+}
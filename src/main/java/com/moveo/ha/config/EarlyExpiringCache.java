@@ -0,0 +1,119 @@
+package com.moveo.ha.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Size- and TTL-bounded Spring {@link org.springframework.cache.Cache} with probabilistic early expiration.
+ * <p>
+ * Each entry remembers how long its value took to compute ({@code delta}). A read treats the entry as
+ * expired when {@code now - delta * beta * ln(random) >= expiresAt}, so as expiry approaches one caller,
+ * not all of them, recomputes the value while everybody else keeps reading the cached one. Concurrent
+ * misses on the same key are collapsed into a single load.
+ * <p>
+ * A refresh only replaces the entry it started from: if the key was evicted or written meanwhile (an
+ * after-commit eviction), the refreshed value is returned to its caller but not cached.
+ */
+public class EarlyExpiringCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Entry> store;
+    private final long ttlNanos;
+    private final double beta;
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    public EarlyExpiringCache(String name, long maxSize, Duration ttl, double beta) {
+        super(false);
+        this.name = name;
+        this.ttlNanos = ttl.toNanos();
+        this.beta = beta;
+        this.store = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        var entry = store.getIfPresent(key);
+        return entry == null || expiresEarly(entry) ? null : entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var entry = store.getIfPresent(key);
+        if (entry != null && !expiresEarly(entry)) {
+            return (T) fromStoreValue(entry.value());
+        }
+        if (entry != null && refreshing.add(key)) {
+            // Picked for early refresh: only this caller reloads, the others keep reading the entry.
+            try {
+                var refreshed = load(key, valueLoader);
+                store.asMap().replace(key, entry, refreshed);
+                return (T) fromStoreValue(refreshed.value());
+            } finally {
+                refreshing.remove(key);
+            }
+        }
+        if (entry != null) {
+            return (T) fromStoreValue(entry.value());
+        }
+        return (T) fromStoreValue(store.get(key, k -> load(k, valueLoader)).value());
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        var previous = store.getIfPresent(key);
+        store.put(key, new Entry(toStoreValue(value), previous != null ? previous.deltaNanos() : 0, System.nanoTime() + ttlNanos));
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        store.invalidateAll();
+    }
+
+    private Entry load(Object key, Callable<?> valueLoader) {
+        var start = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        var now = System.nanoTime();
+        return new Entry(toStoreValue(value), now - start, now + ttlNanos);
+    }
+
+    private boolean expiresEarly(Entry entry) {
+        if (beta == 0 || entry.deltaNanos() == 0) {
+            return false;
+        }
+        // 1 - nextDouble() is in (0, 1], so the log is finite and <= 0.
+        var jitter = -entry.deltaNanos() * beta * Math.log(1 - ThreadLocalRandom.current().nextDouble());
+        return System.nanoTime() + jitter >= entry.expiresAtNanos();
+    }
+
+    private record Entry(Object value, long deltaNanos, long expiresAtNanos) {}
+}
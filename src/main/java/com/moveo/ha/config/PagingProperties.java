@@ -0,0 +1,23 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Tunables for list endpoints ({@code moveo.paging.*}).
+ *
+ * @param exactCountBelow in estimated mode, planner estimates below this value are replaced by an
+ *                        exact {@code COUNT(*)} (cheap on small tables, and reltuples is coarse there)
+ * @param exactCountTtl   how long such an exact count is reused before it is taken again
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.paging")
+public record PagingProperties(
+        @DefaultValue("10000") @Min(0) long exactCountBelow,
+        @DefaultValue("30s") @NotNull Duration exactCountTtl
+) {}
@@ -0,0 +1,23 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tunables for project responses ({@code moveo.projects.*}).
+ *
+ * @param embeddedTasksLimit max number of {@code TaskSummaryDTO}s embedded into a single
+ *                           {@code ProjectResponseDTO}; the rest is reported via
+ *                           {@code taskCount} / {@code tasksTruncated}
+ * @param asyncDeleteThreshold projects with more tasks than this are deleted in the background
+ * @param deleteBatchSize      tasks deleted per transaction by a background deletion
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.projects")
+public record ProjectProperties(
+        @DefaultValue("20") @Min(0) int embeddedTasksLimit,
+        @DefaultValue("10000") @Min(0) long asyncDeleteThreshold,
+        @DefaultValue("5000") @Min(1) int deleteBatchSize
+) {}
@@ -0,0 +1,19 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tunables for the per-project task counters ({@code moveo.projects.stats.*}).
+ *
+ * @param reconcileCron      when the drift repair runs (Spring cron, {@code -} disables it)
+ * @param reconcileBatchSize projects recounted (and their stats rows locked) per transaction
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.projects.stats")
+public record ProjectStatsProperties(
+        @DefaultValue("0 30 3 * * *") String reconcileCron,
+        @DefaultValue("500") @Min(1) int reconcileBatchSize
+) {}
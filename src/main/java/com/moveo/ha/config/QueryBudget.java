@@ -0,0 +1,22 @@
+package com.moveo.ha.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Most SQL statements one request to this handler may run, second-level cache misses included.
+ * <p>
+ * Checked by {@link QueryBudgetInterceptor}: exceeding it is logged (and counted) in production and
+ * fails the statement that crossed it when {@code moveo.query-budget.fail-on-exceed=true}, as in tests.
+ * A budget that grows with the page size usually means an N+1 lazy load slipped into a mapper.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,78 @@
+package com.moveo.ha.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Opens a {@link QueryCounter} scope per handler call and, when it completes, records the statement count
+ * as {@code moveo.http.queries} (tagged by controller and method) and reports handlers over their
+ * {@link QueryBudget}.
+ * <p>
+ * A handler that goes async (streamed exports) is measured up to the point it returns: the scope is closed
+ * and recorded in {@code afterConcurrentHandlingStarted}, and the async dispatch opens none, so no scope
+ * outlives its thread's request.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    static final String QUERIES_METRIC = "moveo.http.queries";
+    static final String EXCEEDED_METRIC = "moveo.http.queries.budget.exceeded";
+
+    private final QueryBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounter.stop();
+        if (handler instanceof HandlerMethod method && request.getDispatcherType() != DispatcherType.ASYNC) {
+            var budget = method.getMethodAnnotation(QueryBudget.class);
+            QueryCounter.start(budget != null ? budget.value() : -1, properties.failOnExceed());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request, handler);
+    }
+
+    private void record(HttpServletRequest request, Object handler) {
+        var scope = QueryCounter.stop();
+        if (scope == null || !(handler instanceof HandlerMethod method)) {
+            return;
+        }
+
+        var controller = method.getBeanType().getSimpleName();
+        var name = method.getMethod().getName();
+        DistributionSummary.builder(QUERIES_METRIC)
+                .description("SQL statements run per request")
+                .tag("controller", controller)
+                .tag("method", name)
+                .register(meterRegistry)
+                .record(scope.count());
+
+        if (scope.exceeded()) {
+            Counter.builder(EXCEEDED_METRIC)
+                    .tag("controller", controller)
+                    .tag("method", name)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Query budget exceeded: {} {} @ {}.{} ran {} statements, budget {}",
+                    request.getMethod(), request.getRequestURI(), controller, name, scope.count(), scope.budget());
+        }
+    }
+}
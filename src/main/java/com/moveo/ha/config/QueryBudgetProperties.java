@@ -0,0 +1,17 @@
+package com.moveo.ha.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-request SQL statement counting ({@code moveo.query-budget.*}), see {@link QueryBudget}.
+ *
+ * @param exposeHeaders add {@code X-Query-Count} / {@code X-Query-Budget} to responses with a body (dev mode)
+ * @param failOnExceed  fail the request at the statement that exceeds its handler's budget (tests);
+ *                      otherwise the overrun is only logged and counted
+ */
+@ConfigurationProperties(prefix = "moveo.query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("false") boolean exposeHeaders,
+        @DefaultValue("false") boolean failOnExceed
+) {}
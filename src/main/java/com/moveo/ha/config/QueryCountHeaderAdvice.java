@@ -0,0 +1,41 @@
+package com.moveo.ha.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev mode ({@code moveo.query-budget.expose-headers=true}): reports the statements run so far, i.e. before
+ * the body is written, and the handler's budget as response headers. Bodiless responses (304) carry none.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "moveo.query-budget", name = "expose-headers", havingValue = "true")
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String COUNT_HEADER = "X-Query-Count";
+    static final String BUDGET_HEADER = "X-Query-Budget";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        var scope = QueryCounter.current();
+        if (scope != null) {
+            response.getHeaders().set(COUNT_HEADER, String.valueOf(scope.count()));
+            if (scope.budget() >= 0) {
+                response.getHeaders().set(BUDGET_HEADER, String.valueOf(scope.budget()));
+            }
+        }
+        return body;
+    }
+}
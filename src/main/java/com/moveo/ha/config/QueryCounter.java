@@ -0,0 +1,87 @@
+package com.moveo.ha.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while a request scope is open.
+ * <p>
+ * Registered as Hibernate's {@link StatementInspector}, so JPQL, Criteria and native queries, flushes and
+ * lazy loads are all seen; statements outside a scope (background workers, startup) are not counted.
+ */
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    /**
+     * Opens the current thread's scope.
+     *
+     * @param budget       most statements allowed, {@code -1} for no budget
+     * @param failOnExceed throw from the statement that exceeds the budget instead of only reporting it
+     */
+    public static void start(int budget, boolean failOnExceed) {
+        SCOPE.set(new Scope(budget, failOnExceed));
+    }
+
+    /** The current thread's scope, {@code null} outside a request. */
+    public static Scope current() {
+        return SCOPE.get();
+    }
+
+    /** Closes and returns the current thread's scope, {@code null} if none was open. */
+    public static Scope stop() {
+        var scope = SCOPE.get();
+        SCOPE.remove();
+        return scope;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var scope = SCOPE.get();
+        if (scope != null) {
+            scope.record(sql);
+        }
+        return sql;
+    }
+
+    public static final class Scope {
+
+        private final int budget;
+        private final boolean failOnExceed;
+        private int count;
+
+        private Scope(int budget, boolean failOnExceed) {
+            this.budget = budget;
+            this.failOnExceed = failOnExceed;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        public int budget() {
+            return budget;
+        }
+
+        public boolean exceeded() {
+            return budget >= 0 && count > budget;
+        }
+
+        private void record(String sql) {
+            count++;
+            if (failOnExceed && exceeded()) {
+                throw new BudgetExceededException(
+                        "Statement %d exceeds the query budget of %d: %s".formatted(count, budget, sql));
+            }
+        }
+    }
+
+    /**
+     * Deliberately not an {@link IllegalStateException}: Spring would translate that into a data access
+     * exception and hide where the extra statement came from.
+     */
+    public static class BudgetExceededException extends RuntimeException {
+        public BudgetExceededException(String message) {
+            super(message);
+        }
+    }
+}
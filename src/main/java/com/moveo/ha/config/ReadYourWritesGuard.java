@@ -0,0 +1,49 @@
+package com.moveo.ha.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which clients wrote recently and pins their requests to the primary.
+ * <p>
+ * Keyed by principal name and kept in memory, so the guarantee holds per application instance;
+ * {@link ReplicaRoutingDataSource} reads the pin of the current thread.
+ */
+public class ReadYourWritesGuard {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    private static final int PRUNE_ABOVE = 10_000;
+
+    private final long windowNanos;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesGuard(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String client) {
+        var now = System.nanoTime();
+        lastWrites.put(client, now);
+        if (lastWrites.size() > PRUNE_ABOVE) {
+            lastWrites.values().removeIf(at -> now - at >= windowNanos);
+        }
+    }
+
+    public boolean wroteRecently(String client) {
+        var at = lastWrites.get(client);
+        return at != null && System.nanoTime() - at < windowNanos;
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+}
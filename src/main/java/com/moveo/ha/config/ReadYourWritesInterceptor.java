@@ -0,0 +1,47 @@
+package com.moveo.ha.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Pins requests of clients that wrote within the read-your-writes window to the primary,
+ * and records successful writes.
+ * <p>
+ * The pin is a thread-local, so it is cleared before every request and when a handler goes async
+ * (streamed exports): {@code afterCompletion} then runs on the async dispatch, not on the thread that pinned.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesGuard guard;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesGuard.unpin();
+        var principal = request.getUserPrincipal();
+        if (principal != null && guard.wroteRecently(principal.getName())) {
+            ReadYourWritesGuard.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadYourWritesGuard.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadYourWritesGuard.unpin();
+        var principal = request.getUserPrincipal();
+        if (principal != null && ex == null && response.getStatus() < 400 && !READ_METHODS.contains(request.getMethod())) {
+            guard.recordWrite(principal.getName());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.moveo.ha.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary + read replica pools behind one routing {@link DataSource}
+ * (enabled by {@code moveo.datasource.replica.enabled=true}).
+ * <p>
+ * {@code spring.datasource.*} configures the primary, {@code moveo.datasource.replica.*} the replica
+ * (same keys, including {@code hikari.*}). Liquibase always migrates the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "moveo.datasource.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @LiquibaseDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties primaryDataSourceProperties) {
+        return primaryDataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("moveo.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("moveo.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        return replicaDataSourceProperties().initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingProperties routingProperties) {
+        var routing = new ReplicaRoutingDataSource(primaryDataSource(primaryDataSourceProperties()), replicaDataSource(),
+                routingProperties.replicaRetryAfter());
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesGuard readYourWritesGuard(ReplicaRoutingProperties routingProperties) {
+        return new ReadYourWritesGuard(routingProperties.readYourWritesWindow());
+    }
+
+    @Bean
+    public WebMvcConfigurer readYourWritesWebMvcConfigurer(ReadYourWritesGuard guard) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ReadYourWritesInterceptor(guard));
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.moveo.ha.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * <p>
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy}: the physical connection is then fetched at the
+ * first statement, after the transaction manager has published the read-only flag. Reads stay on the primary
+ * while the current request is pinned by {@link ReadYourWritesGuard}, and for {@code retryAfter} after the
+ * replica failed to hand out a connection.
+ * <p>
+ * Anything a read-only transaction loads may be behind the primary, so loads that fill a shared cache
+ * (the response caches, the second-level cache) run in read-write transactions.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryAfterNanos;
+    private volatile long replicaDownSince;
+    private volatile boolean replicaDown;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration retryAfter) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfterNanos = retryAfter.toNanos();
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return useReplica() ? Route.REPLICA : Route.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                var connection = replica.getConnection();
+                replicaDown = false;
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (useReplica()) {
+            try {
+                var connection = replica.getConnection(username, password);
+                replicaDown = false;
+                return connection;
+            } catch (SQLException e) {
+                markReplicaDown(e);
+            }
+        }
+        return primary.getConnection(username, password);
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReadYourWritesGuard.isPinnedToPrimary()
+                && (!replicaDown || System.nanoTime() - replicaDownSince >= retryAfterNanos);
+    }
+
+    private void markReplicaDown(SQLException e) {
+        if (!replicaDown) {
+            log.warn("Replica unavailable, routing reads to primary for {} ms: {}",
+                    retryAfterNanos / 1_000_000, e.getMessage());
+        }
+        replicaDownSince = System.nanoTime();
+        replicaDown = true;
+    }
+}
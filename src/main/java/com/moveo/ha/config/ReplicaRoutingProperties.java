@@ -0,0 +1,22 @@
+package com.moveo.ha.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Read-replica routing ({@code moveo.datasource.routing.*}); active only with
+ * {@code moveo.datasource.replica.enabled=true}.
+ *
+ * @param readYourWritesWindow after a successful write, the same client reads from the primary for this long,
+ *                             so replication lag never hides its own changes
+ * @param replicaRetryAfter    after the replica refuses a connection, reads go to the primary for this long
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.datasource.routing")
+public record ReplicaRoutingProperties(
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("30s") Duration replicaRetryAfter
+) {}
@@ -0,0 +1,37 @@
+package com.moveo.ha.config;
+
+import com.moveo.ha.service.ResponseCaches;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+/**
+ * Response caches in front of {@code getTaskById} / {@code getProjectById}.
+ * <p>
+ * The caching advice is ordered outside the transaction advice, so a hit does not open a transaction
+ * (or borrow a connection). Puts and evictions made inside a transaction are applied after commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class ResponseCacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(ResponseCacheProperties properties) {
+        var manager = new SimpleCacheManager();
+        manager.setCaches(List.of(
+                cache(ResponseCaches.TASKS, properties),
+                cache(ResponseCaches.PROJECTS, properties)));
+        manager.afterPropertiesSet();
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    private static EarlyExpiringCache cache(String name, ResponseCacheProperties properties) {
+        return new EarlyExpiringCache(name, properties.maxSize(), properties.ttl(), properties.beta());
+    }
+}
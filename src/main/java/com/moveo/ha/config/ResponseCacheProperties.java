@@ -0,0 +1,26 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * In-process cache of single task / project responses ({@code moveo.cache.responses.*}).
+ *
+ * @param maxSize entries kept per cache (tasks and projects each), least recently used evicted first
+ * @param ttl     hard expiry of an entry
+ * @param beta    eagerness of early refresh: a read recomputes an entry ahead of {@code ttl} with a probability
+ *                that grows as expiry nears and with how long the entry took to compute; {@code 0} disables it
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.cache.responses")
+public record ResponseCacheProperties(
+        @DefaultValue("10000") @Min(1) long maxSize,
+        @DefaultValue("60s") @NotNull Duration ttl,
+        @DefaultValue("1.0") @DecimalMin("0.0") double beta
+) {}
@@ -0,0 +1,24 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Tunables for moving completed tasks to {@code tasks_archive} ({@code moveo.tasks.archive.*}).
+ *
+ * @param cron      when the archiver runs (Spring cron, {@code -} disables it)
+ * @param doneFor   how long a task must have been {@code DONE} (unchanged) before it is archived
+ * @param batchSize tasks moved per transaction
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.tasks.archive")
+public record TaskArchiveProperties(
+        @DefaultValue("0 0 4 * * *") String cron,
+        @DefaultValue("90d") @NotNull Duration doneFor,
+        @DefaultValue("5000") @Min(1) int batchSize
+) {}
@@ -0,0 +1,17 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tunables for the streaming task export ({@code moveo.tasks.export.*}).
+ *
+ * @param fetchSize rows the JDBC driver pulls from the server-side cursor per round trip
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.tasks.export")
+public record TaskExportProperties(
+        @DefaultValue("1000") @Min(1) int fetchSize
+) {}
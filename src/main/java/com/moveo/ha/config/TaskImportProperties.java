@@ -0,0 +1,19 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tunables for the bulk task import ({@code moveo.tasks.import.*}).
+ *
+ * @param chunkSize             accepted rows buffered before they are sent with one {@code COPY}
+ * @param maxReportedRejections rejected rows listed individually in the response (all are counted)
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.tasks.import")
+public record TaskImportProperties(
+        @DefaultValue("5000") @Min(1) int chunkSize,
+        @DefaultValue("100") @Min(0) int maxReportedRejections
+) {}
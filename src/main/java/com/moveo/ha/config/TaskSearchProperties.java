@@ -0,0 +1,18 @@
+package com.moveo.ha.config;
+
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Tunables for full-text task search ({@code moveo.tasks.search.*}).
+ *
+ * @param maxCandidates most results served for one query (best ranked first); bounds the sort of very
+ *                      common terms, pages past it come back empty with {@code truncated} set
+ */
+@Validated
+@ConfigurationProperties(prefix = "moveo.tasks.search")
+public record TaskSearchProperties(
+        @DefaultValue("10000") @Min(1) int maxCandidates
+) {}
@@ -0,0 +1,115 @@
+package com.moveo.ha.controller;
+
+import com.moveo.ha.dto.ResourceVersion;
+import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.error.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Conditional request support: GETs ({@code ETag}, {@code Last-Modified}, {@code 304 Not Modified}) and
+ * {@code If-Match} on updates.
+ * <p>
+ * Single resources are checked against validators derived from the response actually sent (usually served
+ * by the response cache), so a stale cached body never goes out under a current ETag. Lists are checked
+ * against a cheap version probe of the rows they can show before their page query runs, so an unchanged
+ * list costs one query. Lists and projects carry no {@code Last-Modified}: a row leaving the page, or a task
+ * beyond the embedded ones, leaves no timestamp behind, so only the ETag can validate them.
+ * <p>
+ * {@code If-Match} is not compared here: only the version prefix of the tag is extracted and handed to the
+ * service, whose single {@code UPDATE} only matches the row at that version. When it matches nothing the
+ * service tells a missing resource (404) from a stale version (412).
+ */
+final class ConditionalResponses {
+
+    /** A strong tag: {@code "<version>"} from a response body or {@code "<version>-<hash>"} from an ETag. */
+    private static final Pattern VERSION_TAG = Pattern.compile("\"(\\d{1,18})(?:-[0-9a-f]+)?\"");
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Version an update is conditional on, {@code null} without {@code If-Match} or for {@code If-Match: *}
+     * (the resource exists, which the update checks anyway).
+     *
+     * @throws PreconditionFailedException for tags no version can match (weak, malformed or several)
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        var matcher = VERSION_TAG.matcher(ifMatch.strip());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match %s matches no version".formatted(ifMatch));
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * {@code null} (the response is already a 304) when the request's validators match {@code version},
+     * the validators of {@code body}; otherwise 200 with the body and its validators.
+     */
+    static <T> ResponseEntity<T> single(WebRequest request, T body, ResourceVersion version) {
+        var lastModified = version.lastModified();
+        var notModified = lastModified != null
+                ? request.checkNotModified(version.etag(), lastModified.toEpochMilli())
+                : request.checkNotModified(version.etag());
+        if (notModified) {
+            return null;
+        }
+        var response = ResponseEntity.ok().eTag(version.etag());
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.body(body);
+    }
+
+    /** The task's own fields and its project summary; both move {@code updatedAt} when they change. */
+    static ResourceVersion version(TaskResponseDTO task) {
+        var project = task.project();
+        var projectUpdatedAt = project != null ? project.updatedAt() : null;
+        return ResourceVersion.of(task.version(), ResourceVersion.latest(task.updatedAt(), projectUpdatedAt),
+                "task", task.id(), task.updatedAt(), project != null ? project.id() : null,
+                project != null ? project.name() : null, projectUpdatedAt);
+    }
+
+    static ResourceVersion version(ProjectResponseDTO project) {
+        var parts = parts("project", project.id(), project.updatedAt(), project.taskStats());
+        for (var task : project.tasks()) {
+            parts.add(task.id());
+            parts.add(task.updatedAt());
+        }
+        return ResourceVersion.of(project.version(), null, parts.toArray());
+    }
+
+    /**
+     * {@code null} (the response is already a 304) when {@code If-None-Match} matches {@code etag}, otherwise
+     * 200 with the list from {@code page}, whose queries only run then.
+     */
+    static <T> ResponseEntity<T> list(WebRequest request, String etag, Supplier<T> page) {
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(page.get());
+    }
+
+    /**
+     * ETag of a listing: the version of the rows it can show and every request parameter that shapes the page.
+     */
+    static String etag(String rowsVersion, Object... params) {
+        var parts = parts(rowsVersion);
+        parts.addAll(Arrays.asList(params));
+        return ResourceVersion.etag(parts);
+    }
+
+    private static List<Object> parts(Object... values) {
+        return new ArrayList<>(Arrays.asList(values));
+    }
+}
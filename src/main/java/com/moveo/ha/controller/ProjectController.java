@@ -1,9 +1,13 @@
 package com.moveo.ha.controller;
 
+import com.moveo.ha.config.QueryBudget;
 import com.moveo.ha.dto.PageParams;
+import com.moveo.ha.dto.project.ProjectDeletionDTO;
 import com.moveo.ha.dto.project.ProjectListDTO;
+import com.moveo.ha.dto.project.ProjectPatchDTO;
 import com.moveo.ha.dto.project.ProjectRequestDTO;
 import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
 import com.moveo.ha.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -17,10 +21,13 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.Set;
@@ -83,6 +90,7 @@ public class ProjectController {
             }
     )
     @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(2)
     @PostMapping
     public ResponseEntity<ProjectResponseDTO> createProject(@Valid @org.springframework.web.bind.annotation.RequestBody ProjectRequestDTO request) {
         var dto = projectService.createProject(request);
@@ -93,7 +101,8 @@ public class ProjectController {
 
     @Operation(
             summary = "Update project by id (ADMIN)",
-            description = "Updates an existing project by ID. ADMIN only.",
+            description = "Updates an existing project by ID. ADMIN only. With If-Match (the ETag of GET, or the " +
+                    "quoted 'version') the update only applies to that version of the project.",
             operationId = "updateProjectById",
             requestBody = @RequestBody(
                     required = true,
@@ -118,21 +127,54 @@ public class ProjectController {
                     @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden (ADMIN required)", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version", content = @Content),
                     @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
             }
     )
     @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(4)
     @PostMapping("/{id}")
     public ProjectResponseDTO updateProjectById(
             @Parameter(description = "Project ID", example = "1") @PathVariable Long id,
+            @Parameter(description = "Expected version", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @org.springframework.web.bind.annotation.RequestBody ProjectRequestDTO request
     ) {
-        return projectService.updateProjectById(id, request);
+        return projectService.updateProjectById(id, request, ConditionalResponses.expectedVersion(ifMatch));
+    }
+
+    @Operation(
+            summary = "Patch project by id (ADMIN)",
+            description = "JSON Merge Patch: only the given fields change and only the changed columns are written. " +
+                    "Fields cannot be set to null. ADMIN only. Honors If-Match like the full update.",
+            operationId = "patchProjectById",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = ProjectResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Validation/type error", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden (ADMIN required)", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(4)
+    @PatchMapping(path = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ProjectResponseDTO patchProjectById(
+            @Parameter(description = "Project ID", example = "1") @PathVariable Long id,
+            @Parameter(description = "Expected version", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @org.springframework.web.bind.annotation.RequestBody ProjectPatchDTO patch
+    ) {
+        return projectService.patchProjectById(id, patch, ConditionalResponses.expectedVersion(ifMatch));
     }
 
     @Operation(
             summary = "Get project by id (ADMIN/USER)",
-            description = "Returns a project by ID. Accessible by ADMIN and USER.",
+            description = "Returns a project by ID. Accessible by ADMIN and USER. Sends the ETag of the returned " +
+                    "project, its task stats and embedded tasks; a matching If-None-Match is answered with 304.",
             operationId = "getProjectById",
             responses = {
                     @ApiResponse(
@@ -152,6 +194,7 @@ public class ProjectController {
                                                     """
                                     ))
                     ),
+                    @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
                     @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
@@ -159,22 +202,29 @@ public class ProjectController {
             }
     )
     @PreAuthorize("isAuthenticated()")
+    @QueryBudget(3)
     @GetMapping("/{id}")
-    public ProjectResponseDTO getProjectById(
-            @Parameter(description = "Project ID", example = "1") @PathVariable Long id
+    public ResponseEntity<ProjectResponseDTO> getProjectById(
+            @Parameter(description = "Project ID", example = "1") @PathVariable Long id,
+            WebRequest request
     ) {
-        return projectService.getProjectById(id);
+        var project = projectService.getProjectById(id);
+        return ConditionalResponses.single(request, project, ConditionalResponses.version(project));
     }
 
     @Operation(
             summary = "Get paged projects (ADMIN/USER)",
-            description = "Returns a paged list of projects. Supports PageParams query fields.",
+            description = "Returns a paged list of projects. Supports PageParams query fields, " +
+                    "including cursor mode (paging=cursor, then pass the previous nextCursor). " +
+                    "Sends an ETag; a matching If-None-Match is answered with 304 before the page is queried.",
             operationId = "getPageOfProjects",
             parameters = {
                     @Parameter(name = "pageNumber", description = "Zero-based page index", example = "0"),
                     @Parameter(name = "pageSize", description = "Page size (1..200)", example = "10"),
                     @Parameter(name = "sortBy", description = "Sort field (id|name|createdAt|updatedAt)", example = "name"),
-                    @Parameter(name = "sortDir", description = "Sort direction (asc|desc)", example = "asc")
+                    @Parameter(name = "sortDir", description = "Sort direction (asc|desc)", example = "asc"),
+                    @Parameter(name = "paging", description = "Paging mode (offset|slice|estimated|cursor)", example = "offset"),
+                    @Parameter(name = "cursor", description = "Opaque nextCursor of the previous page")
             },
             responses = {
                     @ApiResponse(
@@ -208,6 +258,7 @@ public class ProjectController {
                                     )
                             )
                     ),
+                    @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
                     @ApiResponse(responseCode = "400", description = "Invalid paging/sorting parameters", content = @Content),
                     @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
@@ -215,16 +266,49 @@ public class ProjectController {
             }
     )
     @PreAuthorize("isAuthenticated()")
+    @QueryBudget(6)
     @GetMapping
-    public ProjectListDTO getPageOfProjects(@Valid @ParameterObject PageParams params) {
+    public ResponseEntity<ProjectListDTO> getPageOfProjects(@Valid @ParameterObject PageParams params,
+                                                            WebRequest request) {
         var allowedSort = Set.of("id", "name", "createdAt", "updatedAt");
-        var pageable = params.toPageable(allowedSort);
-        return projectService.getPageOfProjects(pageable);
+        var etag = ConditionalResponses.etag(projectService.getProjectListVersion(), params);
+        return ConditionalResponses.list(request, etag, () -> switch (params.pagingMode()) {
+            case OFFSET -> projectService.getPageOfProjects(params.toPageable(allowedSort));
+            case SLICE -> projectService.getSliceOfProjects(params.toPageable(allowedSort));
+            case ESTIMATED -> projectService.getEstimatedPageOfProjects(params.toPageable(allowedSort));
+            case CURSOR -> projectService.getWindowOfProjects(
+                    params.toSort(allowedSort), params.getPageSize(), params.toCursor());
+        });
+    }
+
+    @Operation(
+            summary = "Get task counts per status (ADMIN/USER)",
+            description = "Returns the number of TODO / IN_PROGRESS / DONE tasks of a project. " +
+                    "Counts are maintained on every task write, so this is a single-row lookup.",
+            operationId = "getProjectTaskStats",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = ProjectTaskStatsDTO.class))),
+                    @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+            }
+    )
+    @PreAuthorize("isAuthenticated()")
+    @QueryBudget(2)
+    @GetMapping("/{id}/stats")
+    public ProjectTaskStatsDTO getProjectTaskStats(
+            @Parameter(description = "Project ID", example = "1") @PathVariable Long id
+    ) {
+        return projectService.getTaskStats(id);
     }
 
     @Operation(
             summary = "Delete project by id (ADMIN)",
-            description = "Deletes a project by ID and returns a snapshot of the deleted resource. ADMIN only.",
+            description = "Deletes a project by ID and returns a snapshot of the deleted resource. ADMIN only. " +
+                    "Projects with many tasks are deleted in the background instead: the response is 202 with the " +
+                    "deletion status, and Location points to GET /api/v1/projects/{id}/deletion.",
             operationId = "deleteProjectById",
             responses = {
                     @ApiResponse(
@@ -233,8 +317,9 @@ public class ProjectController {
                             content = @Content(schema = @Schema(implementation = ProjectResponseDTO.class))
                     ),
                     @ApiResponse(
-                            responseCode = "400",
-                            description = "Invalid paging/sorting parameters (page out of range, invalid sort field, etc.)"
+                            responseCode = "202",
+                            description = "Deletion scheduled (or already running). Returns the deletion status.",
+                            content = @Content(schema = @Schema(implementation = ProjectDeletionDTO.class))
                     ),
                     @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden (ADMIN required)", content = @Content),
@@ -243,10 +328,38 @@ public class ProjectController {
             }
     )
     @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(8)
     @DeleteMapping("/{id}")
-    public ProjectResponseDTO deleteProjectById(
+    public ResponseEntity<?> deleteProjectById(
+            @Parameter(description = "Project ID", example = "1") @PathVariable Long id
+    ) {
+        return projectService.scheduleDeletionIfLarge(id)
+                .<ResponseEntity<?>>map(deletion -> ResponseEntity
+                        .accepted()
+                        .location(URI.create("/api/v1/projects/%d/deletion".formatted(id)))
+                        .body(deletion))
+                .orElseGet(() -> ResponseEntity.ok(projectService.deleteProjectById(id)));
+    }
+
+    @Operation(
+            summary = "Get background deletion status (ADMIN)",
+            description = "Returns progress of a background project deletion. ADMIN only.",
+            operationId = "getProjectDeletion",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = ProjectDeletionDTO.class))),
+                    @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden (ADMIN required)", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "No deletion scheduled for this project", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(1)
+    @GetMapping("/{id}/deletion")
+    public ProjectDeletionDTO getProjectDeletion(
             @Parameter(description = "Project ID", example = "1") @PathVariable Long id
     ) {
-        return projectService.deleteProjectById(id);
+        return projectService.getDeletion(id);
     }
 }
@@ -1,13 +1,23 @@
 package com.moveo.ha.controller;
 
+import com.moveo.ha.config.QueryBudget;
 import com.moveo.ha.dto.PageParams;
+import com.moveo.ha.dto.task.TaskBatchRequestDTO;
+import com.moveo.ha.dto.task.TaskFilter;
 import com.moveo.ha.dto.task.TaskListDTO;
+import com.moveo.ha.dto.task.TaskPatchDTO;
 import com.moveo.ha.dto.task.TaskRequestDTO;
 import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.dto.task.TaskSearchParams;
+import com.moveo.ha.dto.task.TaskSearchResultDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateResultDTO;
+import com.moveo.ha.entity.Task;
 import com.moveo.ha.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,13 +25,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Set;
 
 @Tag(name = "Tasks", description = "Task management endpoints")
@@ -46,6 +60,7 @@ public class TaskController {
             }
     )
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(3)
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TaskResponseDTO> createTask(@Valid @RequestBody TaskRequestDTO body) {
         var created = taskService.createTask(body);
@@ -53,9 +68,53 @@ public class TaskController {
         return ResponseEntity.created(location).body(created);
     }
 
+    @Operation(
+            summary = "Create tasks in batch",
+            description = "Creates up to " + TaskBatchRequestDTO.MAX_TASKS + " tasks in one transaction. " +
+                    "Either all tasks are created or none.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Created",
+                            content = @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponseDTO.class)))),
+                    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    // one project lookup, plus a sequence call and an INSERT batch per ID_ALLOCATION_SIZE tasks
+    @QueryBudget(1 + 2 * (TaskBatchRequestDTO.MAX_TASKS / Task.ID_ALLOCATION_SIZE))
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TaskResponseDTO>> createTasks(@Valid @RequestBody TaskBatchRequestDTO body) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(taskService.createTasks(body.tasks()));
+    }
+
+    @Operation(
+            summary = "Change status of many tasks",
+            description = "Sets a status on tasks selected by 'ids' (up to " + TaskStatusUpdateDTO.MAX_IDS + ") " +
+                    "or by 'projectId' + 'currentStatus', in one statement. Returns the number of changed tasks.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = TaskStatusUpdateResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(2)
+    @PostMapping(path = "/status", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public TaskStatusUpdateResultDTO updateStatus(@Valid @RequestBody TaskStatusUpdateDTO body) {
+        return taskService.updateStatus(body);
+    }
+
     @Operation(
             summary = "Update task by id",
-            description = "Updates title/description/status and optionally moves the task to another project.",
+            description = "Updates title/description/status and optionally moves the task to another project. " +
+                    "With If-Match (the ETag of GET, or the quoted 'version') the update only applies to that version.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "OK",
                             content = @Content(schema = @Schema(implementation = TaskResponseDTO.class))),
@@ -63,24 +122,59 @@ public class TaskController {
                     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Task not found", content = @Content),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version", content = @Content),
                     @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
             }
     )
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(3)
     @PostMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<TaskResponseDTO> updateTaskById(
             @Parameter(description = "Task id", example = "100") @PathVariable Long id,
+            @Parameter(description = "Expected version", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TaskRequestDTO body
     ) {
-        var updated = taskService.updateTaskById(id, body);
+        var updated = taskService.updateTaskById(id, body, ConditionalResponses.expectedVersion(ifMatch));
         return ResponseEntity.ok(updated);
     }
 
+    @Operation(
+            summary = "Patch task by id",
+            description = "JSON Merge Patch: only the given fields change (e.g. {\"status\":\"DONE\"}) and only the " +
+                    "changed columns are written. Fields cannot be set to null. Honors If-Match like the full update.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = TaskResponseDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Task or target project not found", content = @Content),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(3)
+    @PatchMapping(path = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public TaskResponseDTO patchTaskById(
+            @Parameter(description = "Task id", example = "100") @PathVariable Long id,
+            @Parameter(description = "Expected version", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody TaskPatchDTO body
+    ) {
+        return taskService.patchTaskById(id, body, ConditionalResponses.expectedVersion(ifMatch));
+    }
+
     @Operation(
             summary = "Get task by id",
+            description = "Sends ETag and Last-Modified of the returned task and its project summary; " +
+                    "answers a matching If-None-Match / If-Modified-Since with 304. " +
+                    "With includeArchived=true, a task archived after being DONE for long is returned as well.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "OK",
                             content = @Content(schema = @Schema(implementation = TaskResponseDTO.class))),
+                    @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
                     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
                     @ApiResponse(responseCode = "404", description = "Task not found", content = @Content),
@@ -88,25 +182,35 @@ public class TaskController {
             }
     )
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(2)
     @GetMapping("/{id}")
     public ResponseEntity<TaskResponseDTO> getTaskById(
-            @Parameter(description = "Task id", example = "100") @PathVariable Long id
+            @Parameter(description = "Task id", example = "100") @PathVariable Long id,
+            @Parameter(description = "Also look in the archive of long-completed tasks", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest request
     ) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+        var task = includeArchived ? taskService.getTaskByIdIncludingArchived(id) : taskService.getTaskById(id);
+        return ConditionalResponses.single(request, task, ConditionalResponses.version(task));
     }
 
     @Operation(
             summary = "Get page of tasks",
-            description = "Returns a paginated list of tasks.",
+            description = "Returns a paginated list of tasks, optionally filtered by project, status and " +
+                    "createdAt/updatedAt ranges. In cursor mode pass the previous nextCursor (with the same filters) to continue. " +
+                    "Sends an ETag; a matching If-None-Match is answered with 304 before the page is queried.",
             parameters = {
                     @Parameter(name = "pageNumber", in = ParameterIn.QUERY, description = "Zero-based page index", example = "0"),
                     @Parameter(name = "pageSize", in = ParameterIn.QUERY, description = "Page size", example = "20"),
                     @Parameter(name = "sortBy", in = ParameterIn.QUERY, description = "Sort field", example = "id"),
-                    @Parameter(name = "sortDir", in = ParameterIn.QUERY, description = "Sort direction (asc|desc)", example = "asc")
+                    @Parameter(name = "sortDir", in = ParameterIn.QUERY, description = "Sort direction (asc|desc)", example = "asc"),
+                    @Parameter(name = "paging", in = ParameterIn.QUERY, description = "Paging mode (offset|slice|estimated|cursor)", example = "offset"),
+                    @Parameter(name = "cursor", in = ParameterIn.QUERY, description = "Opaque nextCursor of the previous page")
             },
             responses = {
                     @ApiResponse(responseCode = "200", description = "OK",
                             content = @Content(schema = @Schema(implementation = TaskListDTO.class))),
+                    @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
                     @ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
                     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
                     @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
@@ -114,11 +218,42 @@ public class TaskController {
             }
     )
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(4)
     @GetMapping
-    public TaskListDTO getPageOfTasks(@Valid @ParameterObject PageParams params) {
+    public ResponseEntity<TaskListDTO> getPageOfTasks(@Valid @ParameterObject PageParams params,
+                                                      @Valid @ParameterObject TaskFilter filter,
+                                                      WebRequest request) {
         var allowedSort = Set.of("id", "title", "status", "project", "createdAt", "updatedAt");
-        var pageable = params.toPageable(allowedSort);
-        return taskService.getPageOfTasks(pageable);
+        var etag = ConditionalResponses.etag(taskService.getTaskListVersion(filter), params, filter);
+        return ConditionalResponses.list(request, etag, () -> switch (params.pagingMode()) {
+            case OFFSET -> taskService.getPageOfTasks(filter, params.toPageable(allowedSort));
+            case SLICE -> taskService.getSliceOfTasks(filter, params.toPageable(allowedSort));
+            case ESTIMATED -> taskService.getEstimatedPageOfTasks(filter, params.toPageable(allowedSort));
+            case CURSOR -> taskService.getWindowOfTasks(
+                    filter, params.toSort(allowedSort), params.getPageSize(), params.toCursor());
+        });
+    }
+
+    @Operation(
+            summary = "Search tasks",
+            description = "Full-text search over task titles and descriptions, best match first. " +
+                    "Title matches rank above description matches. Optionally scoped to one project.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = TaskSearchResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Bad request", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @QueryBudget(2)
+    @GetMapping("/search")
+    public TaskSearchResultDTO searchTasks(@Valid @ParameterObject TaskSearchParams params) {
+        return taskService.searchTasks(params.getQ().strip(), params.getProjectId(),
+                params.getPageNumber(), params.getPageSize());
     }
 
     @Operation(
@@ -134,6 +269,7 @@ public class TaskController {
             }
     )
     @PreAuthorize("hasRole('ADMIN')")
+    @QueryBudget(1)
     @DeleteMapping("/{id}")
     public ResponseEntity<TaskResponseDTO> deleteTaskById(
             @Parameter(description = "Task id", example = "100") @PathVariable Long id
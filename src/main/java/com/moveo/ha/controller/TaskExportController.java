@@ -0,0 +1,61 @@
+package com.moveo.ha.controller;
+
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.service.TaskExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Tag(name = "Tasks export", description = "Streaming task export for reporting")
+@RestController
+@RequestMapping("/api/v1/tasks/export")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class TaskExportController {
+
+    private final TaskExportService taskExportService;
+
+    @Operation(
+            summary = "Export tasks (ADMIN/USER)",
+            description = "Streams all tasks, or all tasks of one project, ordered by id. Rows are read from a " +
+                    "database cursor and written as they arrive, so there is no paging and no COUNT.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK", content = {
+                            @Content(mediaType = FileFormat.NDJSON_VALUE),
+                            @Content(mediaType = FileFormat.CSV_VALUE)
+                    }),
+                    @ApiResponse(responseCode = "400", description = "Invalid format or project id", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Missing/invalid JWT", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+            }
+    )
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "Only tasks of this project", example = "1")
+            @RequestParam(required = false) Long projectId,
+            @Parameter(description = "Output format (ndjson|csv)", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        var fileFormat = FileFormat.of(format);
+        // before the body: once streaming starts, the 200 and the export content type are committed
+        taskExportService.requireExportable(projectId);
+        StreamingResponseBody body = out -> taskExportService.exportTasks(projectId, fileFormat, out);
+        return ResponseEntity.ok()
+                .contentType(fileFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"tasks.%s\"".formatted(fileFormat.name().toLowerCase()))
+                .body(body);
+    }
+}
@@ -0,0 +1,50 @@
+package com.moveo.ha.controller;
+
+import com.moveo.ha.dto.task.TaskImportResultDTO;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.service.TaskImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+@Tag(name = "Tasks import", description = "Bulk task import (admin only)")
+@RestController
+@RequestMapping(path = "/api/v1/admin/tasks/import", produces = MediaType.APPLICATION_JSON_VALUE)
+@RequiredArgsConstructor
+public class TaskImportController {
+
+    private final TaskImportService taskImportService;
+
+    @Operation(
+            summary = "Import tasks",
+            description = "Streams NDJSON (one TaskRequestDTO object per line) or CSV with a header row " +
+                    "(projectId,title,description,status). Invalid rows are skipped and reported; " +
+                    "valid rows are written in chunks with PostgreSQL COPY in a single transaction.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "OK",
+                            content = @Content(schema = @Schema(implementation = TaskImportResultDTO.class))),
+                    @ApiResponse(responseCode = "400", description = "Malformed input", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "415", description = "Unsupported content type", content = @Content),
+                    @ApiResponse(responseCode = "500", description = "Internal Server Error", content = @Content)
+            }
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(consumes = {FileFormat.NDJSON_VALUE, FileFormat.CSV_VALUE})
+    public TaskImportResultDTO importTasks(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        return taskImportService.importTasks(body, FileFormat.of(MediaType.parseMediaType(contentType)));
+    }
+}
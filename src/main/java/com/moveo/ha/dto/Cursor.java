@@ -0,0 +1,49 @@
+package com.moveo.ha.dto;
+
+import com.moveo.ha.error.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position handed to clients as an opaque token ({@code nextCursor}).
+ * <p>
+ * Points right after the row with the given {@code (sortBy value, id)} pair; the next page seeks
+ * past it instead of skipping {@code OFFSET} rows. The sort it was issued for is part of the token,
+ * so a cursor cannot silently be replayed against a different ordering.
+ *
+ * @param sortBy  primary sort field the cursor was issued for
+ * @param sortDir primary sort direction (asc|desc)
+ * @param id      id of the last row of the previous page (tiebreaker)
+ * @param value   sort field value of that row, in its {@code toString()} form
+ */
+public record Cursor(String sortBy, String sortDir, long id, String value) {
+
+    private static final String SEPARATOR = "|";
+
+    public static Cursor after(String sortBy, String sortDir, long id, Object value) {
+        return new Cursor(sortBy, sortDir, id, String.valueOf(value));
+    }
+
+    public String encode() {
+        var raw = String.join(SEPARATOR, sortBy, sortDir, Long.toString(id), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     * Malformed tokens → throws BadRequestException (HTTP 400).
+     */
+    public static Cursor decode(String token) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var parts = raw.split("\\|", 4);
+            if (parts.length != 4) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+            return new Cursor(parts[0], parts[1], Long.parseLong(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+}
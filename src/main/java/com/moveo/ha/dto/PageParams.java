@@ -1,10 +1,12 @@
 package com.moveo.ha.dto;
 
+import com.moveo.ha.enums.PagingMode;
 import com.moveo.ha.error.BadRequestException;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,11 +35,38 @@ public class PageParams {
     @Pattern(regexp = "^(?i)(asc|desc)$", message = "sortDir must be 'asc' or 'desc'")
     private String sortDir = "asc";
 
+    @Schema(description = "Paging mode (offset|slice|estimated|cursor). offset reports exact totals; " +
+            "slice skips the count and only reports whether a next page exists; estimated is slice plus an " +
+            "approximate total from planner statistics; cursor seeks past the previous page on (sortBy, id) " +
+            "and ignores pageNumber", example = "offset", defaultValue = "offset")
+    @Pattern(regexp = "^(?i)(offset|slice|estimated|cursor)$",
+            message = "paging must be 'offset', 'slice', 'estimated' or 'cursor'")
+    private String paging = "offset";
+
+    @Schema(description = "Opaque nextCursor from the previous response; implies cursor mode")
+    @Size(max = 2048)
+    private String cursor;
+
+    /**
+     * Effective paging mode. A supplied cursor always means cursor mode.
+     */
+    public PagingMode pagingMode() {
+        return cursor != null ? PagingMode.CURSOR : PagingMode.valueOf(paging.toUpperCase());
+    }
+
     /**
      * Convert to Pageable using a white-list of allowed sort fields.
      * If sortBy is not allowed → throws BadRequestException (HTTP 400).
      */
     public Pageable toPageable(Set<String> allowedSortBy) {
+        return PageRequest.of(pageNumber, pageSize, toSort(allowedSortBy));
+    }
+
+    /**
+     * Convert to Sort using a white-list of allowed sort fields.
+     * If sortBy is not allowed → throws BadRequestException (HTTP 400).
+     */
+    public Sort toSort(Set<String> allowedSortBy) {
         Objects.requireNonNull(allowedSortBy, "allowedSortBy must not be null");
 
         if (!allowedSortBy.contains(sortBy)) {
@@ -47,6 +76,23 @@ public class PageParams {
         }
 
         var direction = "desc".equalsIgnoreCase(sortDir) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return PageRequest.of(pageNumber, pageSize, Sort.by(direction, sortBy));
+        return Sort.by(direction, sortBy);
+    }
+
+    /**
+     * Decode the supplied cursor, or {@code null} for the first page in cursor mode.
+     * If the cursor is malformed or was issued for another sortBy/sortDir → throws BadRequestException (HTTP 400).
+     */
+    public Cursor toCursor() {
+        if (cursor == null) {
+            return null;
+        }
+        var decoded = Cursor.decode(cursor);
+        if (!decoded.sortBy().equals(sortBy) || !decoded.sortDir().equalsIgnoreCase(sortDir)) {
+            throw new BadRequestException(
+                    "Cursor was issued for sortBy=%s sortDir=%s".formatted(decoded.sortBy(), decoded.sortDir())
+            );
+        }
+        return decoded;
     }
 }
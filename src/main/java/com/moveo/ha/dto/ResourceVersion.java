@@ -0,0 +1,58 @@
+package com.moveo.ha.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Validators of a representation for conditional requests: a strong ETag and, where one timestamp covers
+ * every change, the {@code Last-Modified} instant.
+ * <p>
+ * Single-resource ETags are {@code "<version>-<hash>"}: the entity's optimistic-lock version, which
+ * {@code If-Match} on update is checked against, followed by a hash of everything else the representation
+ * embeds (e.g. the task's project summary), which only conditional GETs care about.
+ *
+ * @param etag         quoted strong entity tag, derived from the given version parts (ids, timestamps, counts)
+ * @param lastModified latest {@code updatedAt} the representation depends on; {@code null} when changes can
+ *                     leave no timestamp behind (lists, projects with their embedded tasks)
+ */
+public record ResourceVersion(String etag, Instant lastModified) {
+
+    /**
+     * @param version entity {@code @Version} the tag starts with
+     * @param parts   values that change whenever the representation changes; {@code null}s allowed
+     */
+    public static ResourceVersion of(long version, Instant lastModified, Object... parts) {
+        return new ResourceVersion("\"" + version + '-' + hash(Arrays.asList(parts)) + '"', lastModified);
+    }
+
+    public static String etag(List<?> parts) {
+        return '"' + hash(parts) + '"';
+    }
+
+    /** Later of two instants, either of which may be {@code null}. */
+    public static Instant latest(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static String hash(List<?> parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (var part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+}
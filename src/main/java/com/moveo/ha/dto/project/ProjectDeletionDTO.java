@@ -0,0 +1,30 @@
+package com.moveo.ha.dto.project;
+
+import com.moveo.ha.enums.ProjectDeletionStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(name = "ProjectDeletion", description = "Progress of an asynchronous project deletion")
+public record ProjectDeletionDTO(
+        @Schema(description = "Project ID", example = "1")
+        Long projectId,
+
+        @Schema(description = "Deletion status", example = "RUNNING")
+        ProjectDeletionStatus status,
+
+        @Schema(description = "Tasks the project had when deletion was requested", example = "2500000")
+        long totalTasks,
+
+        @Schema(description = "Tasks deleted so far", example = "1200000")
+        long deletedTasks,
+
+        @Schema(description = "Failure reason (FAILED only)")
+        String error,
+
+        @Schema(description = "Request timestamp (UTC)", example = "2025-11-09T15:12:03Z")
+        Instant createdAt,
+
+        @Schema(description = "Last progress timestamp (UTC)", example = "2025-11-09T15:14:40Z")
+        Instant updatedAt
+) {}
@@ -12,8 +12,8 @@ import java.util.Collection;
 @Schema(description = "Paginated list of projects with paging & sorting metadata.")
 public class ProjectListDTO {
 
-    @Schema(description = "Total number of projects across all pages.", example = "100")
-    private long totalProjects;
+    @Schema(description = "Total number of projects across all pages (null in slice and cursor mode, approximate in estimated mode).", example = "100")
+    private Long totalProjects;
 
     @Schema(description = "Current page number (zero-based).", example = "0")
     private int pageNumber;
@@ -21,8 +21,11 @@ public class ProjectListDTO {
     @Schema(description = "Page size (elements per page).", example = "20")
     private int pageSize;
 
-    @Schema(description = "Total number of pages.", example = "5")
-    private int totalPages;
+    @Schema(description = "Total number of pages (null in slice and cursor mode, approximate in estimated mode).", example = "5")
+    private Integer totalPages;
+
+    @Schema(description = "Whether the totals are planner estimates rather than exact counts.", example = "false")
+    private boolean totalEstimated;
 
     @Schema(description = "Whether this page is the first one.", example = "true")
     private boolean first;
@@ -36,6 +39,9 @@ public class ProjectListDTO {
     @Schema(description = "Primary sort field.", example = "name")
     private String sortBy;
 
+    @Schema(description = "Opaque cursor for the next page in cursor mode (null on the last page and in offset mode).")
+    private String nextCursor;
+
     @Schema(description = "Projects for the current page.")
     private Collection<ProjectResponseDTO> projects;
 }
@@ -0,0 +1,23 @@
+package com.moveo.ha.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * JSON Merge Patch (RFC 7396) of a project: absent members are left unchanged, explicit {@code null}s are
+ * rejected while parsing since both fields are required.
+ */
+@Schema(name = "ProjectPatchDTO", description = "Sparse project update (JSON Merge Patch); omitted fields are kept")
+public record ProjectPatchDTO(
+        @Schema(description = "Project name", example = "Website Rebrand", maxLength = 100)
+        @JsonSetter(nulls = Nulls.FAIL)
+        @Size(max = 100) @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String name,
+
+        @Schema(description = "Project description", maxLength = 1000)
+        @JsonSetter(nulls = Nulls.FAIL)
+        @Size(max = 1000) @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String description
+) {
+}
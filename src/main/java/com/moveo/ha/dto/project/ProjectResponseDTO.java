@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 
 @Schema(name = "ProjectResponse", description = "Project resource")
 public record ProjectResponseDTO(
@@ -23,6 +24,35 @@ public record ProjectResponseDTO(
         @Schema(description = "Last update timestamp (UTC)", example = "2025-11-09T16:01:44Z")
         Instant updatedAt,
 
-        @Schema(description = "Tasks (summary only)")
-        Collection<TaskSummaryDTO> tasks
-) {}
+        @Schema(description = "Optimistic-lock version; send it back as If-Match: \"<version>\" on update", example = "3")
+        Long version,
+
+        @Schema(description = "Tasks (summary only), capped at moveo.projects.embedded-tasks-limit")
+        Collection<TaskSummaryDTO> tasks,
+
+        @Schema(description = "Total number of tasks in the project", example = "57")
+        long taskCount,
+
+        @Schema(description = "Whether 'tasks' holds fewer items than 'taskCount'", example = "true")
+        boolean tasksTruncated,
+
+        @Schema(description = "Task counts per status")
+        ProjectTaskStatsDTO taskStats
+) {
+
+    /**
+     * Project columns only, used by JPQL/Criteria constructor projections; see {@link #withTasks}.
+     */
+    public ProjectResponseDTO(Long id, String name, String description, Instant createdAt, Instant updatedAt,
+                              Long version) {
+        this(id, name, description, createdAt, updatedAt, version, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+    }
+
+    /**
+     * Copy with an already bounded list of task summaries and the project's task counts.
+     */
+    public ProjectResponseDTO withTasks(Collection<TaskSummaryDTO> tasks, ProjectTaskStatsDTO stats) {
+        return new ProjectResponseDTO(id, name, description, createdAt, updatedAt, version,
+                tasks, stats.total(), stats.total() > tasks.size(), stats);
+    }
+}
@@ -0,0 +1,26 @@
+package com.moveo.ha.dto.project;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "ProjectTaskStats", description = "Number of tasks of a project per status")
+public record ProjectTaskStatsDTO(
+        @Schema(description = "Tasks in TODO", example = "12")
+        long todo,
+
+        @Schema(description = "Tasks in IN_PROGRESS", example = "4")
+        long inProgress,
+
+        @Schema(description = "Tasks in DONE", example = "41")
+        long done
+) {
+
+    /** Stats of a project without tasks. */
+    public static final ProjectTaskStatsDTO EMPTY = new ProjectTaskStatsDTO(0, 0, 0);
+
+    @JsonProperty("total")
+    @Schema(description = "All tasks of the project", example = "57")
+    public long total() {
+        return todo + inProgress + done;
+    }
+}
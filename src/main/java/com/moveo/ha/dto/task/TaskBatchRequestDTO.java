@@ -0,0 +1,20 @@
+package com.moveo.ha.dto.task;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "TaskBatchRequestDTO", description = "Payload to create several tasks in one request")
+public record TaskBatchRequestDTO(
+
+        @ArraySchema(arraySchema = @Schema(description = "Tasks to create, in order"),
+                minItems = 1, maxItems = TaskBatchRequestDTO.MAX_TASKS)
+        @NotEmpty @Size(max = TaskBatchRequestDTO.MAX_TASKS) List<@Valid @NotNull TaskRequestDTO> tasks
+) {
+    public static final int MAX_TASKS = 500;
+}
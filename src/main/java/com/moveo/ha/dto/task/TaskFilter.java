@@ -0,0 +1,64 @@
+package com.moveo.ha.dto.task;
+
+import com.moveo.ha.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Optional task listing filters; all given filters must match. Ranges are [from, to).")
+public class TaskFilter {
+
+    @Schema(description = "Only tasks of this project", example = "1")
+    @Positive
+    private Long projectId;
+
+    @Schema(description = "Only tasks in one of these statuses (repeat or comma-separate)", example = "TODO,IN_PROGRESS")
+    @Size(max = 3)
+    private List<TaskStatus> status;
+
+    @Schema(description = "Created at or after (ISO-8601)", example = "2025-11-01T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdFrom;
+
+    @Schema(description = "Created before (ISO-8601)", example = "2025-12-01T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant createdTo;
+
+    @Schema(description = "Updated at or after (ISO-8601)", example = "2025-11-01T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant updatedFrom;
+
+    @Schema(description = "Updated before (ISO-8601)", example = "2025-12-01T00:00:00Z")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private Instant updatedTo;
+
+    @Schema(hidden = true)
+    @AssertTrue(message = "createdFrom/updatedFrom must be before createdTo/updatedTo")
+    public boolean isRangesValid() {
+        return (createdFrom == null || createdTo == null || createdFrom.isBefore(createdTo))
+                && (updatedFrom == null || updatedTo == null || updatedFrom.isBefore(updatedTo));
+    }
+
+    /**
+     * Whether no filter is set, i.e. the listing covers all tasks.
+     */
+    @Schema(hidden = true)
+    public boolean isEmpty() {
+        return projectId == null && (status == null || status.isEmpty())
+                && createdFrom == null && createdTo == null
+                && updatedFrom == null && updatedTo == null;
+    }
+}
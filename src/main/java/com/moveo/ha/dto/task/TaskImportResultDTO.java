@@ -0,0 +1,29 @@
+package com.moveo.ha.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "TaskImportResultDTO", description = "Outcome of a bulk task import")
+public record TaskImportResultDTO(
+
+        @Schema(description = "Rows written", example = "99850")
+        long accepted,
+
+        @Schema(description = "Rows skipped because they failed validation", example = "150")
+        long rejected,
+
+        @Schema(description = "First rejected rows with reasons (capped at moveo.tasks.import.max-reported-rejections)")
+        List<Rejection> rejections
+) {
+
+    @Schema(name = "TaskImportRejection", description = "A rejected input row")
+    public record Rejection(
+
+            @Schema(description = "1-based data row number (CSV header not counted)", example = "42")
+            long row,
+
+            @Schema(description = "Why the row was rejected", example = "title: must not be blank")
+            String reason
+    ) {}
+}
@@ -12,8 +12,8 @@ import java.util.Collection;
 @Schema(description = "Paginated list of tasks with paging & sorting metadata.")
 public class TaskListDTO {
 
-    @Schema(description = "Total number of tasks across all pages.")
-    private long totalTasks;
+    @Schema(description = "Total number of tasks across all pages (null in slice and cursor mode, approximate in estimated mode).")
+    private Long totalTasks;
 
     @Schema(description = "Current page number (zero-based).")
     private int pageNumber;
@@ -21,8 +21,11 @@ public class TaskListDTO {
     @Schema(description = "Page size (elements per page).")
     private int pageSize;
 
-    @Schema(description = "Total number of pages.")
-    private int totalPages;
+    @Schema(description = "Total number of pages (null in slice and cursor mode, approximate in estimated mode).")
+    private Integer totalPages;
+
+    @Schema(description = "Whether the totals are planner estimates rather than exact counts.")
+    private boolean totalEstimated;
 
     @Schema(description = "Whether this page is the first one.")
     private boolean first;
@@ -36,6 +39,9 @@ public class TaskListDTO {
     @Schema(description = "Primary sort field.")
     private String sortBy;
 
+    @Schema(description = "Opaque cursor for the next page in cursor mode (null on the last page and in offset mode).")
+    private String nextCursor;
+
     @Schema(description = "Tasks for the current page.")
     private Collection<TaskResponseDTO> tasks;
 }
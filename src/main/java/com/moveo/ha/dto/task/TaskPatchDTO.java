@@ -0,0 +1,33 @@
+package com.moveo.ha.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+import com.moveo.ha.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * JSON Merge Patch (RFC 7396) of a task: absent members are left unchanged. Every task field is required,
+ * so an explicit {@code null} (which would remove it) is rejected while parsing.
+ */
+@Schema(name = "TaskPatchDTO", description = "Sparse task update (JSON Merge Patch); omitted fields are kept")
+public record TaskPatchDTO(
+
+        @Schema(description = "Move the task to this project", example = "12")
+        @JsonSetter(nulls = Nulls.FAIL)
+        @Positive Long projectId,
+
+        @Schema(description = "Task title", maxLength = 200, example = "Prepare sprint demo")
+        @JsonSetter(nulls = Nulls.FAIL)
+        @Size(max = 200) @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String title,
+
+        @Schema(description = "Task description", maxLength = 2000)
+        @JsonSetter(nulls = Nulls.FAIL)
+        @Size(max = 2000) @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank") String description,
+
+        @Schema(description = "Task status", example = "DONE")
+        @JsonSetter(nulls = Nulls.FAIL)
+        TaskStatus status
+) {}
@@ -27,6 +27,20 @@ public record TaskResponseDTO(
         @Schema(description = "Update timestamp UTC", example = "2025-11-10T15:12:00Z")
         Instant updatedAt,
 
+        @Schema(description = "Optimistic-lock version; send it back as If-Match: \"<version>\" on update", example = "3")
+        Long version,
+
         @Schema(description = "Owner project (summary only)")
         ProjectSummaryDTO project
-) {}
+) {
+
+    /**
+     * Flat form used by JPQL/Criteria constructor projections (no entity is materialized).
+     */
+    public TaskResponseDTO(Long id, String title, String description, TaskStatus status,
+                           Instant createdAt, Instant updatedAt, Long version,
+                           Long projectId, String projectName, Instant projectUpdatedAt) {
+        this(id, title, description, status, createdAt, updatedAt, version,
+                new ProjectSummaryDTO(projectId, projectName, projectUpdatedAt));
+    }
+}
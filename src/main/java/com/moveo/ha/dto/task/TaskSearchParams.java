@@ -0,0 +1,32 @@
+package com.moveo.ha.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+@Schema(description = "Full-text task search query parameters.")
+public class TaskSearchParams {
+
+    @Schema(description = "Search text; supports \"quoted phrases\", OR and -exclusion", example = "sprint demo",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotBlank
+    @Size(max = 200)
+    private String q;
+
+    @Schema(description = "Only tasks of this project", example = "1")
+    @Positive
+    private Long projectId;
+
+    @Schema(description = "Zero-based page index", example = "0", defaultValue = "0")
+    @Min(0)
+    private Integer pageNumber = 0;
+
+    @Schema(description = "Page size", example = "20", defaultValue = "20")
+    @Min(1) @Max(200)
+    private Integer pageSize = 20;
+}
@@ -0,0 +1,36 @@
+package com.moveo.ha.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.Collection;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Page of full-text search hits, best match first.")
+public class TaskSearchResultDTO {
+
+    @Schema(description = "Search text as given.")
+    private String query;
+
+    @Schema(description = "Current page number (zero-based).")
+    private int pageNumber;
+
+    @Schema(description = "Page size (elements per page).")
+    private int pageSize;
+
+    @Schema(description = "Whether this page is the first one.")
+    private boolean first;
+
+    @Schema(description = "Whether this page is the last one.")
+    private boolean last;
+
+    @Schema(description = "Whether more tasks match than are served (moveo.tasks.search.max-candidates); " +
+            "refine the query to see them.")
+    private boolean truncated;
+
+    @Schema(description = "Matching tasks for the current page, ordered by rank.")
+    private Collection<TaskSummaryDTO> tasks;
+}
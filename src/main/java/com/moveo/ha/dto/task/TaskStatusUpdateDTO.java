@@ -0,0 +1,42 @@
+package com.moveo.ha.dto.task;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.moveo.ha.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(name = "TaskStatusUpdateDTO",
+        description = "Bulk status change; select tasks either by 'ids' or by 'projectId' + 'currentStatus'")
+public record TaskStatusUpdateDTO(
+
+        @Schema(description = "New status", example = "DONE")
+        @NotNull TaskStatus status,
+
+        @Schema(description = "Task IDs to change", example = "[100, 101, 102]")
+        @Size(min = 1, max = TaskStatusUpdateDTO.MAX_IDS) List<@NotNull Long> ids,
+
+        @Schema(description = "Change tasks of this project ...", example = "12")
+        Long projectId,
+
+        @Schema(description = "... that currently have this status", example = "IN_PROGRESS")
+        TaskStatus currentStatus
+) {
+    public static final int MAX_IDS = 1000;
+
+    @JsonIgnore
+    @Schema(hidden = true)
+    @AssertTrue(message = "provide either 'ids' or both 'projectId' and 'currentStatus'")
+    public boolean isSelectorValid() {
+        return byIds()
+                ? projectId == null && currentStatus == null
+                : projectId != null && currentStatus != null;
+    }
+
+    public boolean byIds() {
+        return ids != null;
+    }
+}
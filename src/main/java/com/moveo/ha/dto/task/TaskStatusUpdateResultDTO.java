@@ -0,0 +1,15 @@
+package com.moveo.ha.dto.task;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(name = "TaskStatusUpdateResultDTO", description = "Outcome of a bulk status change")
+public record TaskStatusUpdateResultDTO(
+
+        @Schema(description = "Number of tasks whose status changed", example = "3")
+        int updated,
+
+        @Schema(description = "IDs of the changed tasks", example = "[100, 101, 102]")
+        List<Long> ids
+) {}
@@ -2,6 +2,8 @@ package com.moveo.ha.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,7 +11,13 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Second-level cached ({@code projects} region, {@code tasks} collection in {@code project_tasks});
+ * see {@code hibernate-cache.conf} for region bounds.
+ */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 @Data
 @Builder(toBuilder = true)
 @AllArgsConstructor
@@ -18,7 +26,8 @@ import java.util.List;
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -36,7 +45,20 @@ public class Project {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    /**
+     * Optimistic-lock counter. Updates are a native {@code UPDATE ... RETURNING} that matches {@code version}
+     * (for {@code If-Match}) and bumps it; Hibernate only sets it on insert.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    /**
+     * Never cascaded from Hibernate: deleting a project is a single {@code DELETE} and
+     * {@code fk_tasks_project ON DELETE CASCADE} removes the tasks in the database.
+     */
+    @OneToMany(mappedBy = "project")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project_tasks")
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
 }
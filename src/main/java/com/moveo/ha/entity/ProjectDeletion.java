@@ -0,0 +1,46 @@
+package com.moveo.ha.entity;
+
+import com.moveo.ha.enums.ProjectDeletionStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
+
+/**
+ * Progress of an asynchronous (batched) project deletion; outlives the project it describes.
+ */
+@Entity
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "project_deletions")
+public class ProjectDeletion {
+
+    @Id
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ProjectDeletionStatus status;
+
+    @Column(name = "total_tasks", nullable = false)
+    private long totalTasks;
+
+    @Column(name = "deleted_tasks", nullable = false)
+    private long deletedTasks;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,34 @@
+package com.moveo.ha.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Task counts per status of one project.
+ * <p>
+ * Written only by the {@code trg_tasks_stats_*} triggers on {@code tasks} (and repaired by
+ * {@code ProjectTaskStatsReconciler}), hence read-only here. A project without a row has no tasks.
+ */
+@Entity
+@Immutable
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "project_task_stats")
+public class ProjectTaskStats {
+
+    @Id
+    @Column(name = "project_id", nullable = false, updatable = false)
+    private Long projectId;
+
+    @Column(name = "todo_count", nullable = false)
+    private long todoCount;
+
+    @Column(name = "in_progress_count", nullable = false)
+    private long inProgressCount;
+
+    @Column(name = "done_count", nullable = false)
+    private long doneCount;
+}
@@ -3,14 +3,20 @@ package com.moveo.ha.entity;
 import com.moveo.ha.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcType;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 
 import java.time.Instant;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tasks")
 @Data
 @Builder(toBuilder = true)
 @AllArgsConstructor
@@ -18,13 +24,18 @@ import java.time.Instant;
 @Table(name = "tasks")
 public class Task {
 
+    /** Ids reserved per {@code task_seq} call (the sequence's INCREMENT BY). */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Project project;
 
     @Column(name = "title", nullable = false, length = 200)
@@ -45,4 +56,13 @@ public class Task {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
+
+    /**
+     * Optimistic-lock counter. Updates are native {@code UPDATE ... RETURNING} statements that match
+     * {@code version} (for {@code If-Match}) and bump it, as bulk status updates do; Hibernate only sets it
+     * on insert.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,45 @@
+package com.moveo.ha.enums;
+
+import org.springframework.http.MediaType;
+
+public enum FileFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    public static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    FileFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Format for a request/response content type; parameters such as charset are ignored.
+     */
+    public static FileFormat of(MediaType contentType) {
+        for (var format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + contentType);
+    }
+
+    /**
+     * Format by (case-insensitive) name, e.g. a {@code format=csv} query parameter.
+     */
+    public static FileFormat of(String name) {
+        for (var format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + name);
+    }
+}
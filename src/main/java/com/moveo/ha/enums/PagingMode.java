@@ -0,0 +1,8 @@
+package com.moveo.ha.enums;
+
+public enum PagingMode {
+    OFFSET,
+    SLICE,
+    ESTIMATED,
+    CURSOR
+}
@@ -0,0 +1,12 @@
+package com.moveo.ha.enums;
+
+public enum ProjectDeletionStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED;
+
+    public boolean isActive() {
+        return this == PENDING || this == RUNNING;
+    }
+}
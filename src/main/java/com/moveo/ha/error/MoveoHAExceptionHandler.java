@@ -1,5 +1,6 @@
 package com.moveo.ha.error;
 
+import com.fasterxml.jackson.databind.exc.InvalidNullException;
 import com.moveo.ha.dto.error.ExceptionDTO;
 import com.moveo.ha.dto.error.InternalServerExceptionDTO;
 import jakarta.servlet.http.HttpServletRequest;
@@ -18,6 +19,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -43,7 +45,7 @@ import java.util.Map;
  * <ol>
  *     <li>If exception is a {@link MoveoHAException} and it has {@link ResponseStatus} → use its status.</li>
  *     <li>If exception is a {@link MoveoHAException} but without {@link ResponseStatus} → treat as 500.</li>
- *     <li>Other specific technical exceptions are mapped to 400/403, see handlers below.</li>
+ *     <li>Other specific technical exceptions are mapped to 400/403/404, see handlers below.</li>
  *     <li>Everything else → 500 with {@link InternalServerExceptionDTO}.</li>
  * </ol>
  */
@@ -51,6 +53,8 @@ import java.util.Map;
 @ControllerAdvice
 public class MoveoHAExceptionHandler {
 
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
     private final HttpStatus badRequest = HttpStatus.BAD_REQUEST;
     private final HttpStatus forbidden = HttpStatus.FORBIDDEN;
     private final HttpStatus internalServerError = HttpStatus.INTERNAL_SERVER_ERROR;
@@ -225,9 +229,12 @@ public class MoveoHAExceptionHandler {
     }
 
     /**
-     * Handle any other DB integrity violations (unique, FK, CHECK, etc.) → 400.
+     * Handle any other DB integrity violations (unique, CHECK, etc.) → 400.
+     * <p>
+     * Foreign key violations → 404: write paths reference rows by id without reading them first
+     * (e.g. creating a task under a project), so a missing parent surfaces here.
      * <p>
-     * Client receives a neutral BAD_REQUEST description
+     * Client receives a neutral description
      * without exposing DB/SQL internals.
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
@@ -236,6 +243,13 @@ public class MoveoHAExceptionHandler {
             HandlerMethod method,
             HttpServletRequest request
     ) {
+        if (isForeignKeyViolation(e)) {
+            String userMsg = "Not found: a referenced resource does not exist.";
+            var dto = buildExceptionDTO(new IllegalArgumentException(userMsg), method, request, HttpStatus.NOT_FOUND);
+            log.warn("[404] {} {} @ {}.{} -> {} ({})", request.getMethod(), request.getRequestURI(),
+                    dto.getController(), dto.getControllerMethod(), userMsg, e.getMostSpecificCause().getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(dto);
+        }
         String userMsg = "Bad request: one of the fields violates database constraints.";
         var dto = buildExceptionDTO(new IllegalArgumentException(userMsg), method, request, HttpStatus.BAD_REQUEST);
         log.warn("[400] {} {} @ {}.{} -> {} ({})", request.getMethod(), request.getRequestURI(),
@@ -249,6 +263,7 @@ public class MoveoHAExceptionHandler {
      * Typical example:
      * "Cannot deserialize value of type TaskStatus from String 'TODOasdasd'"
      * The client gets a user-friendly message instead of raw Jackson trace.
+     * Explicit nulls in a merge patch (fields that cannot be removed) are named as well.
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ExceptionDTO> handleJsonParseError(
@@ -262,6 +277,9 @@ public class MoveoHAExceptionHandler {
                 e.getMessage().contains("Cannot deserialize value of type") &&
                 e.getMessage().contains("TaskStatus")) {
             message = "Invalid task status. Accepted values: TODO, IN_PROGRESS, DONE.";
+        } else if (e.getCause() instanceof InvalidNullException nullField) {
+            message = "'%s' cannot be null; omit it to keep the current value."
+                    .formatted(nullField.getPropertyName().getSimpleName());
         }
 
         var dto = buildExceptionDTO(
@@ -277,6 +295,18 @@ public class MoveoHAExceptionHandler {
     }
 
 
+    /**
+     * Whether the root SQL error is {@code foreign_key_violation} (SQLSTATE 23503).
+     */
+    private boolean isForeignKeyViolation(DataIntegrityViolationException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && FOREIGN_KEY_VIOLATION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Extract {@link HttpStatus} from {@link ResponseStatus} annotation that is present on custom exceptions.
      */
@@ -0,0 +1,9 @@
+package com.moveo.ha.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends MoveoHAException {
+    public PreconditionFailedException(String message) { super(message); }
+}
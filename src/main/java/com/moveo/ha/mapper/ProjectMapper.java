@@ -1,25 +1,66 @@
 package com.moveo.ha.mapper;
 
+import com.moveo.ha.dto.project.ProjectDeletionDTO;
 import com.moveo.ha.dto.project.ProjectRequestDTO;
 import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
 import com.moveo.ha.dto.task.TaskSummaryDTO;
 import com.moveo.ha.entity.Project;
+import com.moveo.ha.entity.ProjectDeletion;
+import com.moveo.ha.entity.ProjectTaskStats;
 import com.moveo.ha.entity.Task;
+import com.moveo.ha.repository.projection.ProjectRowView;
+import com.moveo.ha.repository.projection.ProjectTaskSummaryView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.Collection;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface ProjectMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Project toEntity(ProjectRequestDTO dto);
 
-    @Mapping(target = "tasks", source = "tasks")
+    /**
+     * Project fields only; never touches the lazy {@code Project.tasks} collection.
+     */
+    @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "taskCount", ignore = true)
+    @Mapping(target = "tasksTruncated", ignore = true)
+    @Mapping(target = "taskStats", ignore = true)
     ProjectResponseDTO toResponse(Project entity);
 
+    /**
+     * Row returned by {@code UPDATE ... RETURNING}; embedded tasks are added by the caller.
+     */
+    @Mapping(target = "tasks", ignore = true)
+    @Mapping(target = "taskCount", ignore = true)
+    @Mapping(target = "tasksTruncated", ignore = true)
+    @Mapping(target = "taskStats", ignore = true)
+    ProjectResponseDTO toResponse(ProjectRowView row);
+
+    /**
+     * Project fields plus an already bounded list of task summaries and the project's task counts.
+     */
+    @Mapping(target = "tasks", source = "tasks")
+    @Mapping(target = "taskCount", expression = "java(taskStats.total())")
+    @Mapping(target = "tasksTruncated", expression = "java(taskStats.total() > tasks.size())")
+    @Mapping(target = "taskStats", source = "taskStats")
+    ProjectResponseDTO toResponse(Project entity, Collection<TaskSummaryDTO> tasks, ProjectTaskStatsDTO taskStats);
+
+    ProjectDeletionDTO toDeletionResponse(ProjectDeletion deletion);
+
+    @Mapping(target = "todo", source = "todoCount")
+    @Mapping(target = "inProgress", source = "inProgressCount")
+    @Mapping(target = "done", source = "doneCount")
+    ProjectTaskStatsDTO toStats(ProjectTaskStats stats);
+
     TaskSummaryDTO toTaskSummary(Task task);
-}
 
+    TaskSummaryDTO toTaskSummary(ProjectTaskSummaryView view);
+}
 
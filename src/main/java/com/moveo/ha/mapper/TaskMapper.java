@@ -3,22 +3,32 @@ package com.moveo.ha.mapper;
 import com.moveo.ha.dto.project.ProjectSummaryDTO;
 import com.moveo.ha.dto.task.TaskRequestDTO;
 import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.dto.task.TaskSummaryDTO;
 import com.moveo.ha.entity.Project;
 import com.moveo.ha.entity.Task;
+import com.moveo.ha.repository.projection.TaskRowView;
+import com.moveo.ha.repository.projection.TaskSummaryView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 
-@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, imports = ProjectSummaryDTO.class)
 public interface TaskMapper {
     @Mapping(target = "project", expression = "java(toProjectSummary(entity.getProject()))")
     TaskResponseDTO toResponse(Task entity);
 
+    @Mapping(target = "project",
+            expression = "java(new ProjectSummaryDTO(row.getProjectId(), row.getProjectName(), row.getProjectUpdatedAt()))")
+    TaskResponseDTO toResponse(TaskRowView row);
+
     ProjectSummaryDTO toProjectSummary(Project project);
 
+    TaskSummaryDTO toSummary(TaskSummaryView view);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "project", ignore = true)
     Task toEntity(TaskRequestDTO dto);
 }
@@ -0,0 +1,66 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.entity.Project;
+import com.moveo.ha.entity.Task;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Second-level cache eviction for writes Hibernate does not see.
+ * <p>
+ * {@code UPDATE ... RETURNING} queries run as selects and {@code COPY} bypasses Hibernate entirely, so
+ * their callers evict what they changed. Eviction runs after commit: evicting earlier would let a
+ * concurrent reader re-cache the pre-commit state.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    public static final String PROJECT_TASKS_ROLE = Project.class.getName() + ".tasks";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictTasks(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            var ids = List.copyOf(taskIds);
+            afterCommit(cache -> ids.forEach(id -> cache.evictEntityData(Task.class, id)));
+        }
+    }
+
+    public void evictProjects(Collection<Long> projectIds) {
+        if (!projectIds.isEmpty()) {
+            var ids = List.copyOf(projectIds);
+            afterCommit(cache -> ids.forEach(id -> cache.evictEntityData(Project.class, id)));
+        }
+    }
+
+    public void evictProjectTasks(Collection<Long> projectIds) {
+        if (!projectIds.isEmpty()) {
+            var ids = List.copyOf(projectIds);
+            afterCommit(cache -> ids.forEach(id -> cache.evictCollectionData(PROJECT_TASKS_ROLE, id)));
+        }
+    }
+
+    private void afterCommit(Consumer<Cache> eviction) {
+        var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.accept(cache);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.accept(cache);
+            }
+        });
+    }
+}
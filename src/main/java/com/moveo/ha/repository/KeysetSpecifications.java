@@ -0,0 +1,123 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.dto.Cursor;
+import com.moveo.ha.error.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Keyset ("seek") pagination helpers shared by the task and project listings.
+ * <p>
+ * Rows are always ordered by {@code (sortBy, id)} in the same direction, so a composite
+ * {@code (sort_column, id)} index can be walked from the cursor position onwards without
+ * an {@code OFFSET} scan.
+ */
+public final class KeysetSpecifications {
+
+    private static final String ID = "id";
+
+    private KeysetSpecifications() {
+    }
+
+    /**
+     * Append {@code id} (same direction) to a single-field sort so the ordering is total.
+     */
+    public static Sort withIdTiebreaker(Sort sort) {
+        var order = sort.iterator().hasNext() ? sort.iterator().next() : Sort.Order.asc(ID);
+        if (ID.equals(order.getProperty())) {
+            return Sort.by(order);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID));
+    }
+
+    /**
+     * Rows strictly after the cursor position; no restriction when {@code cursor} is {@code null}.
+     * <p>
+     * Written as {@code f >= v AND (f > v OR id > lastId)} (mirrored for desc) rather than a plain OR,
+     * so the leading range condition stays usable as an index bound.
+     */
+    public static <T> Specification<T> after(Cursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return null;
+            }
+            var desc = "desc".equalsIgnoreCase(cursor.sortDir());
+            Path<Long> id = root.get(ID);
+            if (ID.equals(cursor.sortBy())) {
+                return desc ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            }
+
+            var field = sortKey(root, cursor.sortBy());
+            var value = parse(field.getJavaType(), cursor.value());
+            var idPastCursor = desc ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            return desc
+                    ? cb.and(lessThanOrEqualTo(cb, field, value), cb.or(lessThan(cb, field, value), idPastCursor))
+                    : cb.and(greaterThanOrEqualTo(cb, field, value), cb.or(greaterThan(cb, field, value), idPastCursor));
+        };
+    }
+
+    /**
+     * Criteria ORDER BY for {@code sort}, using the same sort key paths as {@link #after(Cursor)}.
+     */
+    static List<Order> toOrders(Sort sort, Root<?> root, CriteriaBuilder cb) {
+        return sort.stream()
+                .map(o -> o.isAscending() ? cb.asc(sortKey(root, o.getProperty())) : cb.desc(sortKey(root, o.getProperty())))
+                .toList();
+    }
+
+    /**
+     * Sort key path; to-one associations are compared by their foreign key.
+     */
+    private static Path<?> sortKey(Root<?> root, String sortBy) {
+        var attribute = root.getModel().getAttribute(sortBy);
+        Path<?> path = root.get(sortBy);
+        return attribute.isAssociation() ? path.get(ID) : path;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<?> parse(Class<?> type, String raw) {
+        try {
+            if (type == Long.class || type == long.class) {
+                return Long.valueOf(raw);
+            }
+            if (type == Instant.class) {
+                return Instant.parse(raw);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class) type, raw);
+            }
+            return raw;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor.");
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate greaterThan(CriteriaBuilder cb, Path<?> field, Comparable<?> value) {
+        return cb.greaterThan((Expression<Comparable>) field, (Comparable) value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate greaterThanOrEqualTo(CriteriaBuilder cb, Path<?> field, Comparable<?> value) {
+        return cb.greaterThanOrEqualTo((Expression<Comparable>) field, (Comparable) value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate lessThan(CriteriaBuilder cb, Path<?> field, Comparable<?> value) {
+        return cb.lessThan((Expression<Comparable>) field, (Comparable) value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate lessThanOrEqualTo(CriteriaBuilder cb, Path<?> field, Comparable<?> value) {
+        return cb.lessThanOrEqualTo((Expression<Comparable>) field, (Comparable) value);
+    }
+}
@@ -0,0 +1,40 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.entity.ProjectDeletion;
+import com.moveo.ha.enums.ProjectDeletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectDeletionRepository extends JpaRepository<ProjectDeletion, Long> {
+
+    List<ProjectDeletion> findByStatusIn(Collection<ProjectDeletionStatus> statuses);
+
+    @Modifying
+    @Query("""
+            update ProjectDeletion d
+            set d.status = :status, d.error = :error, d.updatedAt = :now
+            where d.projectId = :projectId
+            """)
+    int updateStatus(@Param("projectId") Long projectId,
+                     @Param("status") ProjectDeletionStatus status,
+                     @Param("error") String error,
+                     @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update ProjectDeletion d
+            set d.deletedTasks = d.deletedTasks + :deleted, d.updatedAt = :now
+            where d.projectId = :projectId
+            """)
+    int addDeletedTasks(@Param("projectId") Long projectId,
+                        @Param("deleted") long deleted,
+                        @Param("now") Instant now);
+}
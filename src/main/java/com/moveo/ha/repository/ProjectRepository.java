@@ -1,9 +1,119 @@
 package com.moveo.ha.repository;
 
+import com.moveo.ha.dto.project.ProjectResponseDTO;
 import com.moveo.ha.entity.Project;
+import com.moveo.ha.repository.projection.ProjectListVersionView;
+import com.moveo.ha.repository.projection.ProjectRowView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project>,
+        ProjectResponseRepository {
+
+    /**
+     * Single project's columns projected without materializing the entity (embedded tasks left empty).
+     */
+    @Query("""
+            select new com.moveo.ha.dto.project.ProjectResponseDTO(
+                p.id, p.name, p.description, p.createdAt, p.updatedAt, p.version)
+            from Project p
+            where p.id = :id
+            """)
+    Optional<ProjectResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Only the project's version (a primary key lookup), to tell a missing project from a stale {@code If-Match}.
+     */
+    @Query("select p.version from Project p where p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of every project listing, checked before the listing is queried: the latest project and task
+     * change are one backward step of {@code idx_projects_updated_at} and {@code idx_tasks_updated_at_id},
+     * the task count comes from {@code project_task_stats}.
+     */
+    @Query(value = """
+            SELECT (SELECT count(*) FROM projects) AS "projectCount",
+                   (SELECT max(updated_at) FROM projects) AS "projectsUpdatedAt",
+                   (SELECT max(updated_at) FROM tasks) AS "tasksUpdatedAt",
+                   (SELECT CAST(sum(todo_count + in_progress_count + done_count) AS bigint)
+                    FROM project_task_stats) AS "taskCount"
+            """, nativeQuery = true)
+    ProjectListVersionView findListVersion();
+
+    /**
+     * Apply the non-null fields to a project in one statement and return the new row.
+     * <p>
+     * Nothing is written, and nothing returned, when the project does not exist, its version is not
+     * {@code expectedVersion} (if given) or no field would change; callers tell these apart afterwards.
+     * The row is locked before it is read, so {@code previousName} is the name this statement replaced.
+     * Runs as a query, so evict the project from the second-level cache.
+     */
+    @Query(value = """
+            WITH old AS (SELECT id, name FROM projects WHERE id = :id FOR UPDATE)
+            UPDATE projects p
+            SET name        = COALESCE(CAST(:name AS text), p.name),
+                description = COALESCE(CAST(:description AS text), p.description),
+                updated_at  = now(),
+                version     = p.version + 1
+            FROM old
+            WHERE p.id = old.id
+              AND (CAST(:expectedVersion AS bigint) IS NULL OR p.version = CAST(:expectedVersion AS bigint))
+              AND (p.name, p.description) IS DISTINCT FROM
+                  (COALESCE(CAST(:name AS text), p.name), COALESCE(CAST(:description AS text), p.description))
+            RETURNING p.id AS "id", p.name AS "name", p.description AS "description",
+                      p.created_at AS "createdAt", p.updated_at AS "updatedAt", p.version AS "version",
+                      old.name AS "previousName"
+            """, nativeQuery = true)
+    Optional<ProjectRowView> updateReturning(@Param("id") Long id,
+                                             @Param("expectedVersion") Long expectedVersion,
+                                             @Param("name") String name,
+                                             @Param("description") String description);
+
+    /**
+     * Those of {@code ids} that belong to existing projects.
+     */
+    @Query("select p.id from Project p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next {@code limit} project ids after {@code afterId} (primary key order), for walking all projects in batches.
+     */
+    @Query(value = "SELECT id FROM projects WHERE id > :afterId ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<Long> findIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    /**
+     * Delete a project with a single {@code DELETE}; {@code fk_tasks_project ON DELETE CASCADE} removes its tasks.
+     * <p>
+     * The query spaces tell Hibernate that {@code tasks} changes too, so cached tasks of the project are
+     * invalidated along with the project ({@code deleteAllByIdInBatch} would only invalidate projects).
+     *
+     * @return number of deleted projects (0 or 1)
+     */
+    @Modifying
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "projects"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks")
+    })
+    @Query(value = "DELETE FROM projects WHERE id = :id", nativeQuery = true)
+    int deleteByIdCascading(@Param("id") Long id);
+
+    /**
+     * Planner estimate of the number of rows in {@code projects} ({@code -1} if never analyzed).
+     */
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('projects' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
 }
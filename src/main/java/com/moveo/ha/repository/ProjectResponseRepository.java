@@ -0,0 +1,23 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.entity.Project;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Read-only project listings projected straight into {@link ProjectResponseDTO} (Criteria {@code construct}),
+ * so no managed {@link Project} instances are created. Embedded tasks are left empty.
+ */
+public interface ProjectResponseRepository {
+
+    /**
+     * @param spec   restriction, or {@code null} for all projects
+     * @param sort   ORDER BY
+     * @param offset rows to skip
+     * @param limit  max rows to return
+     */
+    List<ProjectResponseDTO> findResponses(Specification<Project> spec, Sort sort, long offset, int limit);
+}
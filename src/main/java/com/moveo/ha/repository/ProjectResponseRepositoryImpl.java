@@ -0,0 +1,39 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.entity.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class ProjectResponseRepositoryImpl implements ProjectResponseRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<ProjectResponseDTO> findResponses(Specification<Project> spec, Sort sort, long offset, int limit) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(ProjectResponseDTO.class);
+        var project = query.from(Project.class);
+
+        query.select(cb.construct(ProjectResponseDTO.class,
+                project.get("id"), project.get("name"), project.get("description"),
+                project.get("createdAt"), project.get("updatedAt"), project.get("version")));
+        if (spec != null) {
+            var predicate = spec.toPredicate(project, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(KeysetSpecifications.toOrders(sort, project, cb));
+
+        return em.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,71 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.entity.ProjectTaskStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProjectTaskStatsRepository extends JpaRepository<ProjectTaskStats, Long> {
+
+    /**
+     * Make sure every given project has a stats row, so {@link #lockByProjectIds} has something to lock.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_task_stats"))
+    @Query(value = """
+            INSERT INTO project_task_stats (project_id)
+            SELECT id FROM projects WHERE id IN (:projectIds)
+            ORDER BY id
+            ON CONFLICT (project_id) DO NOTHING
+            """, nativeQuery = true)
+    int insertMissing(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Row-lock the stats of the given projects (in id order, like the triggers) until the transaction ends.
+     * <p>
+     * Writers block on these rows in their triggers, so counts taken by a later statement of the same
+     * transaction see every committed write and are not raced by a concurrent one.
+     */
+    @Query(value = """
+            SELECT project_id FROM project_task_stats
+            WHERE project_id IN (:projectIds)
+            ORDER BY project_id
+            FOR UPDATE
+            """, nativeQuery = true)
+    List<Long> lockByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Recount the given projects' tasks (index-only scans of {@code idx_tasks_project_id_status_id})
+     * and overwrite the stats rows that drifted.
+     *
+     * @return ids of the repaired projects
+     */
+    @Query(value = """
+            UPDATE project_task_stats s
+            SET todo_count = a.todo, in_progress_count = a.in_progress, done_count = a.done
+            FROM (
+                SELECT p.id AS project_id,
+                       count(t.id) FILTER (WHERE t.status = 'TODO') AS todo,
+                       count(t.id) FILTER (WHERE t.status = 'IN_PROGRESS') AS in_progress,
+                       count(t.id) FILTER (WHERE t.status = 'DONE') AS done
+                FROM projects p
+                LEFT JOIN tasks t ON t.project_id = p.id
+                WHERE p.id IN (:projectIds)
+                GROUP BY p.id
+            ) a
+            WHERE s.project_id = a.project_id
+              AND (s.todo_count, s.in_progress_count, s.done_count)
+                  IS DISTINCT FROM (a.todo, a.in_progress, a.done)
+            RETURNING s.project_id
+            """, nativeQuery = true)
+    List<Long> recount(@Param("projectIds") Collection<Long> projectIds);
+}
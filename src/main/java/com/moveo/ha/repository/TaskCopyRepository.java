@@ -0,0 +1,84 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.enums.TaskStatus;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk inserts into {@code tasks} through the PostgreSQL {@code COPY} protocol.
+ * <p>
+ * Uses the connection bound to the current transaction, so a failed import rolls back as a whole.
+ * Rows must carry pre-allocated ids (see {@link TaskRepository#allocateIdBlocks(int)}). Hibernate does not
+ * see the insert, so the cached {@code Project.tasks} of the affected projects are evicted on commit.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TaskCopyRepository {
+
+    private static final String COPY_SQL =
+            "COPY tasks (id, project_id, title, description, status, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final DataSource dataSource;
+    private final EntityCacheEvictor cacheEvictor;
+
+    private static final SQLExceptionTranslator TRANSLATOR = new SQLStateSQLExceptionTranslator();
+
+    /**
+     * @return number of rows written
+     * @throws org.springframework.dao.DataAccessException translated from the driver error
+     *         (e.g. {@code DataIntegrityViolationException} for a project deleted mid-import)
+     */
+    public long copyIn(List<Row> rows, Instant timestamp) {
+        var csv = new StringBuilder(rows.size() * 128);
+        var ts = timestamp.toString();
+        for (var row : rows) {
+            csv.append(row.id()).append(',')
+                    .append(row.projectId()).append(',');
+            quote(csv, row.title()).append(',');
+            quote(csv, row.description()).append(',')
+                    .append(row.status().name()).append(',')
+                    .append(ts).append(',')
+                    .append(ts).append('\n');
+        }
+
+        cacheEvictor.evictProjectTasks(rows.stream().map(Row::projectId).collect(Collectors.toSet()));
+        var connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_SQL, new StringReader(csv.toString()));
+        } catch (SQLException e) {
+            throw TRANSLATOR.translate("COPY tasks", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("COPY into tasks failed", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    private static StringBuilder quote(StringBuilder csv, String value) {
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+
+    public record Row(long id, long projectId, String title, String description, TaskStatus status) {}
+}
@@ -1,9 +1,334 @@
 package com.moveo.ha.repository;
 
+import com.moveo.ha.dto.task.TaskResponseDTO;
 import com.moveo.ha.entity.Task;
+import com.moveo.ha.repository.projection.ArchivedTaskView;
+import com.moveo.ha.repository.projection.ProjectTaskSummaryView;
+import com.moveo.ha.repository.projection.TaskListVersionView;
+import com.moveo.ha.repository.projection.TaskRowView;
+import com.moveo.ha.repository.projection.TaskSummaryView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>,
+        TaskResponseRepository {
+
+    /**
+     * Single task with its project summary, projected in one statement without materializing entities.
+     */
+    @Query("""
+            select new com.moveo.ha.dto.task.TaskResponseDTO(
+                t.id, t.title, t.description, t.status, t.createdAt, t.updatedAt, t.version,
+                p.id, p.name, p.updatedAt)
+            from Task t join t.project p
+            where t.id = :id
+            """)
+    Optional<TaskResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Only the task's version (a primary key lookup), to tell a missing task from a stale {@code If-Match}.
+     */
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Ids of a project's tasks, an index-only scan of {@code idx_tasks_project_id_id}.
+     */
+    @Query("select t.id from Task t where t.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Version of every task listing, checked before the listing is queried: one backward step of
+     * {@code idx_tasks_updated_at_id} and {@code idx_projects_updated_at}, the count from {@code project_task_stats}.
+     */
+    @Query(value = """
+            SELECT (SELECT max(updated_at) FROM tasks) AS "tasksUpdatedAt",
+                   (SELECT max(updated_at) FROM projects) AS "projectsUpdatedAt",
+                   (SELECT CAST(sum(todo_count + in_progress_count + done_count) AS bigint)
+                    FROM project_task_stats) AS "taskCount"
+            """, nativeQuery = true)
+    TaskListVersionView findListVersion();
+
+    /**
+     * Like {@link #findListVersion()}, for the listings of one project: a backward step of
+     * {@code idx_tasks_project_id_updated_at_id} and two primary key lookups.
+     */
+    @Query(value = """
+            SELECT (SELECT max(updated_at) FROM tasks WHERE project_id = :projectId) AS "tasksUpdatedAt",
+                   (SELECT updated_at FROM projects WHERE id = :projectId) AS "projectsUpdatedAt",
+                   (SELECT todo_count + in_progress_count + done_count
+                    FROM project_task_stats WHERE project_id = :projectId) AS "taskCount"
+            """, nativeQuery = true)
+    TaskListVersionView findListVersionByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * Full-text matches of {@code query} (web-search syntax), best rank first, ties by id.
+     * <p>
+     * Matches come from a bitmap scan of {@code idx_tasks_search_vector} and every one of them is ranked,
+     * so the order is total and pages neither repeat nor skip rows. The sort is a top-N heapsort holding
+     * only {@code offset + limit} rows; callers bound {@code offset + limit} by
+     * {@code moveo.tasks.search.max-candidates}.
+     */
+    @Query(value = """
+            SELECT id AS "id", title AS "title", CAST(status AS text) AS "status", updated_at AS "updatedAt"
+            FROM tasks
+            WHERE search_vector @@ websearch_to_tsquery('english', :query)
+            ORDER BY ts_rank(search_vector, websearch_to_tsquery('english', :query)) DESC, id
+            OFFSET :offset LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskSummaryView> search(@Param("query") String query,
+                                 @Param("offset") long offset,
+                                 @Param("limit") int limit);
+
+    /**
+     * Same as {@link #search(String, long, int)} within one project; the planner combines
+     * the GIN index with {@code idx_tasks_project_id_id} (BitmapAnd) or picks whichever is more selective.
+     */
+    @Query(value = """
+            SELECT id AS "id", title AS "title", CAST(status AS text) AS "status", updated_at AS "updatedAt"
+            FROM tasks
+            WHERE search_vector @@ websearch_to_tsquery('english', :query)
+              AND project_id = :projectId
+            ORDER BY ts_rank(search_vector, websearch_to_tsquery('english', :query)) DESC, id
+            OFFSET :offset LIMIT :limit
+            """, nativeQuery = true)
+    List<TaskSummaryView> searchInProject(@Param("query") String query,
+                                          @Param("projectId") Long projectId,
+                                          @Param("offset") long offset,
+                                          @Param("limit") int limit);
+
+    /**
+     * Planner estimate of the number of rows in {@code tasks} ({@code -1} if never analyzed).
+     */
+    @Query(value = "SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = CAST('tasks' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
+
+    /**
+     * Reserve {@code blocks} id ranges from {@code task_seq}; each returned value {@code v} owns
+     * {@code [v, v + Task.ID_ALLOCATION_SIZE)}, the same pooled-lo contract Hibernate uses.
+     */
+    @Query(value = "SELECT nextval('task_seq') FROM generate_series(1, :blocks)", nativeQuery = true)
+    List<Long> allocateIdBlocks(@Param("blocks") int blocks);
+
+    /**
+     * Set {@code status} on the given tasks in one statement; tasks already in that status are left untouched.
+     * <p>
+     * Runs as a query, so Hibernate neither bumps {@code version} (done here) nor invalidates cached tasks:
+     * evict the returned ids.
+     *
+     * @param status {@code TaskStatus} name
+     * @return ids of the changed tasks
+     */
+    @Query(value = """
+            UPDATE tasks
+            SET status = CAST(:status AS task_status), updated_at = now(), version = version + 1
+            WHERE id IN (:ids)
+              AND status <> CAST(:status AS task_status)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> updateStatusByIds(@Param("ids") Collection<Long> ids, @Param("status") String status);
+
+    /**
+     * Move every task of a project from {@code currentStatus} to {@code status} in one statement
+     * (served by {@code idx_tasks_project_id_status_id}). Like {@link #updateStatusByIds}, evict the returned ids.
+     *
+     * @return ids of the changed tasks
+     */
+    @Query(value = """
+            UPDATE tasks
+            SET status = CAST(:status AS task_status), updated_at = now(), version = version + 1
+            WHERE project_id = :projectId
+              AND status = CAST(:currentStatus AS task_status)
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> updateStatusByProjectAndStatus(@Param("projectId") Long projectId,
+                                              @Param("currentStatus") String currentStatus,
+                                              @Param("status") String status);
+
+    /**
+     * Apply the non-null fields to a task in one statement and return the new row with its project summary.
+     * <p>
+     * Nothing is written, and nothing returned, when the task does not exist, its version is not
+     * {@code expectedVersion} (if given) or no field would change; callers tell these apart afterwards.
+     * The row lock taken by {@code target} makes {@code previousProjectId} and the version check see the
+     * latest committed row. A {@code projectId} without a project fails on {@code fk_tasks_project}.
+     * <p>
+     * Runs as a query, so evict the task (and moved-between project collections) from the second-level cache.
+     *
+     * @param status {@code TaskStatus} name
+     */
+    @Query(value = """
+            WITH target AS (
+                SELECT id, project_id FROM tasks WHERE id = :id FOR UPDATE
+            ), changed AS (
+                UPDATE tasks t
+                SET project_id  = COALESCE(CAST(:projectId AS bigint), t.project_id),
+                    title       = COALESCE(CAST(:title AS text), t.title),
+                    description = COALESCE(CAST(:description AS text), t.description),
+                    status      = COALESCE(CAST(:status AS task_status), t.status),
+                    updated_at  = now(),
+                    version     = t.version + 1
+                FROM target
+                WHERE t.id = target.id
+                  AND (CAST(:expectedVersion AS bigint) IS NULL OR t.version = CAST(:expectedVersion AS bigint))
+                  AND (t.project_id, t.title, t.description, t.status) IS DISTINCT FROM
+                      (COALESCE(CAST(:projectId AS bigint), t.project_id),
+                       COALESCE(CAST(:title AS text), t.title),
+                       COALESCE(CAST(:description AS text), t.description),
+                       COALESCE(CAST(:status AS task_status), t.status))
+                RETURNING t.id, t.title, t.description, t.status, t.created_at, t.updated_at, t.version,
+                          t.project_id, target.project_id AS previous_project_id
+            )
+            SELECT c.id AS "id", c.title AS "title", c.description AS "description",
+                   CAST(c.status AS text) AS "status", c.created_at AS "createdAt", c.updated_at AS "updatedAt",
+                   c.version AS "version", p.id AS "projectId", p.name AS "projectName",
+                   p.updated_at AS "projectUpdatedAt", c.previous_project_id AS "previousProjectId"
+            FROM changed c
+            JOIN projects p ON p.id = c.project_id
+            """, nativeQuery = true)
+    Optional<TaskRowView> updateReturning(@Param("id") Long id,
+                                          @Param("expectedVersion") Long expectedVersion,
+                                          @Param("projectId") Long projectId,
+                                          @Param("title") String title,
+                                          @Param("description") String description,
+                                          @Param("status") String status);
+
+    /**
+     * Delete a task and return its last state, in one statement; empty if it did not exist.
+     * Like {@link #updateReturning}, evict the task from the second-level cache.
+     */
+    @Query(value = """
+            WITH removed AS (
+                DELETE FROM tasks WHERE id = :id
+                RETURNING id, title, description, status, created_at, updated_at, version, project_id
+            )
+            SELECT r.id AS "id", r.title AS "title", r.description AS "description",
+                   CAST(r.status AS text) AS "status", r.created_at AS "createdAt", r.updated_at AS "updatedAt",
+                   r.version AS "version", p.id AS "projectId", p.name AS "projectName",
+                   p.updated_at AS "projectUpdatedAt", r.project_id AS "previousProjectId"
+            FROM removed r
+            JOIN projects p ON p.id = r.project_id
+            """, nativeQuery = true)
+    Optional<TaskRowView> deleteReturning(@Param("id") Long id);
+
+    /**
+     * Delete at most {@code limit} tasks of a project (lowest ids first, via {@code idx_tasks_project_id_id}).
+     * <p>
+     * Runs as a query, so Hibernate does not invalidate cached tasks: evict the returned ids.
+     *
+     * @return ids of the deleted tasks; fewer than {@code limit} once the project is empty
+     */
+    @Query(value = """
+            DELETE FROM tasks
+            WHERE id IN (
+                SELECT id FROM tasks
+                WHERE project_id = :projectId
+                ORDER BY id
+                LIMIT :limit
+            )
+            RETURNING id
+            """, nativeQuery = true)
+    List<Long> deleteBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    /**
+     * Move at most {@code limit} tasks that have been {@code DONE} since before {@code cutoff} (oldest first,
+     * via {@code idx_tasks_status_updated_at_id}) to {@code tasks_archive}, in one statement.
+     * <p>
+     * Tasks locked by a concurrent write are skipped rather than waited for; a later batch picks them up if
+     * they still qualify. The delete runs the stats triggers, so project task counts cover live tasks only.
+     * Runs as a query: evict the returned tasks and their projects' task collections.
+     *
+     * @return the archived tasks; fewer than {@code limit} once nothing is left to archive
+     */
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM tasks
+                WHERE id IN (
+                    SELECT id FROM tasks
+                    WHERE status = 'DONE' AND updated_at < CAST(:cutoff AS timestamptz)
+                    ORDER BY updated_at, id
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING id, project_id, title, description, created_at, updated_at, version
+            )
+            INSERT INTO tasks_archive (id, project_id, title, description, created_at, updated_at, version)
+            SELECT id, project_id, title, description, created_at, updated_at, version FROM moved
+            RETURNING id AS "id", project_id AS "projectId"
+            """, nativeQuery = true)
+    List<ArchivedTaskView> archiveDoneBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+
+    /**
+     * Archived task with its project summary (one partition of {@code tasks_archive}, by primary key);
+     * its status is always {@code DONE}.
+     */
+    @Query(value = """
+            SELECT a.id AS "id", a.title AS "title", a.description AS "description", 'DONE' AS "status",
+                   a.created_at AS "createdAt", a.updated_at AS "updatedAt", a.version AS "version",
+                   p.id AS "projectId", p.name AS "projectName", p.updated_at AS "projectUpdatedAt",
+                   a.project_id AS "previousProjectId"
+            FROM tasks_archive a
+            JOIN projects p ON p.id = a.project_id
+            WHERE a.id = :id
+            """, nativeQuery = true)
+    Optional<TaskRowView> findArchivedById(@Param("id") Long id);
+
+    /**
+     * Like {@link #deleteBatchByProjectId}, for the project's archived tasks
+     * (via {@code idx_tasks_archive_project_id_id}).
+     *
+     * @return number of deleted archived tasks; less than {@code limit} once none are left
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+    @Query(value = """
+            DELETE FROM tasks_archive
+            WHERE id IN (
+                SELECT id FROM tasks_archive
+                WHERE project_id = :projectId
+                ORDER BY id
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteArchivedBatchByProjectId(@Param("projectId") Long projectId, @Param("limit") int limit);
+
+    /**
+     * First {@code limit} tasks (by id) of every given project, in one round trip.
+     * <p>
+     * The LATERAL subquery is served by {@code idx_tasks_project_id_id}, so each project
+     * costs an index range scan of at most {@code limit} entries no matter how many tasks it owns.
+     */
+    @Query(value = """
+            SELECT t.project_id AS "projectId",
+                   t.id AS "id",
+                   t.title AS "title",
+                   CAST(t.status AS text) AS "status",
+                   t.updated_at AS "updatedAt"
+            FROM projects p
+            CROSS JOIN LATERAL (
+                SELECT tk.id, tk.project_id, tk.title, tk.status, tk.updated_at
+                FROM tasks tk
+                WHERE tk.project_id = p.id
+                ORDER BY tk.id
+                LIMIT :limit
+            ) t
+            WHERE p.id IN (:projectIds)
+            ORDER BY t.project_id, t.id
+            """, nativeQuery = true)
+    List<ProjectTaskSummaryView> findTaskSummariesByProjectIds(@Param("projectIds") Collection<Long> projectIds,
+                                                               @Param("limit") int limit);
 }
@@ -0,0 +1,35 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.entity.Task;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Read-only task listings projected straight into {@link TaskResponseDTO} (Criteria {@code construct}),
+ * so no managed {@link Task} or {@code Project} instances are created.
+ */
+public interface TaskResponseRepository {
+
+    /**
+     * @param spec   restriction, or {@code null} for all tasks
+     * @param sort   ORDER BY; {@code project} sorts by the project id
+     * @param offset rows to skip
+     * @param limit  max rows to return
+     */
+    List<TaskResponseDTO> findResponses(Specification<Task> spec, Sort sort, long offset, int limit);
+
+    /**
+     * Unbounded read fetched from a server-side cursor, {@code fetchSize} rows per round trip.
+     * <p>Must be consumed inside a transaction (PostgreSQL only honours the fetch size with
+     * autocommit off) and closed afterwards.</p>
+     *
+     * @param spec      restriction, or {@code null} for all tasks
+     * @param sort      ORDER BY
+     * @param fetchSize rows buffered by the JDBC driver at a time
+     */
+    Stream<TaskResponseDTO> streamResponses(Specification<Task> spec, Sort sort, int fetchSize);
+}
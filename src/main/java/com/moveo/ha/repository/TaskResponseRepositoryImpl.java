@@ -0,0 +1,55 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.entity.Project;
+import com.moveo.ha.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class TaskResponseRepositoryImpl implements TaskResponseRepository {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Override
+    public List<TaskResponseDTO> findResponses(Specification<Task> spec, Sort sort, long offset, int limit) {
+        return em.createQuery(select(spec, sort))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<TaskResponseDTO> streamResponses(Specification<Task> spec, Sort sort, int fetchSize) {
+        return em.createQuery(select(spec, sort))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<TaskResponseDTO> select(Specification<Task> spec, Sort sort) {
+        var cb = em.getCriteriaBuilder();
+        var query = cb.createQuery(TaskResponseDTO.class);
+        var task = query.from(Task.class);
+        var project = task.<Task, Project>join("project");
+
+        query.select(cb.construct(TaskResponseDTO.class,
+                task.get("id"), task.get("title"), task.get("description"), task.get("status"),
+                task.get("createdAt"), task.get("updatedAt"), task.get("version"),
+                project.get("id"), project.get("name"), project.get("updatedAt")));
+        if (spec != null) {
+            var predicate = spec.toPredicate(task, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(KeysetSpecifications.toOrders(sort, task, cb));
+        return query;
+    }
+}
@@ -0,0 +1,57 @@
+package com.moveo.ha.repository;
+
+import com.moveo.ha.dto.task.TaskFilter;
+import com.moveo.ha.entity.Task;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+
+/**
+ * Task listing filters as a single {@link Specification}.
+ * <p>
+ * Project is compared by the {@code project_id} column (no join), so {@code project + status}
+ * and {@code project + createdAt/updatedAt range} are served by the
+ * {@code (project_id, status|created_at|updated_at, id)} indexes, which also yield rows
+ * in {@code id} / timestamp order without a sort step.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    /**
+     * Conjunction of every set filter; {@code null} when {@code filter} is {@code null} or empty.
+     */
+    public static Specification<Task> matching(TaskFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            var predicates = new ArrayList<Predicate>();
+            if (filter.getProjectId() != null) {
+                predicates.add(cb.equal(root.get("project").get("id"), filter.getProjectId()));
+            }
+            var status = filter.getStatus();
+            if (status != null && !status.isEmpty()) {
+                // A single status stays an equality so the index keeps delivering rows in order.
+                predicates.add(status.size() == 1
+                        ? cb.equal(root.get("status"), status.getFirst())
+                        : root.get("status").in(status));
+            }
+            if (filter.getCreatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+            }
+            if (filter.getCreatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+            }
+            if (filter.getUpdatedFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("updatedAt"), filter.getUpdatedFrom()));
+            }
+            if (filter.getUpdatedTo() != null) {
+                predicates.add(cb.lessThan(root.get("updatedAt"), filter.getUpdatedTo()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
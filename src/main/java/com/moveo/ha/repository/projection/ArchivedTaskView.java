@@ -0,0 +1,9 @@
+package com.moveo.ha.repository.projection;
+
+/**
+ * Id and project of a task moved to {@code tasks_archive}, for cache eviction.
+ */
+public interface ArchivedTaskView {
+    Long getId();
+    Long getProjectId();
+}
@@ -0,0 +1,14 @@
+package com.moveo.ha.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * What project listings depend on, for conditional GETs: the project count and latest project change, and the
+ * latest change and count of the tasks they embed (deletes leave no timestamp behind).
+ */
+public interface ProjectListVersionView {
+    long getProjectCount();
+    Instant getProjectsUpdatedAt();
+    Instant getTasksUpdatedAt();
+    Long getTaskCount();
+}
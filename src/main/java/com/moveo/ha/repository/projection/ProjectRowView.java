@@ -0,0 +1,18 @@
+package com.moveo.ha.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * Project columns as returned by {@code UPDATE ... RETURNING}, without loading the entity.
+ */
+public interface ProjectRowView {
+    Long getId();
+    String getName();
+    String getDescription();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+    Long getVersion();
+
+    /** Name before the update; task responses embed it. */
+    String getPreviousName();
+}
@@ -0,0 +1,17 @@
+package com.moveo.ha.repository.projection;
+
+import com.moveo.ha.enums.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Task summary row tagged with its owning project, used to embed tasks into project responses
+ * for a whole page of projects with a single query.
+ */
+public interface ProjectTaskSummaryView {
+    Long getProjectId();
+    Long getId();
+    String getTitle();
+    TaskStatus getStatus();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.moveo.ha.repository.projection;
+
+import java.time.Instant;
+
+/**
+ * What task listings of one project (or of all tasks) depend on, for conditional GETs: the latest change of a
+ * task and of its project summary, and the task count (deletes leave no timestamp behind).
+ */
+public interface TaskListVersionView {
+    Instant getTasksUpdatedAt();
+    Instant getProjectsUpdatedAt();
+    Long getTaskCount();
+}
@@ -0,0 +1,25 @@
+package com.moveo.ha.repository.projection;
+
+import com.moveo.ha.enums.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Task row with its project summary as returned by {@code UPDATE/DELETE ... RETURNING} or read from
+ * {@code tasks_archive}, without loading entities.
+ */
+public interface TaskRowView {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    TaskStatus getStatus();
+    Instant getCreatedAt();
+    Instant getUpdatedAt();
+    Long getVersion();
+    Long getProjectId();
+    String getProjectName();
+    Instant getProjectUpdatedAt();
+
+    /** Project the task belonged to before the statement; differs from {@link #getProjectId()} after a move. */
+    Long getPreviousProjectId();
+}
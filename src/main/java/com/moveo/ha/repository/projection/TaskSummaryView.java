@@ -0,0 +1,15 @@
+package com.moveo.ha.repository.projection;
+
+import com.moveo.ha.enums.TaskStatus;
+
+import java.time.Instant;
+
+/**
+ * Task summary row read by native queries (e.g. full-text search) without loading the entity.
+ */
+public interface TaskSummaryView {
+    Long getId();
+    String getTitle();
+    TaskStatus getStatus();
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,7 @@
+package com.moveo.ha.service;
+
+/**
+ * Published once a {@code PENDING} project deletion has been recorded; handled by
+ * {@link ProjectDeletionWorker} after the recording transaction commits.
+ */
+public record ProjectDeletionRequestedEvent(Long projectId) {}
@@ -0,0 +1,98 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.config.ProjectProperties;
+import com.moveo.ha.enums.ProjectDeletionStatus;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.ProjectDeletionRepository;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes large projects in the background.
+ * <p>
+ * Tasks are removed in bounded batches, each in its own short transaction, so no single
+ * statement holds row locks on (or writes WAL for) millions of rows. Archived tasks follow the
+ * same way (not counted as deleted tasks), and the project row itself goes last. Progress lives in {@code project_deletions}, which also lets unfinished
+ * deletions resume after a restart.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectDeletionWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectDeletionRepository projectDeletionRepository;
+    private final ProjectProperties projectProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ResponseCaches responseCaches;
+    private final EntityCacheEvictor cacheEvictor;
+
+    @Async
+    @TransactionalEventListener
+    public void onDeletionRequested(ProjectDeletionRequestedEvent event) {
+        run(event.projectId());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        var unfinished = projectDeletionRepository.findByStatusIn(
+                List.of(ProjectDeletionStatus.PENDING, ProjectDeletionStatus.RUNNING));
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} unfinished project deletion(s)", unfinished.size());
+        }
+        unfinished.forEach(d -> run(d.getProjectId()));
+    }
+
+    void run(Long projectId) {
+        var batchSize = projectProperties.deleteBatchSize();
+        log.info("Deleting project id={} in batches of {} ...", projectId, batchSize);
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    projectDeletionRepository.updateStatus(projectId, ProjectDeletionStatus.RUNNING, null, Instant.now()));
+
+            int deleted;
+            do {
+                deleted = transactionTemplate.execute(tx -> {
+                    var ids = taskRepository.deleteBatchByProjectId(projectId, batchSize);
+                    cacheEvictor.evictTasks(ids);
+                    cacheEvictor.evictProjectTasks(List.of(projectId));
+                    responseCaches.evictTasks(ids);
+                    projectDeletionRepository.addDeletedTasks(projectId, ids.size(), Instant.now());
+                    return ids.size();
+                });
+            } while (deleted == batchSize);
+
+            do {
+                deleted = transactionTemplate.execute(tx ->
+                        taskRepository.deleteArchivedBatchByProjectId(projectId, batchSize));
+            } while (deleted == batchSize);
+
+            transactionTemplate.executeWithoutResult(tx -> {
+                projectRepository.deleteByIdCascading(projectId);
+                responseCaches.evictProject(projectId);
+                projectDeletionRepository.updateStatus(projectId, ProjectDeletionStatus.DONE, null, Instant.now());
+            });
+            log.info("Deleted project id={}", projectId);
+        } catch (RuntimeException e) {
+            log.error("Deletion of project id={} failed", projectId, e);
+            var error = String.valueOf(e.getMessage());
+            transactionTemplate.executeWithoutResult(tx -> projectDeletionRepository.updateStatus(projectId,
+                    ProjectDeletionStatus.FAILED, error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH)), Instant.now()));
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.moveo.ha.service;
 
+import com.moveo.ha.dto.Cursor;
+import com.moveo.ha.dto.project.ProjectDeletionDTO;
 import com.moveo.ha.dto.project.ProjectListDTO;
+import com.moveo.ha.dto.project.ProjectPatchDTO;
 import com.moveo.ha.dto.project.ProjectRequestDTO;
 import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Optional;
 
 /**
  * Application service for managing {@code Project} resources.
@@ -12,7 +21,8 @@ import org.springframework.data.domain.Pageable;
  * Responsibilities:
  * <ul>
  *   <li>Create and update project data</li>
- *   <li>Retrieve single projects and paged lists</li>
+ *   <li>Retrieve single projects and paged lists (offset or cursor based)</li>
+ *   <li>Report per-status task counts of a project</li>
  *   <li>Delete projects and return a snapshot of deleted data</li>
  * </ul>
  */
@@ -30,12 +40,29 @@ public interface ProjectService {
     /**
      * Update an existing project by id.
      *
-     * @param id      project id
-     * @param request DTO with updated fields
+     * @param id              project id
+     * @param request         DTO with updated fields
+     * @param expectedVersion {@code version} the client last saw ({@code If-Match}); {@code null} for an
+     *                        unconditional update
      * @return updated project as DTO
-     * @throws NotFoundException if the project does not exist
+     * @throws NotFoundException           if the project does not exist
+     * @throws PreconditionFailedException if the project's version is not {@code expectedVersion}
+     */
+    ProjectResponseDTO updateProjectById(Long id, ProjectRequestDTO request, Long expectedVersion);
+
+    /**
+     * Partially update a project: only the fields present in {@code patch} change, in a single
+     * {@code UPDATE ... RETURNING}; nothing is written (and the version kept) if no value differs.
+     *
+     * @param id              project id
+     * @param patch           fields to change
+     * @param expectedVersion {@code version} the client last saw ({@code If-Match}); {@code null} for an
+     *                        unconditional update
+     * @return updated project as DTO
+     * @throws NotFoundException           if the project does not exist
+     * @throws PreconditionFailedException if the project's version is not {@code expectedVersion}
      */
-    ProjectResponseDTO updateProjectById(Long id, ProjectRequestDTO request);
+    ProjectResponseDTO patchProjectById(Long id, ProjectPatchDTO patch, Long expectedVersion);
 
     /**
      * Get a single project by id.
@@ -46,6 +73,14 @@ public interface ProjectService {
      */
     ProjectResponseDTO getProjectById(Long id);
 
+    /**
+     * Version of every project listing, checked before the listing is queried: the project count, the latest
+     * project and task {@code updated_at} and the task count.
+     *
+     * @return opaque version, unchanged as long as no project or task was written
+     */
+    String getProjectListVersion();
+
     /**
      * Get a paginated list of projects.
      *
@@ -55,6 +90,68 @@ public interface ProjectService {
      */
     ProjectListDTO getPageOfProjects(Pageable pageable);
 
+    /**
+     * Get a page of projects without counting them.
+     * <p>Fetches one row past the page to fill {@code last}; totals are left {@code null}.</p>
+     *
+     * @param pageable pagination and sorting parameters
+     * @return {@link ProjectListDTO} containing the current page items
+     * @throws BadRequestException if a page past the first one is empty
+     */
+    ProjectListDTO getSliceOfProjects(Pageable pageable);
+
+    /**
+     * Get a page of projects with approximate totals.
+     * <p>Same as {@link #getSliceOfProjects(Pageable)}, with totals taken from planner statistics
+     * (or a briefly cached exact count on small tables) instead of {@code COUNT(*)}.</p>
+     *
+     * @param pageable pagination and sorting parameters
+     * @return {@link ProjectListDTO} with {@code totalEstimated = true}
+     * @throws BadRequestException if a page past the first one is empty
+     */
+    ProjectListDTO getEstimatedPageOfProjects(Pageable pageable);
+
+    /**
+     * Get a window of projects using keyset (cursor) pagination.
+     * Seeks past {@code after} on {@code (sortBy, id)} and does not compute totals.
+     *
+     * @param sort  single-field sort; {@code id} is appended as tiebreaker
+     * @param size  max number of projects to return
+     * @param after position to continue from, or {@code null} for the first window
+     * @return page DTO with {@code nextCursor} set while more projects follow
+     * @throws BadRequestException if the cursor is malformed
+     */
+    ProjectListDTO getWindowOfProjects(Sort sort, int size, Cursor after);
+
+    /**
+     * Hand deletion of a large project over to a background worker.
+     * Projects with more than {@code moveo.projects.async-delete-threshold} tasks are recorded as a
+     * {@code PENDING} deletion; smaller (or missing) projects are left to {@link #deleteProjectById(Long)}.
+     *
+     * @param id project id
+     * @return the scheduled (or already running) deletion, empty if the project should be deleted inline
+     */
+    Optional<ProjectDeletionDTO> scheduleDeletionIfLarge(Long id);
+
+    /**
+     * Get the number of tasks per status of a project.
+     * <p>Read from {@code project_task_stats} (one primary-key lookup), not by counting tasks.</p>
+     *
+     * @param id project id
+     * @return task counts; all zero for a project without tasks
+     * @throws NotFoundException if the project does not exist
+     */
+    ProjectTaskStatsDTO getTaskStats(Long id);
+
+    /**
+     * Get the progress of a background project deletion.
+     *
+     * @param projectId project id
+     * @return deletion status DTO
+     * @throws NotFoundException if no deletion was ever scheduled for the project
+     */
+    ProjectDeletionDTO getDeletion(Long projectId);
+
     /**
      * Delete a project by id and return a snapshot of what was deleted.
      *
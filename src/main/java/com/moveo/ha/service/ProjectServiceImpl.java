@@ -1,18 +1,45 @@
 package com.moveo.ha.service;
 
+import com.moveo.ha.config.ProjectProperties;
+import com.moveo.ha.dto.Cursor;
+import com.moveo.ha.dto.ResourceVersion;
+import com.moveo.ha.dto.project.ProjectDeletionDTO;
 import com.moveo.ha.dto.project.ProjectListDTO;
+import com.moveo.ha.dto.project.ProjectPatchDTO;
 import com.moveo.ha.dto.project.ProjectRequestDTO;
 import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.entity.ProjectDeletion;
+import com.moveo.ha.entity.ProjectTaskStats;
+import com.moveo.ha.enums.ProjectDeletionStatus;
 import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import com.moveo.ha.mapper.ProjectMapper;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.KeysetSpecifications;
+import com.moveo.ha.repository.ProjectDeletionRepository;
 import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.ProjectTaskStatsRepository;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.projection.ProjectTaskSummaryView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 /**
  * {@inheritDoc}
  */
@@ -23,44 +50,50 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProjectServiceImpl implements ProjectService {
 
     private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
     private final ProjectMapper projectMapper;
+    private final ProjectProperties projectProperties;
+    private final RowCountEstimator rowCountEstimator;
+    private final ProjectDeletionRepository projectDeletionRepository;
+    private final ProjectTaskStatsRepository projectTaskStatsRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ResponseCaches responseCaches;
+    private final EntityCacheEvictor cacheEvictor;
 
     /** {@inheritDoc} */
     @Override
     public ProjectResponseDTO createProject(ProjectRequestDTO request) {
         log.info("Creating project name='{}'", request.name());
         var saved = projectRepository.save(projectMapper.toEntity(request));
-        var dto = projectMapper.toResponse(saved);
+        var dto = projectMapper.toResponse(saved, List.of(), ProjectTaskStatsDTO.EMPTY);
         log.info("Created project id={}, name='{}'", dto.id(), dto.name());
         return dto;
     }
 
     /** {@inheritDoc} */
     @Override
-    public ProjectResponseDTO updateProjectById(Long id, ProjectRequestDTO request) {
+    public ProjectResponseDTO updateProjectById(Long id, ProjectRequestDTO request, Long expectedVersion) {
         log.info("Updating project id={} ...", id);
-        var p = projectRepository.findById(id).orElseThrow(() -> {
-            log.warn("Update failed: project id={} not found", id);
-            return new NotFoundException("Project %d not found".formatted(id));
-        });
-
-        p.setName(request.name());
-        p.setDescription(request.description());
+        return applyUpdate(id, expectedVersion, request.name(), request.description());
+    }
 
-        var updated = projectRepository.save(p);
-        var dto = projectMapper.toResponse(updated);
-        log.info("Updated project id={} -> name='{}'", id, dto.name());
-        return dto;
+    /** {@inheritDoc} */
+    @Override
+    public ProjectResponseDTO patchProjectById(Long id, ProjectPatchDTO patch, Long expectedVersion) {
+        log.info("Patching project id={} ...", id);
+        return applyUpdate(id, expectedVersion, patch.name(), patch.description());
     }
 
     /** {@inheritDoc} */
     @Override
-    @Transactional(readOnly = true)
+    // Fills the response cache, so it reads from the primary (not read-only), never from a lagging replica.
+    @Transactional
+    @Cacheable(cacheNames = ResponseCaches.PROJECTS, key = "#id", sync = true)
     public ProjectResponseDTO getProjectById(Long id) {
         log.debug("Fetching project id={}", id);
-        return projectRepository.findById(id)
-                .map(entity -> {
-                    var dto = projectMapper.toResponse(entity);
+        return projectRepository.findResponseById(id)
+                .map(row -> {
+                    var dto = withEmbeddedTasks(row);
                     log.debug("Fetched project id={} (name='{}')", id, dto.name());
                     return dto;
                 })
@@ -70,6 +103,15 @@ public class ProjectServiceImpl implements ProjectService {
                 });
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public String getProjectListVersion() {
+        var v = projectRepository.findListVersion();
+        return ResourceVersion.etag(Arrays.asList(
+                v.getProjectCount(), v.getProjectsUpdatedAt(), v.getTasksUpdatedAt(), v.getTaskCount()));
+    }
+
     /** {@inheritDoc} */
     @Override
     @Transactional(readOnly = true)
@@ -77,23 +119,19 @@ public class ProjectServiceImpl implements ProjectService {
         log.debug("Listing projects page={} size={} sort={}",
                 pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
 
-        var page = projectRepository.findAll(pageable).map(projectMapper::toResponse);
-
-        if (pageable.getPageNumber() >= page.getTotalPages() && page.getTotalPages() > 0) {
+        // Count first: an out-of-range page is rejected without running a deep OFFSET scan.
+        var total = projectRepository.count();
+        var totalPages = totalPages(total, pageable.getPageSize());
+        if (pageable.getPageNumber() >= totalPages && totalPages > 0) {
             throw new BadRequestException("This page does not exist.");
-
         }
 
-        var sort = pageable.getSort();
-        String sortBy = "id";
-        String sortDir = "asc";
-        var it = sort.iterator();
-        if (it.hasNext()) {
-            var order = it.next();
-            sortBy = order.getProperty();
-            sortDir = order.getDirection().name().toLowerCase();
-        }
+        var content = total > pageable.getOffset()
+                ? projectRepository.findResponses(null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                : List.<ProjectResponseDTO>of();
+        var page = new PageImpl<>(content, pageable, total);
 
+        var order = primaryOrder(pageable.getSort());
         var dto = ProjectListDTO.builder()
                 .totalProjects(page.getTotalElements())
                 .pageNumber(page.getNumber())
@@ -101,9 +139,9 @@ public class ProjectServiceImpl implements ProjectService {
                 .totalPages(page.getTotalPages())
                 .first(page.isFirst())
                 .last(page.isLast())
-                .sortBy(sortBy)
-                .sortDir(sortDir)
-                .projects(page.getContent())
+                .sortBy(order.getProperty())
+                .sortDir(order.getDirection().name().toLowerCase())
+                .projects(withEmbeddedTasks(page.getContent()))
                 .build();
 
         log.debug("Listed projects: totalElements={} totalPages={}",
@@ -111,18 +149,249 @@ public class ProjectServiceImpl implements ProjectService {
         return dto;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectListDTO getSliceOfProjects(Pageable pageable) {
+        log.debug("Listing projects (slice) page={} size={} sort={}",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+
+        var rows = projectRepository.findResponses(null, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        var hasNext = rows.size() > pageable.getPageSize();
+        var slice = new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+
+        if (!slice.hasContent() && !slice.isFirst()) {
+            throw new BadRequestException("This page does not exist.");
+        }
+
+        var order = primaryOrder(pageable.getSort());
+        var dto = ProjectListDTO.builder()
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .sortBy(order.getProperty())
+                .sortDir(order.getDirection().name().toLowerCase())
+                .projects(withEmbeddedTasks(slice.getContent()))
+                .build();
+
+        log.debug("Listed projects (slice): returned={} hasNext={}", slice.getNumberOfElements(), slice.hasNext());
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectListDTO getEstimatedPageOfProjects(Pageable pageable) {
+        var dto = getSliceOfProjects(pageable);
+
+        // On the last page the total is known exactly; elsewhere it is at least what has been seen.
+        var seen = pageable.getOffset() + dto.getProjects().size();
+        var total = dto.isLast()
+                ? seen
+                : Math.max(seen + 1, rowCountEstimator.estimate("projects", projectRepository::estimateCount, projectRepository::count));
+
+        dto.setTotalProjects(total);
+        dto.setTotalPages(totalPages(total, pageable.getPageSize()));
+        dto.setTotalEstimated(!dto.isLast());
+
+        log.debug("Listed projects (estimated): totalElements~{} totalPages~{}", dto.getTotalProjects(), dto.getTotalPages());
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectListDTO getWindowOfProjects(Sort sort, int size, Cursor after) {
+        log.debug("Listing projects by cursor size={} sort={} after={}", size, sort, after);
+
+        var order = sort.iterator().next();
+        var sortBy = order.getProperty();
+        var sortDir = order.getDirection().name().toLowerCase();
+
+        var rows = projectRepository.findResponses(KeysetSpecifications.after(after),
+                KeysetSpecifications.withIdTiebreaker(sort), 0, size + 1);
+
+        var hasNext = rows.size() > size;
+        var window = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            var last = window.getLast();
+            nextCursor = Cursor.after(sortBy, sortDir, last.id(), sortValue(last, sortBy)).encode();
+        }
+
+        var dto = ProjectListDTO.builder()
+                .pageNumber(0)
+                .pageSize(size)
+                .first(after == null)
+                .last(!hasNext)
+                .sortBy(sortBy)
+                .sortDir(sortDir)
+                .nextCursor(nextCursor)
+                .projects(withEmbeddedTasks(window))
+                .build();
+
+        log.debug("Listed projects by cursor: returned={} hasNext={}", window.size(), hasNext);
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ProjectDeletionDTO> scheduleDeletionIfLarge(Long id) {
+        var existing = projectDeletionRepository.findById(id);
+        if (existing.isPresent() && existing.get().getStatus().isActive()) {
+            log.debug("Deletion of project id={} already {}", id, existing.get().getStatus());
+            return existing.map(projectMapper::toDeletionResponse);
+        }
+        if (!projectRepository.existsById(id)) {
+            return Optional.empty();
+        }
+
+        var totalTasks = taskStats(id).total();
+        if (totalTasks <= projectProperties.asyncDeleteThreshold()) {
+            return Optional.empty();
+        }
+
+        var deletion = existing.orElseGet(() -> ProjectDeletion.builder().projectId(id).build());
+        deletion.setStatus(ProjectDeletionStatus.PENDING);
+        deletion.setTotalTasks(totalTasks);
+        deletion.setDeletedTasks(0);
+        deletion.setError(null);
+        var saved = projectDeletionRepository.save(deletion);
+        eventPublisher.publishEvent(new ProjectDeletionRequestedEvent(id));
+
+        log.info("Scheduled background deletion of project id={} ({} tasks)", id, totalTasks);
+        return Optional.of(projectMapper.toDeletionResponse(saved));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectTaskStatsDTO getTaskStats(Long id) {
+        if (!projectRepository.existsById(id)) {
+            log.warn("Stats failed: project id={} not found", id);
+            throw new NotFoundException("Project %d not found".formatted(id));
+        }
+        return taskStats(id);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public ProjectDeletionDTO getDeletion(Long projectId) {
+        return projectDeletionRepository.findById(projectId)
+                .map(projectMapper::toDeletionResponse)
+                .orElseThrow(() -> new NotFoundException("Deletion of project %d not found".formatted(projectId)));
+    }
+
     /** {@inheritDoc} */
     @Override
     public ProjectResponseDTO deleteProjectById(Long id) {
         log.info("Deleting project id={} ...", id);
-        var p = projectRepository.findById(id).orElseThrow(() -> {
-            log.warn("Delete failed: project id={} not found", id);
-            return new NotFoundException("Project %d not found".formatted(id));
-        });
+        var dto = projectRepository.findResponseById(id)
+                .map(this::withEmbeddedTasks)
+                .orElseThrow(() -> {
+                    log.warn("Delete failed: project id={} not found", id);
+                    return new NotFoundException("Project %d not found".formatted(id));
+                });
 
-        var dto = projectMapper.toResponse(p);
-        projectRepository.delete(p);
+        // Ids first: the cascade removes the tasks without telling the response cache which.
+        var taskIds = taskRepository.findIdsByProjectId(id);
+        // Single DELETE on projects; fk_tasks_project (ON DELETE CASCADE) removes the tasks in the database.
+        projectRepository.deleteByIdCascading(id);
+        responseCaches.evictProject(id);
+        responseCaches.evictTasks(taskIds);
         log.info("Deleted project id={} (name='{}')", id, dto.name());
         return dto;
     }
+
+    /**
+     * One {@code UPDATE ... RETURNING} round trip. Only when it changes nothing is the project read again, to
+     * tell a missing project (404) and a stale {@code If-Match} (412) from a no-op update. Only a rename
+     * touches task responses, and then only those of this project.
+     */
+    private ProjectResponseDTO applyUpdate(Long id, Long expectedVersion, String name, String description) {
+        var row = projectRepository.updateReturning(id, expectedVersion, name, description);
+        if (row.isEmpty()) {
+            return unchanged(id, expectedVersion);
+        }
+
+        var dto = withEmbeddedTasks(projectMapper.toResponse(row.get()));
+        cacheEvictor.evictProjects(List.of(id));
+        responseCaches.putProject(dto);
+        if (!Objects.equals(row.get().getPreviousName(), dto.name())) {
+            responseCaches.evictTasks(taskRepository.findIdsByProjectId(id));
+        }
+        log.info("Updated project id={} -> name='{}', version={}", id, dto.name(), dto.version());
+        return dto;
+    }
+
+    private ProjectResponseDTO unchanged(Long id, Long expectedVersion) {
+        var current = projectRepository.findVersionById(id).orElseThrow(() -> {
+            log.warn("Update failed: project id={} not found", id);
+            return new NotFoundException("Project %d not found".formatted(id));
+        });
+        if (expectedVersion != null && !current.equals(expectedVersion)) {
+            log.warn("Update failed: project id={} is at version {}, If-Match expected {}",
+                    id, current, expectedVersion);
+            throw new PreconditionFailedException("Project %d has version %d, not %d"
+                    .formatted(id, current, expectedVersion));
+        }
+        log.info("Project id={} already up to date, nothing written", id);
+        return projectRepository.findResponseById(id)
+                .map(this::withEmbeddedTasks)
+                .orElseThrow(() -> new NotFoundException("Project %d not found".formatted(id)));
+    }
+
+    private static Sort.Order primaryOrder(Sort sort) {
+        var it = sort.iterator();
+        return it.hasNext() ? it.next() : Sort.Order.asc("id");
+    }
+
+    private static int totalPages(long total, int pageSize) {
+        return (int) ((total + pageSize - 1) / pageSize);
+    }
+
+    private static Object sortValue(ProjectResponseDTO project, String sortBy) {
+        return switch (sortBy) {
+            case "name" -> project.name();
+            case "createdAt" -> project.createdAt();
+            case "updatedAt" -> project.updatedAt();
+            default -> project.id();
+        };
+    }
+
+    private ProjectTaskStatsDTO taskStats(Long projectId) {
+        return projectTaskStatsRepository.findById(projectId)
+                .map(projectMapper::toStats)
+                .orElse(ProjectTaskStatsDTO.EMPTY);
+    }
+
+    private ProjectResponseDTO withEmbeddedTasks(ProjectResponseDTO project) {
+        return withEmbeddedTasks(List.of(project)).getFirst();
+    }
+
+    /**
+     * Attaches a bounded number of embedded task summaries to project responses.
+     * <p>
+     * Uses two queries for the whole batch (capped summaries + per-project stats rows) instead of
+     * initializing every {@code Project.tasks} collection or counting tasks.
+     */
+    private List<ProjectResponseDTO> withEmbeddedTasks(List<ProjectResponseDTO> projects) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+
+        var ids = projects.stream().map(ProjectResponseDTO::id).toList();
+        var stats = projectTaskStatsRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ProjectTaskStats::getProjectId, projectMapper::toStats));
+        var summaries = taskRepository.findTaskSummariesByProjectIds(ids, projectProperties.embeddedTasksLimit())
+                .stream()
+                .collect(Collectors.groupingBy(ProjectTaskSummaryView::getProjectId,
+                        Collectors.mapping(v -> projectMapper.toTaskSummary(v), Collectors.toList())));
+
+        return projects.stream()
+                .map(p -> p.withTasks(summaries.getOrDefault(p.id(), List.of()), stats.getOrDefault(p.id(), ProjectTaskStatsDTO.EMPTY)))
+                .toList();
+    }
 }
@@ -0,0 +1,57 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.config.ProjectStatsProperties;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.ProjectTaskStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repairs drift in {@code project_task_stats} (e.g. after manual SQL with triggers disabled).
+ * <p>
+ * Walks all projects in id order, one short transaction per batch: lock the batch's stats rows,
+ * then recount. Writers of those projects wait for the lock in their trigger and apply their delta
+ * on top of the recounted value, so the repair never races a concurrent write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProjectTaskStatsReconciler {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectTaskStatsRepository projectTaskStatsRepository;
+    private final ProjectStatsProperties statsProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${moveo.projects.stats.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        var batchSize = statsProperties.reconcileBatchSize();
+        log.info("Reconciling project task stats in batches of {} ...", batchSize);
+
+        long afterId = 0;
+        long checked = 0;
+        long repaired = 0;
+        while (true) {
+            var ids = projectRepository.findIdsAfter(afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            repaired += transactionTemplate.execute(tx -> {
+                projectTaskStatsRepository.insertMissing(ids);
+                projectTaskStatsRepository.lockByProjectIds(ids);
+                var fixed = projectTaskStatsRepository.recount(ids);
+                if (!fixed.isEmpty()) {
+                    log.warn("Repaired drifted task stats of projects {}", fixed);
+                }
+                return fixed.size();
+            });
+            checked += ids.size();
+            afterId = ids.getLast();
+        }
+
+        log.info("Reconciled task stats of {} projects, {} repaired", checked, repaired);
+    }
+}
@@ -0,0 +1,65 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Write-side access to the task / project response caches.
+ * <p>
+ * A project response embeds task summaries and per-status counts, and a task response embeds its
+ * project's name, so writes to one side also invalidate the other. Called inside the writing
+ * transaction; the caches apply the change after commit.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseCaches {
+
+    public static final String TASKS = "taskResponses";
+    public static final String PROJECTS = "projectResponses";
+
+    private final CacheManager cacheManager;
+
+    public void putTask(TaskResponseDTO task) {
+        tasks().put(task.id(), task);
+    }
+
+    public void evictTask(Long id) {
+        tasks().evict(id);
+    }
+
+    public void evictTasks(Collection<Long> ids) {
+        ids.forEach(tasks()::evict);
+    }
+
+    public void putProject(ProjectResponseDTO project) {
+        projects().put(project.id(), project);
+    }
+
+    public void evictProject(Long id) {
+        projects().evict(id);
+    }
+
+    public void evictProjects(Collection<Long> ids) {
+        ids.forEach(projects()::evict);
+    }
+
+    /** After task writes whose projects are not known. */
+    public void evictAllProjects() {
+        projects().clear();
+    }
+
+    private Cache tasks() {
+        return Objects.requireNonNull(cacheManager.getCache(TASKS));
+    }
+
+    private Cache projects() {
+        return Objects.requireNonNull(cacheManager.getCache(PROJECTS));
+    }
+}
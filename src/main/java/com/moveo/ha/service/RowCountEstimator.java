@@ -0,0 +1,52 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.config.PagingProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Cheap total-row estimates for unfiltered listings.
+ * <p>
+ * Large tables report PostgreSQL planner statistics ({@code pg_class.reltuples}) as is.
+ * Small or never analyzed tables (reltuples is {@code -1} or coarse there) fall back to an exact
+ * count, which is cheap at that size and is reused for {@code moveo.paging.exact-count-ttl}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RowCountEstimator {
+
+    private final PagingProperties pagingProperties;
+    private final Map<String, CachedCount> exactCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param table             cache key, normally the table name
+     * @param plannerEstimate   reads {@code reltuples} for the table
+     * @param exactCount        exact {@code COUNT(*)} fallback
+     * @return estimated number of rows, never negative
+     */
+    public long estimate(String table, LongSupplier plannerEstimate, LongSupplier exactCount) {
+        var estimate = plannerEstimate.getAsLong();
+        if (estimate >= pagingProperties.exactCountBelow()) {
+            return estimate;
+        }
+
+        var now = System.nanoTime();
+        var cached = exactCounts.get(table);
+        if (cached != null && now - cached.takenAt() < pagingProperties.exactCountTtl().toNanos()) {
+            return cached.count();
+        }
+
+        var count = exactCount.getAsLong();
+        exactCounts.put(table, new CachedCount(count, now));
+        log.debug("Exact count for '{}' refreshed: {} (planner estimate {})", table, count, estimate);
+        return count;
+    }
+
+    private record CachedCount(long count, long takenAt) {}
+}
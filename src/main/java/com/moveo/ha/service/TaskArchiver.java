@@ -0,0 +1,70 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.config.TaskArchiveProperties;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.projection.ArchivedTaskView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Moves tasks that have been {@code DONE} for longer than {@code moveo.tasks.archive.done-for} from
+ * {@code tasks} to {@code tasks_archive}, so the live table and its indexes only hold current work.
+ * <p>
+ * Each batch is one {@code DELETE ... INSERT} statement in its own short transaction, so no run holds
+ * locks on (or writes WAL for) more than {@code batch-size} rows at once. The cutoff is fixed when the
+ * run starts; tasks finished meanwhile wait for the next run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TaskArchiver {
+
+    private final TaskRepository taskRepository;
+    private final TaskArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityCacheEvictor cacheEvictor;
+    private final ResponseCaches responseCaches;
+
+    @Scheduled(cron = "${moveo.tasks.archive.cron:0 0 4 * * *}")
+    public void archiveDone() {
+        var cutoff = Instant.now().minus(archiveProperties.doneFor());
+        var batchSize = archiveProperties.batchSize();
+        log.info("Archiving tasks DONE before {} in batches of {} ...", cutoff, batchSize);
+
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(tx -> {
+                var batch = taskRepository.archiveDoneBefore(cutoff, batchSize);
+                evict(batch);
+                return batch.size();
+            });
+            archived += moved;
+        } while (moved == batchSize);
+
+        log.info("Archived {} tasks", archived);
+    }
+
+    private void evict(List<ArchivedTaskView> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        var taskIds = batch.stream().map(ArchivedTaskView::getId).toList();
+        Set<Long> projectIds = new TreeSet<>();
+        batch.forEach(t -> projectIds.add(t.getProjectId()));
+
+        cacheEvictor.evictTasks(taskIds);
+        cacheEvictor.evictProjectTasks(projectIds);
+        responseCaches.evictTasks(taskIds);
+        responseCaches.evictProjects(projectIds);
+    }
+}
@@ -0,0 +1,35 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.error.NotFoundException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Bulk reads of tasks for reporting.
+ */
+public interface TaskExportService {
+
+    /**
+     * Check that an export of {@code projectId} can start. Called before the response is committed, since
+     * a streamed body can no longer turn into an error status.
+     *
+     * @param projectId project to export, or {@code null} for all tasks (always valid)
+     * @throws NotFoundException if {@code projectId} is given and the project does not exist
+     */
+    void requireExportable(Long projectId);
+
+    /**
+     * Stream tasks (ordered by id) to {@code out} as they are read from a database cursor.
+     * <p>Memory use does not depend on the number of exported rows.</p>
+     *
+     * @param projectId only tasks of this project (checked by {@link #requireExportable}), or {@code null}
+     *                  for all tasks
+     * @param format    NDJSON ({@code TaskResponseDTO} per line) or CSV with a header row
+     * @param out       destination; closed when the export completes
+     * @return number of exported tasks
+     * @throws IOException if writing to {@code out} fails (e.g. the client disconnected)
+     */
+    long exportTasks(Long projectId, FileFormat format, OutputStream out) throws IOException;
+}
@@ -0,0 +1,107 @@
+package com.moveo.ha.service;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.moveo.ha.config.TaskExportProperties;
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.entity.Task;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.enums.TaskStatus;
+import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+
+/**
+ * {@inheritDoc}
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class TaskExportServiceImpl implements TaskExportService {
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExportProperties exportProperties;
+
+    /** {@inheritDoc} */
+    @Override
+    public void requireExportable(Long projectId) {
+        if (projectId != null && !projectRepository.existsById(projectId)) {
+            log.warn("Export failed: project id={} not found", projectId);
+            throw new NotFoundException("Project %d not found".formatted(projectId));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long exportTasks(Long projectId, FileFormat format, OutputStream out) throws IOException {
+        log.info("Exporting tasks projectId={} as {} (fetchSize={})", projectId, format, exportProperties.fetchSize());
+
+        Specification<Task> spec = projectId == null
+                ? null
+                : (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+        var writer = writer(format);
+
+        long exported = 0;
+        try (var rows = taskRepository.streamResponses(spec, Sort.by("id"), exportProperties.fetchSize());
+             var generator = writer.createGenerator(out)) {
+            var it = rows.iterator();
+            while (it.hasNext()) {
+                var row = it.next();
+                writer.writeValue(generator, format == FileFormat.CSV ? CsvRow.of(row) : row);
+                exported++;
+            }
+        }
+
+        log.info("Exported {} tasks projectId={}", exported, projectId);
+        return exported;
+    }
+
+    /**
+     * Writers never flush per row; the generator's buffer is flushed as it fills and on close.
+     */
+    private ObjectWriter writer(FileFormat format) {
+        return switch (format) {
+            case NDJSON -> objectMapper.writerFor(TaskResponseDTO.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n");
+            case CSV -> CSV_MAPPER.writerFor(CsvRow.class)
+                    .with(CSV_MAPPER.schemaFor(CsvRow.class).withHeader())
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        };
+    }
+
+    /**
+     * Flat CSV shape of {@link TaskResponseDTO}; the project summary is reduced to id and name.
+     */
+    @JsonPropertyOrder({"id", "projectId", "projectName", "title", "description", "status", "createdAt", "updatedAt"})
+    record CsvRow(Long id, Long projectId, String projectName, String title, String description,
+                  TaskStatus status, Instant createdAt, Instant updatedAt) {
+
+        static CsvRow of(TaskResponseDTO task) {
+            return new CsvRow(task.id(), task.project().id(), task.project().name(), task.title(),
+                    task.description(), task.status(), task.createdAt(), task.updatedAt());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.moveo.ha.service;
+
+import com.moveo.ha.dto.task.TaskImportResultDTO;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.error.BadRequestException;
+
+import java.io.InputStream;
+
+/**
+ * Bulk loading of tasks from external sources (e.g. migrations from another tracker).
+ */
+public interface TaskImportService {
+
+    /**
+     * Stream-parse {@code body} and insert every valid row.
+     * <p>Rows are validated against the {@code TaskRequestDTO} constraints and the existence of their
+     * project; invalid rows are skipped and reported, valid ones are written in bounded chunks
+     * with {@code COPY}. The whole import runs in one transaction.</p>
+     *
+     * @param body   NDJSON (one task object per line) or CSV with a header row
+     *               ({@code projectId,title,description,status})
+     * @param format format of {@code body}
+     * @return accepted/rejected counts and the first rejected rows
+     * @throws BadRequestException if the input is not well-formed NDJSON/CSV (nothing is imported)
+     */
+    TaskImportResultDTO importTasks(InputStream body, FileFormat format);
+}
@@ -0,0 +1,182 @@
+package com.moveo.ha.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.moveo.ha.config.TaskImportProperties;
+import com.moveo.ha.dto.task.TaskImportResultDTO;
+import com.moveo.ha.dto.task.TaskRequestDTO;
+import com.moveo.ha.entity.Task;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.error.BadRequestException;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.TaskCopyRepository;
+import com.moveo.ha.repository.TaskRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@inheritDoc}
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class TaskImportServiceImpl implements TaskImportService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskCopyRepository taskCopyRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TaskImportProperties importProperties;
+    private final ResponseCaches responseCaches;
+
+    /** {@inheritDoc} */
+    @Override
+    public TaskImportResultDTO importTasks(InputStream body, FileFormat format) {
+        log.info("Importing tasks from {} (chunkSize={})", format, importProperties.chunkSize());
+
+        var run = new ImportRun(importProperties.maxReportedRejections());
+        var chunk = new ArrayList<PendingRow>(importProperties.chunkSize());
+
+        try (MappingIterator<TaskRequestDTO> rows = reader(format).readValues(body)) {
+            while (rows.hasNextValue()) {
+                var rowNumber = ++run.rows;
+                TaskRequestDTO dto;
+                try {
+                    dto = rows.nextValue();
+                } catch (JsonMappingException e) {
+                    run.reject(rowNumber, e.getOriginalMessage());
+                    continue;
+                }
+
+                var violations = validator.validate(dto);
+                if (!violations.isEmpty()) {
+                    run.reject(rowNumber, describe(violations));
+                    continue;
+                }
+
+                chunk.add(new PendingRow(rowNumber, dto));
+                if (chunk.size() == importProperties.chunkSize()) {
+                    flush(chunk, run);
+                }
+            }
+            flush(chunk, run);
+        } catch (JsonProcessingException e) {
+            log.warn("Import aborted: malformed {} at row {}: {}", format, run.rows, e.getOriginalMessage());
+            throw new BadRequestException("Malformed %s at row %d: %s".formatted(format, run.rows, e.getOriginalMessage()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (run.accepted > 0) {
+            responseCaches.evictProjects(run.knownProjects);
+        }
+        log.info("Imported tasks: rows={} accepted={} rejected={}", run.rows, run.accepted, run.rejected);
+        return run.result();
+    }
+
+    private ObjectReader reader(FileFormat format) {
+        return switch (format) {
+            case NDJSON -> objectMapper.readerFor(TaskRequestDTO.class);
+            case CSV -> CSV_MAPPER.readerFor(TaskRequestDTO.class).with(CsvSchema.emptySchema().withHeader());
+        };
+    }
+
+    /**
+     * Drop rows of unknown projects, reserve ids for the rest and send them with one {@code COPY}.
+     */
+    private void flush(List<PendingRow> chunk, ImportRun run) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        var unseen = chunk.stream()
+                .map(r -> r.dto().projectId())
+                .filter(id -> !run.knownProjects.contains(id))
+                .collect(Collectors.toSet());
+        if (!unseen.isEmpty()) {
+            run.knownProjects.addAll(projectRepository.findExistingIds(unseen));
+        }
+
+        var accepted = new ArrayList<TaskRequestDTO>(chunk.size());
+        for (var row : chunk) {
+            if (run.knownProjects.contains(row.dto().projectId())) {
+                accepted.add(row.dto());
+            } else {
+                run.reject(row.number(), "projectId: project %d not found".formatted(row.dto().projectId()));
+            }
+        }
+        chunk.clear();
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        var blocks = taskRepository.allocateIdBlocks(Math.ceilDiv(accepted.size(), Task.ID_ALLOCATION_SIZE));
+        var copyRows = new ArrayList<TaskCopyRepository.Row>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            var dto = accepted.get(i);
+            var id = blocks.get(i / Task.ID_ALLOCATION_SIZE) + i % Task.ID_ALLOCATION_SIZE;
+            copyRows.add(new TaskCopyRepository.Row(id, dto.projectId(), dto.title(), dto.description(), dto.status()));
+        }
+
+        run.accepted += taskCopyRepository.copyIn(copyRows, Instant.now());
+        log.debug("Import chunk written: {} rows (total accepted={})", copyRows.size(), run.accepted);
+    }
+
+    private static String describe(Set<ConstraintViolation<TaskRequestDTO>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private record PendingRow(long number, TaskRequestDTO dto) {}
+
+    private static final class ImportRun {
+        private final int maxReported;
+        private final Set<Long> knownProjects = new HashSet<>();
+        private final List<TaskImportResultDTO.Rejection> rejections = new ArrayList<>();
+        private long rows;
+        private long accepted;
+        private long rejected;
+
+        private ImportRun(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        private void reject(long row, String reason) {
+            rejected++;
+            if (rejections.size() < maxReported) {
+                rejections.add(new TaskImportResultDTO.Rejection(row, reason));
+            }
+        }
+
+        private TaskImportResultDTO result() {
+            rejections.sort(Comparator.comparingLong(TaskImportResultDTO.Rejection::row));
+            return new TaskImportResultDTO(accepted, rejected, List.copyOf(rejections));
+        }
+    }
+}
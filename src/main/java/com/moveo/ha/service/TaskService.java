@@ -1,11 +1,21 @@
 package com.moveo.ha.service;
 
+import com.moveo.ha.dto.Cursor;
+import com.moveo.ha.dto.task.TaskFilter;
 import com.moveo.ha.dto.task.TaskListDTO;
+import com.moveo.ha.dto.task.TaskPatchDTO;
 import com.moveo.ha.dto.task.TaskRequestDTO;
 import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.dto.task.TaskSearchResultDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateResultDTO;
 import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 /**
  * Application service for managing {@code Task} domain objects.
@@ -13,8 +23,11 @@ import org.springframework.data.domain.Pageable;
  * <p><b>Responsibilities</b>
  * <ul>
  *   <li>Create / update / delete a single task</li>
+ *   <li>Create a batch of tasks in one transaction</li>
+ *   <li>Change the status of many tasks at once</li>
  *   <li>Fetch a single task</li>
- *   <li>Fetch a paginated list of tasks</li>
+ *   <li>Fetch a filtered, paginated list of tasks (offset or cursor based)</li>
+ *   <li>Full-text search over task titles and descriptions</li>
  * </ul>
  */
 public interface TaskService {
@@ -28,18 +41,45 @@ public interface TaskService {
      */
     TaskResponseDTO createTask(TaskRequestDTO dto);
 
+    /**
+     * Create several tasks in one transaction.
+     * <p>Every referenced project is loaded once, and the inserts are sent as JDBC batches.</p>
+     *
+     * @param dtos request payloads, in order
+     * @return created task snapshots, in the same order
+     * @throws NotFoundException if any referenced project does not exist (nothing is created)
+     */
+    List<TaskResponseDTO> createTasks(List<TaskRequestDTO> dtos);
+
     /**
      * Update an existing task by its id.
      * <p>You may modify {@code title}, {@code description}, {@code status}, and optionally move
      * the task to another project via {@code projectId}.</p>
      *
-     * @param id  task id
-     * @param dto update payload
+     * @param id              task id
+     * @param dto             update payload
+     * @param expectedVersion {@code version} the client last saw ({@code If-Match}); {@code null} for an
+     *                        unconditional update
      * @return updated task snapshot
-     * @throws NotFoundException if the task with {@code id} does not exist,
-     *                           or if the target project {@code dto.projectId()} does not exist
+     * @throws NotFoundException           if the task with {@code id} does not exist,
+     *                                     or if the target project {@code dto.projectId()} does not exist
+     * @throws PreconditionFailedException if the task's version is not {@code expectedVersion}
      */
-    TaskResponseDTO updateTaskById(Long id, TaskRequestDTO dto);
+    TaskResponseDTO updateTaskById(Long id, TaskRequestDTO dto, Long expectedVersion);
+
+    /**
+     * Partially update a task: only the fields present in {@code patch} change, in a single
+     * {@code UPDATE ... RETURNING}; nothing is written (and the version kept) if no value differs.
+     *
+     * @param id              task id
+     * @param patch           fields to change; {@code projectId} moves the task
+     * @param expectedVersion {@code version} the client last saw ({@code If-Match}); {@code null} for an
+     *                        unconditional update
+     * @return updated task snapshot
+     * @throws NotFoundException           if the task or the target project does not exist
+     * @throws PreconditionFailedException if the task's version is not {@code expectedVersion}
+     */
+    TaskResponseDTO patchTaskById(Long id, TaskPatchDTO patch, Long expectedVersion);
 
     /**
      * Get a task by its id.
@@ -50,14 +90,98 @@ public interface TaskService {
      */
     TaskResponseDTO getTaskById(Long id);
 
+    /**
+     * Like {@link #getTaskById}, falling back to {@code tasks_archive} when the task is no longer live.
+     * Archived tasks are read-only snapshots in status {@code DONE}. Not served from the response cache.
+     *
+     * @param id task id
+     * @return live or archived task snapshot
+     * @throws NotFoundException if the task is neither live nor archived
+     */
+    TaskResponseDTO getTaskByIdIncludingArchived(Long id);
+
+    /**
+     * Version of the tasks a listing with {@code filter} can show, checked before the listing is queried:
+     * the latest task and project {@code updated_at} and the task count, of the filtered project only when
+     * there is one. The other filters are not applied, so any change within that scope moves the version.
+     *
+     * @param filter listing restriction; only its project is used
+     * @return opaque version, unchanged as long as no task or project in scope was written
+     */
+    String getTaskListVersion(TaskFilter filter);
+
     /**
      * Get a paginated list of tasks with paging metadata.
      *
+     * @param filter   restriction on project, status and time ranges; empty for all tasks
      * @param pageable pagination and sorting parameters
      * @return {@link TaskListDTO} containing metadata and current page items
      * @throws BadRequestException if the requested page index is out of range
      */
-    TaskListDTO getPageOfTasks(Pageable pageable);
+    TaskListDTO getPageOfTasks(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Get a page of tasks without counting them.
+     * <p>Fetches one row past the page to fill {@code last}; totals are left {@code null}.</p>
+     *
+     * @param filter   restriction on project, status and time ranges; empty for all tasks
+     * @param pageable pagination and sorting parameters
+     * @return {@link TaskListDTO} containing the current page items
+     * @throws BadRequestException if a page past the first one is empty
+     */
+    TaskListDTO getSliceOfTasks(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Get a page of tasks with approximate totals.
+     * <p>Same as {@link #getSliceOfTasks(TaskFilter, Pageable)}, with totals taken from planner statistics
+     * (or a briefly cached exact count on small tables) instead of {@code COUNT(*)}. Planner statistics
+     * describe the whole table, so filtered listings are counted exactly instead.</p>
+     *
+     * @param filter   restriction on project, status and time ranges; empty for all tasks
+     * @param pageable pagination and sorting parameters
+     * @return {@link TaskListDTO} with {@code totalEstimated = true} while the total is approximate
+     * @throws BadRequestException if a page past the first one is empty
+     */
+    TaskListDTO getEstimatedPageOfTasks(TaskFilter filter, Pageable pageable);
+
+    /**
+     * Get a window of tasks using keyset (cursor) pagination.
+     * <p>Seeks past {@code after} on {@code (sortBy, id)} instead of skipping rows,
+     * and does not compute totals.</p>
+     *
+     * @param filter restriction on project, status and time ranges; empty for all tasks
+     * @param sort   single-field sort; {@code id} is appended as tiebreaker
+     * @param size   max number of tasks to return
+     * @param after  position to continue from, or {@code null} for the first window
+     * @return {@link TaskListDTO} with {@code nextCursor} set while more tasks follow
+     * @throws BadRequestException if the cursor is malformed
+     */
+    TaskListDTO getWindowOfTasks(TaskFilter filter, Sort sort, int size, Cursor after);
+
+    /**
+     * Ranked full-text search over task titles and descriptions.
+     * <p>Served by the GIN index on {@code tasks.search_vector}; title matches rank above description
+     * matches. Pages are fetched one row ahead to fill {@code last}, there is no total count.</p>
+     *
+     * @param query      search text in web-search syntax ("quoted phrase", {@code OR}, {@code -word})
+     * @param projectId  only tasks of this project, or {@code null} for all tasks
+     * @param pageNumber zero-based page index
+     * @param pageSize   max number of hits to return
+     * @return page of {@code TaskSummaryDTO}s, best match first
+     * @throws NotFoundException if {@code projectId} is given and the project does not exist
+     */
+    TaskSearchResultDTO searchTasks(String query, Long projectId, int pageNumber, int pageSize);
+
+    /**
+     * Change the status of many tasks with a single {@code UPDATE ... RETURNING}.
+     * <p>Tasks are selected by id, or by project and current status. Tasks already in the target
+     * status are not touched and not counted; {@code updatedAt} is set on the changed ones.</p>
+     *
+     * @param dto target status and task selector
+     * @return number and ids of the changed tasks
+     * @throws NotFoundException if the selector names a project that does not exist
+     */
+    TaskStatusUpdateResultDTO updateStatus(TaskStatusUpdateDTO dto);
 
     /**
      * Delete a task by its id and return a snapshot of the removed entity.
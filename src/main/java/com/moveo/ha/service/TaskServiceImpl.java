@@ -1,19 +1,44 @@
 package com.moveo.ha.service;
 
+import com.moveo.ha.config.TaskSearchProperties;
+import com.moveo.ha.dto.Cursor;
+import com.moveo.ha.dto.ResourceVersion;
+import com.moveo.ha.dto.task.TaskFilter;
 import com.moveo.ha.dto.task.TaskListDTO;
+import com.moveo.ha.dto.task.TaskPatchDTO;
 import com.moveo.ha.dto.task.TaskRequestDTO;
 import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.dto.task.TaskSearchResultDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateResultDTO;
+import com.moveo.ha.entity.Project;
+import com.moveo.ha.enums.TaskStatus;
 import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import com.moveo.ha.mapper.TaskMapper;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.KeysetSpecifications;
 import com.moveo.ha.repository.ProjectRepository;
 import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.TaskSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * {@inheritDoc}
  */
@@ -26,65 +51,81 @@ public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final TaskMapper taskMapper;
+    private final RowCountEstimator rowCountEstimator;
+    private final TaskSearchProperties searchProperties;
+    private final EntityCacheEvictor cacheEvictor;
+    private final ResponseCaches responseCaches;
 
     /** {@inheritDoc} */
     @Override
     public TaskResponseDTO createTask(TaskRequestDTO dto) {
         log.info("Creating task for projectId={} title='{}'", dto.projectId(), dto.title());
 
-        var project = projectRepository.findById(dto.projectId()).orElseThrow(() -> {
-            log.warn("Create failed: project id={} not found", dto.projectId());
-            return new NotFoundException("Project %d not found".formatted(dto.projectId()));
-        });
-
+        // No lookup: a missing project fails fk_tasks_project on flush (404 via MoveoHAExceptionHandler).
         var entity = taskMapper.toEntity(dto);
-        entity.setProject(project);
+        entity.setProject(projectRepository.getReferenceById(dto.projectId()));
 
-        var saved = taskRepository.save(entity);
+        var saved = taskRepository.saveAndFlush(entity);
         var resp = taskMapper.toResponse(saved);
+        responseCaches.evictProject(dto.projectId());
 
-        log.info("Created task id={} under projectId={} status={}", resp.id(), project.getId(), resp.status());
+        log.info("Created task id={} under projectId={} status={}", resp.id(), dto.projectId(), resp.status());
         return resp;
     }
 
     /** {@inheritDoc} */
     @Override
-    public TaskResponseDTO updateTaskById(Long id, TaskRequestDTO dto) {
-        log.info("Updating task id={} ...", id);
-
-        var task = taskRepository.findById(id).orElseThrow(() -> {
-            log.warn("Update failed: task id={} not found", id);
-            return new NotFoundException("Task %d not found".formatted(id));
-        });
+    public List<TaskResponseDTO> createTasks(List<TaskRequestDTO> dtos) {
+        var projectIds = dtos.stream().map(TaskRequestDTO::projectId).collect(Collectors.toSet());
+        log.info("Creating {} tasks across {} projects", dtos.size(), projectIds.size());
 
-        if (!task.getProject().getId().equals(dto.projectId())) {
-            var newProject = projectRepository.findById(dto.projectId()).orElseThrow(() -> {
-                log.warn("Update failed: target project id={} not found", dto.projectId());
-                return new NotFoundException("Project %d not found".formatted(dto.projectId()));
-            });
-            task.setProject(newProject);
+        var projects = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        if (projects.size() < projectIds.size()) {
+            var missing = projectIds.stream().filter(id -> !projects.containsKey(id)).sorted().toList();
+            log.warn("Batch create failed: projects {} not found", missing);
+            throw new NotFoundException("Projects %s not found".formatted(missing));
         }
 
-        task.setTitle(dto.title());
-        task.setDescription(dto.description());
-        task.setStatus(dto.status());
+        var entities = dtos.stream()
+                .map(dto -> {
+                    var entity = taskMapper.toEntity(dto);
+                    entity.setProject(projects.get(dto.projectId()));
+                    return entity;
+                })
+                .toList();
 
-        var updated = taskRepository.save(task);
-        var resp = taskMapper.toResponse(updated);
+        var resp = taskRepository.saveAll(entities).stream().map(taskMapper::toResponse).toList();
+        responseCaches.evictProjects(projectIds);
 
-        log.info("Updated task id={} -> title='{}', status={}, projectId={}",
-                id, resp.title(), resp.status(), resp.project() != null ? resp.project().id() : null);
+        log.info("Created {} tasks", resp.size());
         return resp;
     }
 
     /** {@inheritDoc} */
     @Override
-    @Transactional(readOnly = true)
+    public TaskResponseDTO updateTaskById(Long id, TaskRequestDTO dto, Long expectedVersion) {
+        log.info("Updating task id={} ...", id);
+        return applyUpdate(id, expectedVersion, dto.projectId(), dto.title(), dto.description(), dto.status());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TaskResponseDTO patchTaskById(Long id, TaskPatchDTO patch, Long expectedVersion) {
+        log.info("Patching task id={} ...", id);
+        return applyUpdate(id, expectedVersion, patch.projectId(), patch.title(), patch.description(), patch.status());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    // Not read-only, so the load runs on the primary: the cached response outlives this transaction, and a
+    // lagging replica would put the pre-write task back right after an eviction, for the whole TTL.
+    @Transactional
+    @Cacheable(cacheNames = ResponseCaches.TASKS, key = "#id", sync = true)
     public TaskResponseDTO getTaskById(Long id) {
         log.debug("Fetching task id={}", id);
-        return taskRepository.findById(id)
-                .map(e -> {
-                    var dto = taskMapper.toResponse(e);
+        return taskRepository.findResponseById(id)
+                .map(dto -> {
                     log.debug("Fetched task id={} (title='{}')", id, dto.title());
                     return dto;
                 })
@@ -97,27 +138,50 @@ public class TaskServiceImpl implements TaskService {
     /** {@inheritDoc} */
     @Override
     @Transactional(readOnly = true)
-    public TaskListDTO getPageOfTasks(Pageable pageable) {
-        log.debug("Listing tasks page={} size={} sort={}",
-                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    public TaskResponseDTO getTaskByIdIncludingArchived(Long id) {
+        log.debug("Fetching task id={} (including archived)", id);
+        return taskRepository.findResponseById(id)
+                .or(() -> taskRepository.findArchivedById(id).map(taskMapper::toResponse))
+                .orElseThrow(() -> {
+                    log.warn("Get failed: task id={} neither live nor archived", id);
+                    return new NotFoundException("Task %d not found".formatted(id));
+                });
+    }
 
-        var page = taskRepository.findAll(pageable).map(taskMapper::toResponse);
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public String getTaskListVersion(TaskFilter filter) {
+        var projectId = filter != null ? filter.getProjectId() : null;
+        var v = projectId != null
+                ? taskRepository.findListVersionByProjectId(projectId)
+                : taskRepository.findListVersion();
+        return ResourceVersion.etag(Arrays.asList(v.getTasksUpdatedAt(), v.getProjectsUpdatedAt(), v.getTaskCount()));
+    }
 
-        if (pageable.getPageNumber() >= page.getTotalPages() && page.getTotalPages() > 0) {
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListDTO getPageOfTasks(TaskFilter filter, Pageable pageable) {
+        log.debug("Listing tasks page={} size={} sort={} filter={}",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), filter);
+
+        var spec = TaskSpecifications.matching(filter);
+        // Count first: an out-of-range page is rejected without running a deep OFFSET scan.
+        var total = spec == null ? taskRepository.count() : taskRepository.count(spec);
+        var totalPages = totalPages(total, pageable.getPageSize());
+        if (pageable.getPageNumber() >= totalPages && totalPages > 0) {
             log.warn("Requested page {} is out of range (totalPages={})",
-                    pageable.getPageNumber(), page.getTotalPages());
+                    pageable.getPageNumber(), totalPages);
             throw new BadRequestException("This page does not exist.");
         }
 
-        String sortBy = "id";
-        String sortDir = "asc";
-        var it = pageable.getSort().iterator();
-        if (it.hasNext()) {
-            var order = it.next();
-            sortBy = order.getProperty();
-            sortDir = order.getDirection().name().toLowerCase();
-        }
+        var content = total > pageable.getOffset()
+                ? taskRepository.findResponses(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                : List.<TaskResponseDTO>of();
+        var page = new PageImpl<>(content, pageable, total);
 
+        var order = primaryOrder(pageable.getSort());
         var dto = TaskListDTO.builder()
                 .totalTasks(page.getTotalElements())
                 .pageNumber(page.getNumber())
@@ -125,8 +189,8 @@ public class TaskServiceImpl implements TaskService {
                 .totalPages(page.getTotalPages())
                 .first(page.isFirst())
                 .last(page.isLast())
-                .sortBy(sortBy)
-                .sortDir(sortDir)
+                .sortBy(order.getProperty())
+                .sortDir(order.getDirection().name().toLowerCase())
                 .tasks(page.getContent())
                 .build();
 
@@ -135,20 +199,249 @@ public class TaskServiceImpl implements TaskService {
         return dto;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListDTO getSliceOfTasks(TaskFilter filter, Pageable pageable) {
+        log.debug("Listing tasks (slice) page={} size={} sort={} filter={}",
+                pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort(), filter);
+
+        var spec = TaskSpecifications.matching(filter);
+        var rows = taskRepository.findResponses(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize() + 1);
+        var hasNext = rows.size() > pageable.getPageSize();
+        var slice = new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+
+        if (!slice.hasContent() && !slice.isFirst()) {
+            log.warn("Requested page {} is out of range (empty slice)", pageable.getPageNumber());
+            throw new BadRequestException("This page does not exist.");
+        }
+
+        var order = primaryOrder(pageable.getSort());
+        var dto = TaskListDTO.builder()
+                .pageNumber(slice.getNumber())
+                .pageSize(slice.getSize())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .sortBy(order.getProperty())
+                .sortDir(order.getDirection().name().toLowerCase())
+                .tasks(slice.getContent())
+                .build();
+
+        log.debug("Listed tasks (slice): returned={} hasNext={}", slice.getNumberOfElements(), slice.hasNext());
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListDTO getEstimatedPageOfTasks(TaskFilter filter, Pageable pageable) {
+        var dto = getSliceOfTasks(filter, pageable);
+
+        // On the last page the total is known exactly; elsewhere it is at least what has been seen.
+        // reltuples covers the whole table, so a filtered listing is counted (on its composite index).
+        var spec = TaskSpecifications.matching(filter);
+        var seen = pageable.getOffset() + dto.getTasks().size();
+        long total;
+        if (dto.isLast()) {
+            total = seen;
+        } else if (spec != null) {
+            total = taskRepository.count(spec);
+        } else {
+            total = Math.max(seen + 1, rowCountEstimator.estimate("tasks", taskRepository::estimateCount, taskRepository::count));
+        }
+
+        dto.setTotalTasks(total);
+        dto.setTotalPages(totalPages(total, pageable.getPageSize()));
+        dto.setTotalEstimated(!dto.isLast() && spec == null);
+
+        log.debug("Listed tasks (estimated): totalElements~{} totalPages~{}", dto.getTotalTasks(), dto.getTotalPages());
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskListDTO getWindowOfTasks(TaskFilter filter, Sort sort, int size, Cursor after) {
+        log.debug("Listing tasks by cursor size={} sort={} after={} filter={}", size, sort, after, filter);
+
+        var order = sort.iterator().next();
+        var sortBy = order.getProperty();
+        var sortDir = order.getDirection().name().toLowerCase();
+
+        var spec = Specification.allOf(TaskSpecifications.matching(filter), KeysetSpecifications.after(after));
+        var rows = taskRepository.findResponses(spec, KeysetSpecifications.withIdTiebreaker(sort), 0, size + 1);
+
+        var hasNext = rows.size() > size;
+        var window = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            var last = window.getLast();
+            nextCursor = Cursor.after(sortBy, sortDir, last.id(), sortValue(last, sortBy)).encode();
+        }
+
+        var dto = TaskListDTO.builder()
+                .pageNumber(0)
+                .pageSize(size)
+                .first(after == null)
+                .last(!hasNext)
+                .sortBy(sortBy)
+                .sortDir(sortDir)
+                .nextCursor(nextCursor)
+                .tasks(window)
+                .build();
+
+        log.debug("Listed tasks by cursor: returned={} hasNext={}", window.size(), hasNext);
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    @Transactional(readOnly = true)
+    public TaskSearchResultDTO searchTasks(String query, Long projectId, int pageNumber, int pageSize) {
+        log.debug("Searching tasks q='{}' projectId={} page={} size={}", query, projectId, pageNumber, pageSize);
+
+        if (projectId != null && !projectRepository.existsById(projectId)) {
+            log.warn("Search failed: project id={} not found", projectId);
+            throw new NotFoundException("Project %d not found".formatted(projectId));
+        }
+
+        // Results stop at maxCandidates: the page is cut at the cap, and one row past it tells whether
+        // there is a next page (below the cap) or matches were cut off (at the cap).
+        var offset = (long) pageNumber * pageSize;
+        var served = (int) Math.max(0, Math.min(pageSize, searchProperties.maxCandidates() - offset));
+        var rows = projectId == null
+                ? taskRepository.search(query, offset, served + 1)
+                : taskRepository.searchInProject(query, projectId, offset, served + 1);
+
+        var more = rows.size() > served;
+        var hasNext = more && served == pageSize && offset + pageSize < searchProperties.maxCandidates();
+        var hits = (more ? rows.subList(0, served) : rows).stream().map(taskMapper::toSummary).toList();
+
+        var dto = TaskSearchResultDTO.builder()
+                .query(query)
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .first(pageNumber == 0)
+                .last(!hasNext)
+                .truncated(more && !hasNext)
+                .tasks(hits)
+                .build();
+
+        log.debug("Searched tasks q='{}': returned={} hasNext={} truncated={}", query, hits.size(), hasNext, dto.isTruncated());
+        return dto;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public TaskStatusUpdateResultDTO updateStatus(TaskStatusUpdateDTO dto) {
+        List<Long> changed;
+        if (dto.byIds()) {
+            log.info("Bulk status change of {} tasks -> {}", dto.ids().size(), dto.status());
+            changed = taskRepository.updateStatusByIds(dto.ids(), dto.status().name());
+        } else {
+            log.info("Bulk status change projectId={} {} -> {}", dto.projectId(), dto.currentStatus(), dto.status());
+            changed = taskRepository.updateStatusByProjectAndStatus(
+                    dto.projectId(), dto.currentStatus().name(), dto.status().name());
+            // Existence only matters (and is only checked) when nothing matched.
+            if (changed.isEmpty() && !projectRepository.existsById(dto.projectId())) {
+                log.warn("Bulk status change failed: project id={} not found", dto.projectId());
+                throw new NotFoundException("Project %d not found".formatted(dto.projectId()));
+            }
+        }
+
+        cacheEvictor.evictTasks(changed);
+        responseCaches.evictTasks(changed);
+        if (!changed.isEmpty()) {
+            if (dto.byIds()) {
+                responseCaches.evictAllProjects();
+            } else {
+                responseCaches.evictProject(dto.projectId());
+            }
+        }
+        log.info("Bulk status change -> {}: {} tasks changed", dto.status(), changed.size());
+        return new TaskStatusUpdateResultDTO(changed.size(), changed);
+    }
+
     /** {@inheritDoc} */
     @Override
     public TaskResponseDTO deleteTaskById(Long id) {
         log.info("Deleting task id={} ...", id);
 
-        var task = taskRepository.findById(id).orElseThrow(() -> {
+        var removed = taskRepository.deleteReturning(id).orElseThrow(() -> {
             log.warn("Delete failed: task id={} not found", id);
             return new NotFoundException("Task %d not found".formatted(id));
         });
 
-        var snapshot = taskMapper.toResponse(task);
-        taskRepository.delete(task);
+        var snapshot = taskMapper.toResponse(removed);
+        cacheEvictor.evictTasks(List.of(id));
+        cacheEvictor.evictProjectTasks(List.of(removed.getProjectId()));
+        responseCaches.evictTask(id);
+        responseCaches.evictProject(removed.getProjectId());
 
         log.info("Deleted task id={} (title='{}')", id, snapshot.title());
         return snapshot;
     }
+
+    /**
+     * One {@code UPDATE ... RETURNING} round trip. Only when it changes nothing is the task read again, to tell
+     * a missing task (404) and a stale {@code If-Match} (412) from a no-op update.
+     */
+    private TaskResponseDTO applyUpdate(Long id, Long expectedVersion, Long projectId,
+                                        String title, String description, TaskStatus status) {
+        var row = taskRepository.updateReturning(id, expectedVersion, projectId, title, description,
+                status != null ? status.name() : null);
+        if (row.isEmpty()) {
+            return unchanged(id, expectedVersion);
+        }
+
+        var changed = row.get();
+        var resp = taskMapper.toResponse(changed);
+        var projectIds = new LinkedHashSet<>(List.of(changed.getPreviousProjectId(), changed.getProjectId()));
+        cacheEvictor.evictTasks(List.of(id));
+        if (projectIds.size() > 1) {
+            cacheEvictor.evictProjectTasks(projectIds);
+        }
+        responseCaches.putTask(resp);
+        responseCaches.evictProjects(projectIds);
+
+        log.info("Updated task id={} -> title='{}', status={}, projectId={}, version={}",
+                id, resp.title(), resp.status(), changed.getProjectId(), resp.version());
+        return resp;
+    }
+
+    private TaskResponseDTO unchanged(Long id, Long expectedVersion) {
+        var current = taskRepository.findVersionById(id).orElseThrow(() -> {
+            log.warn("Update failed: task id={} not found", id);
+            return new NotFoundException("Task %d not found".formatted(id));
+        });
+        if (expectedVersion != null && !current.equals(expectedVersion)) {
+            log.warn("Update failed: task id={} is at version {}, If-Match expected {}",
+                    id, current, expectedVersion);
+            throw new PreconditionFailedException("Task %d has version %d, not %d"
+                    .formatted(id, current, expectedVersion));
+        }
+        log.info("Task id={} already up to date, nothing written", id);
+        return taskRepository.findResponseById(id)
+                .orElseThrow(() -> new NotFoundException("Task %d not found".formatted(id)));
+    }
+
+    private static Sort.Order primaryOrder(Sort sort) {
+        var it = sort.iterator();
+        return it.hasNext() ? it.next() : Sort.Order.asc("id");
+    }
+
+    private static int totalPages(long total, int pageSize) {
+        return (int) ((total + pageSize - 1) / pageSize);
+    }
+
+    private static Object sortValue(TaskResponseDTO task, String sortBy) {
+        return switch (sortBy) {
+            case "title" -> task.title();
+            case "status" -> task.status();
+            case "project" -> task.project().id();
+            case "createdAt" -> task.createdAt();
+            case "updatedAt" -> task.updatedAt();
+            default -> task.id();
+        };
+    }
 }
@@ -25,6 +25,7 @@ public class WebMvcTestSecurity {
                 .csrf(AbstractHttpConfigurer::disable)
                 .anonymous(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers(HttpMethod.GET, "/api/v1/projects/*/deletion").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/projects/**").hasAnyRole("ADMIN", "USER")
                         .requestMatchers(HttpMethod.POST, "/api/v1/projects").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/v1/projects/*").hasRole("ADMIN")
@@ -35,6 +36,8 @@ public class WebMvcTestSecurity {
                         .requestMatchers(HttpMethod.POST, "/api/v1/tasks/*").hasAnyRole("ADMIN", "USER")
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/tasks/*").hasRole("ADMIN")
 
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(ex -> ex
@@ -0,0 +1,117 @@
+package com.moveo.ha.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EarlyExpiringCacheTest {
+
+    @Test
+    void loadsOnce_thenServesCachedValue() {
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofMinutes(1), 1.0);
+        var loads = new AtomicInteger();
+
+        assertThat(cache.get(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(cache.get(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void slowLoadCloseToExpiry_isRefreshedEarly() {
+        // With a huge beta, a 50 ms load puts every read inside the early-refresh window.
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofSeconds(10), 1e9);
+        var loads = new AtomicInteger();
+        cache.get(1L, () -> {
+            Thread.sleep(50);
+            return "v" + loads.incrementAndGet();
+        });
+
+        assertThat(cache.get(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void earlyRefresh_onlyOneCallerReloads() throws Exception {
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofSeconds(10), 1e9);
+        var loads = new AtomicInteger();
+        cache.get(1L, () -> {
+            Thread.sleep(50);
+            return "v" + loads.incrementAndGet();
+        });
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var refresh = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "v" + loads.incrementAndGet();
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(cache.get(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        release.countDown();
+        assertThat(refresh.get(5, TimeUnit.SECONDS)).isEqualTo("v2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void earlyRefresh_doesNotOverwriteAnEvictionMadeWhileLoading() throws Exception {
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofSeconds(10), 1e9);
+        cache.get(1L, () -> {
+            Thread.sleep(50);
+            return "old";
+        });
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var refresh = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "stale";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.evict(1L);
+        release.countDown();
+
+        assertThat(refresh.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.get(1L, () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void betaZero_neverRefreshesEarly() {
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofSeconds(10), 0);
+        var loads = new AtomicInteger();
+        cache.get(1L, () -> {
+            Thread.sleep(5);
+            return "v" + loads.incrementAndGet();
+        });
+
+        assertThat(cache.get(1L, () -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+    }
+
+    @Test
+    void evict_forcesReload() {
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofMinutes(1), 1.0);
+        cache.put(1L, "old");
+        cache.evict(1L);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(1L, () -> "new")).isEqualTo("new");
+    }
+
+    @Test
+    void loaderFailure_isWrapped() {
+        var cache = new EarlyExpiringCache("c", 10, Duration.ofMinutes(1), 1.0);
+
+        assertThatThrownBy(() -> cache.get(1L, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(Cache.ValueRetrievalException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
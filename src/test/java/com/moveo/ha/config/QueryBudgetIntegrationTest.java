@@ -0,0 +1,152 @@
+package com.moveo.ha.config;
+
+import com.moveo.ha.PostgresTestcontainer;
+import com.moveo.ha.controller.ProjectController;
+import com.moveo.ha.controller.TaskController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs every {@link QueryBudget}-annotated handler against the real schema (triggers, native queries,
+ * second-level cache) with {@code fail-on-exceed}, so a handler over its budget fails its request here.
+ */
+@SpringBootTest(properties = {
+        "moveo.query-budget.fail-on-exceed=true",
+        "moveo.projects.async-delete-threshold=2"
+})
+@AutoConfigureMockMvc
+@Import(PostgresTestcontainer.class)
+@Testcontainers(disabledWithoutDocker = true)
+@WithMockUser(roles = {"ADMIN", "USER"})
+class QueryBudgetIntegrationTest {
+
+    private static final MediaType MERGE_PATCH = MediaType.parseMediaType("application/merge-patch+json");
+
+    @Autowired MockMvc mvc;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired MeterRegistry meterRegistry;
+
+    @MockitoBean JwtDecoder jwtDecoder;
+
+    private long projectId;
+    private long taskId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = insertProject("Budgets");
+        taskId = insertTask(projectId, "Deploy the release");
+        insertTask(projectId, "Write the deploy notes");
+    }
+
+    private long insertProject(String name) {
+        return jdbc.queryForObject("""
+                INSERT INTO projects (name, description, created_at, updated_at)
+                VALUES (?, 'Query budget test project', now(), now()) RETURNING id
+                """, Long.class, name);
+    }
+
+    private long insertTask(long project, String title) {
+        return jdbc.queryForObject("""
+                INSERT INTO tasks (project_id, title, description, status, created_at, updated_at)
+                VALUES (?, ?, 'Query budget test task', 'TODO', now(), now()) RETURNING id
+                """, Long.class, project, title);
+    }
+
+    private void ok(RequestBuilder request) throws Exception {
+        mvc.perform(request).andExpect(status().is2xxSuccessful());
+    }
+
+    @Test
+    void everyBudgetedHandler_staysWithinItsBudget() throws Exception {
+        // reads first, while nothing is in the response caches
+        ok(get("/api/v1/tasks/{id}", taskId));
+        ok(get("/api/v1/tasks/{id}", taskId).param("includeArchived", "true"));
+        for (var paging : List.of("offset", "slice", "estimated", "cursor")) {
+            ok(get("/api/v1/tasks").param("paging", paging).param("projectId", String.valueOf(projectId)));
+            ok(get("/api/v1/projects").param("paging", paging));
+        }
+        ok(get("/api/v1/tasks/search").param("q", "deploy"));
+        ok(get("/api/v1/tasks/search").param("q", "deploy").param("projectId", String.valueOf(projectId)));
+        ok(get("/api/v1/projects/{id}", projectId));
+        ok(get("/api/v1/projects/{id}/stats", projectId));
+
+        ok(post("/api/v1/tasks").contentType(MediaType.APPLICATION_JSON).content("""
+                {"projectId": %d, "title": "Created", "description": "One task", "status": "TODO"}
+                """.formatted(projectId)));
+        ok(post("/api/v1/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("""
+                {"tasks": [
+                  {"projectId": %1$d, "title": "Batch 1", "description": "Batched", "status": "TODO"},
+                  {"projectId": %1$d, "title": "Batch 2", "description": "Batched", "status": "IN_PROGRESS"}
+                ]}
+                """.formatted(projectId)));
+        ok(post("/api/v1/tasks/{id}", taskId).contentType(MediaType.APPLICATION_JSON).content("""
+                {"projectId": %d, "title": "Deploy the release", "description": "Updated", "status": "IN_PROGRESS"}
+                """.formatted(projectId)));
+        ok(patch("/api/v1/tasks/{id}", taskId).contentType(MERGE_PATCH).content("""
+                {"status": "DONE"}
+                """));
+        ok(post("/api/v1/tasks/status").contentType(MediaType.APPLICATION_JSON).content("""
+                {"status": "DONE", "ids": [%d]}
+                """.formatted(taskId)));
+        ok(post("/api/v1/tasks/status").contentType(MediaType.APPLICATION_JSON).content("""
+                {"status": "IN_PROGRESS", "projectId": %d, "currentStatus": "TODO"}
+                """.formatted(projectId)));
+
+        ok(post("/api/v1/projects").contentType(MediaType.APPLICATION_JSON).content("""
+                {"name": "Created", "description": "One project"}
+                """));
+        ok(post("/api/v1/projects/{id}", projectId).contentType(MediaType.APPLICATION_JSON).content("""
+                {"name": "Budgets renamed", "description": "Query budget test project"}
+                """));
+        ok(patch("/api/v1/projects/{id}", projectId).contentType(MERGE_PATCH).content("""
+                {"description": "Patched"}
+                """));
+
+        ok(delete("/api/v1/tasks/{id}", taskId));
+        // at most async-delete-threshold tasks: deleted in the request
+        var small = insertProject("Small");
+        insertTask(small, "Only task");
+        ok(delete("/api/v1/projects/{id}", small));
+        // more: scheduled, then polled
+        ok(delete("/api/v1/projects/{id}", projectId));
+        ok(get("/api/v1/projects/{id}/deletion", projectId));
+
+        var budgeted = Stream.of(TaskController.class, ProjectController.class)
+                .flatMap(controller -> Arrays.stream(controller.getDeclaredMethods()))
+                .filter(m -> m.isAnnotationPresent(QueryBudget.class))
+                .toList();
+        assertThat(budgeted).isNotEmpty().allSatisfy(m -> {
+            var controller = m.getDeclaringClass().getSimpleName();
+            var budget = m.getAnnotation(QueryBudget.class).value();
+            var summary = meterRegistry.find(QueryBudgetInterceptor.QUERIES_METRIC)
+                    .tag("controller", controller).tag("method", m.getName()).summary();
+            assertThat(summary).as("%s.%s exercised", controller, m.getName()).isNotNull();
+            assertThat(summary.count()).as("%s.%s exercised", controller, m.getName()).isPositive();
+            assertThat(meterRegistry.find(QueryBudgetInterceptor.EXCEEDED_METRIC)
+                    .tag("controller", controller).tag("method", m.getName()).counter())
+                    .as("%s.%s over its budget of %d", controller, m.getName(), budget)
+                    .isNull();
+        });
+    }
+}
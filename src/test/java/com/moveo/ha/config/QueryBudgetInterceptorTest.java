@@ -0,0 +1,146 @@
+package com.moveo.ha.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetInterceptorTest {
+
+    static class SampleController {
+        @QueryBudget(2)
+        public void budgeted() {
+        }
+
+        public void unbudgeted() {
+        }
+    }
+
+    private final QueryCounter inspector = new QueryCounter();
+    private SimpleMeterRegistry registry;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        request = new MockHttpServletRequest("GET", "/api/v1/sample");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.stop();
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), name);
+    }
+
+    @Test
+    void recordsStatementsPerHandler() throws Exception {
+        var interceptor = new QueryBudgetInterceptor(new QueryBudgetProperties(false, false), registry);
+        var handler = handler("budgeted");
+
+        interceptor.preHandle(request, response, handler);
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+        interceptor.afterCompletion(request, response, handler, null);
+
+        var summary = registry.get(QueryBudgetInterceptor.QUERIES_METRIC)
+                .tag("controller", "SampleController").tag("method", "budgeted").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(2);
+        assertThat(registry.find(QueryBudgetInterceptor.EXCEEDED_METRIC).counter()).isNull();
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    @Test
+    void overBudget_reportMode_countsWithoutFailing() throws Exception {
+        var interceptor = new QueryBudgetInterceptor(new QueryBudgetProperties(false, false), registry);
+        var handler = handler("budgeted");
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect("select " + i);
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.get(QueryBudgetInterceptor.EXCEEDED_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void overBudget_failMode_failsTheStatementThatCrossesIt() throws Exception {
+        var interceptor = new QueryBudgetInterceptor(new QueryBudgetProperties(false, true), registry);
+
+        interceptor.preHandle(request, response, handler("budgeted"));
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+
+        assertThatThrownBy(() -> inspector.inspect("select * from tasks where project_id = 7"))
+                .isInstanceOf(QueryCounter.BudgetExceededException.class)
+                .hasMessageContaining("Statement 3 exceeds the query budget of 2")
+                .hasMessageContaining("project_id = 7");
+    }
+
+    @Test
+    void noBudget_neverExceeded() throws Exception {
+        var interceptor = new QueryBudgetInterceptor(new QueryBudgetProperties(false, true), registry);
+        var handler = handler("unbudgeted");
+
+        interceptor.preHandle(request, response, handler);
+        for (int i = 0; i < 50; i++) {
+            inspector.inspect("select " + i);
+        }
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertThat(registry.find(QueryBudgetInterceptor.EXCEEDED_METRIC).counter()).isNull();
+    }
+
+    @Test
+    void asyncHandler_recordedWhenItGoesAsync_andScopeClosedOnTheRequestThread() throws Exception {
+        var interceptor = new QueryBudgetInterceptor(new QueryBudgetProperties(false, false), registry);
+        var handler = handler("budgeted");
+
+        interceptor.preHandle(request, response, handler);
+        inspector.inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        assertThat(QueryCounter.current()).isNull();
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        assertThat(QueryCounter.current()).isNull();
+        interceptor.afterCompletion(request, response, handler, null);
+
+        var summary = registry.get(QueryBudgetInterceptor.QUERIES_METRIC)
+                .tag("controller", "SampleController").tag("method", "budgeted").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        assertThat(summary.totalAmount()).isEqualTo(1);
+    }
+
+    @Test
+    void leftoverScope_isReplacedByTheNextRequest() throws Exception {
+        var interceptor = new QueryBudgetInterceptor(new QueryBudgetProperties(false, false), registry);
+        QueryCounter.start(0, false);
+        inspector.inspect("select 1");
+
+        interceptor.preHandle(request, response, handler("unbudgeted"));
+
+        assertThat(QueryCounter.current().count()).isZero();
+        assertThat(QueryCounter.current().budget()).isEqualTo(-1);
+    }
+
+    @Test
+    void statementsOutsideARequest_areNotCounted() {
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+        assertThat(QueryCounter.current()).isNull();
+    }
+}
@@ -0,0 +1,111 @@
+package com.moveo.ha.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * With the replica enabled, a reader that misses the response cache right after someone else's write must
+ * not refill it from the replica. The "replica" is a schema holding a snapshot of the tables taken before
+ * the write, so it stays behind the primary for the whole test.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaCacheFillIntegrationTest {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+
+    // ReplicaDataSourceConfig binds spring.datasource itself, so a @ServiceConnection would not reach it
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("moveo.datasource.replica.enabled", () -> "true");
+        registry.add("moveo.datasource.replica.url", () -> POSTGRES.getJdbcUrl() + "&currentSchema=replica,public");
+        registry.add("moveo.datasource.replica.username", POSTGRES::getUsername);
+        registry.add("moveo.datasource.replica.password", POSTGRES::getPassword);
+    }
+
+    @Autowired MockMvc mvc;
+    @Autowired JdbcTemplate jdbc;
+
+    @MockitoBean JwtDecoder jwtDecoder;
+
+    private long projectId;
+    private long taskId;
+
+    @BeforeEach
+    void setUp() {
+        projectId = jdbc.queryForObject("""
+                INSERT INTO projects (name, description, created_at, updated_at)
+                VALUES ('Before', 'Replica test project', now(), now()) RETURNING id
+                """, Long.class);
+        taskId = jdbc.queryForObject("""
+                INSERT INTO tasks (project_id, title, description, status, created_at, updated_at)
+                VALUES (?, 'Before', 'Replica test task', 'TODO', now(), now()) RETURNING id
+                """, Long.class, projectId);
+        jdbc.execute("""
+                DROP SCHEMA IF EXISTS replica CASCADE;
+                CREATE SCHEMA replica;
+                CREATE TABLE replica.projects AS TABLE public.projects;
+                CREATE TABLE replica.tasks AS TABLE public.tasks;
+                CREATE TABLE replica.project_task_stats AS TABLE public.project_task_stats;
+                """);
+    }
+
+    @Test
+    void cacheMissAfterAnotherClientsWrite_isFilledFromThePrimary() throws Exception {
+        // cached before the write
+        mvc.perform(get("/api/v1/tasks/{id}", taskId).with(user("bob").roles("USER")))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/v1/projects/{id}", projectId).with(user("bob").roles("USER")))
+                .andExpect(status().isOk());
+
+        mvc.perform(post("/api/v1/tasks/{id}", taskId).with(user("alice").roles("ADMIN", "USER"))
+                        .contentType(MediaType.APPLICATION_JSON).content("""
+                                {"projectId": %d, "title": "After", "description": "Replica test task", "status": "DONE"}
+                                """.formatted(projectId)))
+                .andExpect(status().isOk());
+        mvc.perform(post("/api/v1/projects/{id}", projectId).with(user("alice").roles("ADMIN", "USER"))
+                        .contentType(MediaType.APPLICATION_JSON).content("""
+                                {"name": "After", "description": "Replica test project"}
+                                """))
+                .andExpect(status().isOk());
+
+        // bob is not pinned: his read-only list still comes from the stale replica...
+        mvc.perform(get("/api/v1/tasks").param("projectId", String.valueOf(projectId))
+                        .with(user("bob").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].title").value("Before"));
+        // ...but the evicted responses are refilled from the primary
+        mvc.perform(get("/api/v1/tasks/{id}", taskId).with(user("bob").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("After"))
+                .andExpect(jsonPath("$.project.name").value("After"));
+        mvc.perform(get("/api/v1/projects/{id}", projectId).with(user("bob").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("After"))
+                .andExpect(jsonPath("$.tasks[0].status").value("DONE"));
+    }
+}
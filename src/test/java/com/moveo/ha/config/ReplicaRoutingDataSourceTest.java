@@ -0,0 +1,116 @@
+package com.moveo.ha.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        routing = new ReplicaRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesGuard.unpin();
+    }
+
+    @Test
+    void readWriteTransaction_usesPrimary() throws SQLException {
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void readOnlyTransaction_usesReplica() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertThat(routing.getConnection()).isSameAs(replicaConnection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void pinnedRequest_readsFromPrimary() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        ReadYourWritesGuard.pinToPrimary();
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void replicaDown_fallsBackToPrimary_andSkipsReplicaUntilRetry() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    void guard_remembersWritesForWindowOnly() {
+        var guard = new ReadYourWritesGuard(Duration.ofMinutes(1));
+        guard.recordWrite("alice");
+
+        assertThat(guard.wroteRecently("alice")).isTrue();
+        assertThat(guard.wroteRecently("bob")).isFalse();
+
+        var expired = new ReadYourWritesGuard(Duration.ZERO);
+        expired.recordWrite("alice");
+        assertThat(expired.wroteRecently("alice")).isFalse();
+    }
+
+    @Test
+    void interceptor_clearsALeftoverPinForClientsThatDidNotWrite() {
+        var interceptor = new ReadYourWritesInterceptor(new ReadYourWritesGuard(Duration.ofMinutes(1)));
+        var request = new MockHttpServletRequest("GET", "/api/v1/tasks");
+        request.setUserPrincipal(() -> "bob");
+        ReadYourWritesGuard.pinToPrimary();
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), null);
+
+        assertThat(ReadYourWritesGuard.isPinnedToPrimary()).isFalse();
+    }
+
+    @Test
+    void interceptor_unpinsTheRequestThreadWhenTheHandlerGoesAsync() {
+        var guard = new ReadYourWritesGuard(Duration.ofMinutes(1));
+        guard.recordWrite("alice");
+        var interceptor = new ReadYourWritesInterceptor(guard);
+        var request = new MockHttpServletRequest("GET", "/api/v1/projects/1/tasks/export");
+        request.setUserPrincipal(() -> "alice");
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, null);
+        assertThat(ReadYourWritesGuard.isPinnedToPrimary()).isTrue();
+
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertThat(ReadYourWritesGuard.isPinnedToPrimary()).isFalse();
+    }
+}
@@ -2,10 +2,15 @@ package com.moveo.ha.project;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moveo.ha.WebMvcTestSecurity;
+import com.moveo.ha.config.QueryBudget;
 import com.moveo.ha.controller.ProjectController;
+import com.moveo.ha.dto.project.ProjectDeletionDTO;
 import com.moveo.ha.dto.project.ProjectListDTO;
+import com.moveo.ha.dto.project.ProjectPatchDTO;
 import com.moveo.ha.dto.project.ProjectRequestDTO;
 import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.enums.ProjectDeletionStatus;
 import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
 import com.moveo.ha.service.ProjectService;
@@ -15,14 +20,20 @@ import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -49,7 +60,7 @@ class ProjectControllerTest {
     @WithMockUser(roles = "ADMIN")
     void createProject_created201_andLocationHeader() throws Exception {
         var req = new ProjectRequestDTO("Website Redesign", "Marketing site redesign for Q4");
-        var dto = new ProjectResponseDTO(1L, req.name(), req.description(), null, null, List.of());
+        var dto = new ProjectResponseDTO(1L, req.name(), req.description(), null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
 
         when(projectService.createProject(ArgumentMatchers.any())).thenReturn(dto);
 
@@ -106,8 +117,8 @@ class ProjectControllerTest {
     @WithMockUser(roles = "ADMIN")
     void updateProject_ok200() throws Exception {
         var req = new ProjectRequestDTO("Website Rebrand", "Scope updated");
-        var dto = new ProjectResponseDTO(5L, req.name(), req.description(), null, null, List.of());
-        when(projectService.updateProjectById(eq(5L), any())).thenReturn(dto);
+        var dto = new ProjectResponseDTO(5L, req.name(), req.description(), null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+        when(projectService.updateProjectById(eq(5L), any(), isNull())).thenReturn(dto);
 
         mvc.perform(post("/api/v1/projects/5")
                         .with(csrf())
@@ -120,7 +131,7 @@ class ProjectControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void updateProject_notFound404() throws Exception {
-        when(projectService.updateProjectById(eq(999L), any()))
+        when(projectService.updateProjectById(eq(999L), any(), any()))
                 .thenThrow(new NotFoundException("Project 999 not found"));
 
         mvc.perform(post("/api/v1/projects/999")
@@ -132,6 +143,45 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.message", containsString("Project 999 not found")));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateProject_ifMatchETag_passesVersionPrefix() throws Exception {
+        var dto = new ProjectResponseDTO(5L, "N", "D", null, null, 3L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+        when(projectService.updateProjectById(eq(5L), any(), eq(2L))).thenReturn(dto);
+
+        mvc.perform(post("/api/v1/projects/5")
+                        .with(csrf())
+                        .header("If-Match", "\"2-0123456789abcdef\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new ProjectRequestDTO("N", "D"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void patchProject_nameOnly_ok200() throws Exception {
+        var dto = new ProjectResponseDTO(5L, "Renamed", "D", null, null, 1L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+        when(projectService.patchProjectById(5L, new ProjectPatchDTO("Renamed", null), null)).thenReturn(dto);
+
+        mvc.perform(patch("/api/v1/projects/5")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void patchProject_forbidden_403() throws Exception {
+        mvc.perform(patch("/api/v1/projects/5")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"name\":\"Renamed\"}"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void updateProject_unauthenticated_401() throws Exception {
         var req = new ProjectRequestDTO("N", "D");
@@ -160,12 +210,18 @@ class ProjectControllerTest {
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     void getProjectById_ok200() throws Exception {
-        var dto = new ProjectResponseDTO(10L, "N", "D", null, null, List.of());
+        var dto = new ProjectResponseDTO(10L, "N", "D", null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
         when(projectService.getProjectById(10L)).thenReturn(dto);
 
-        mvc.perform(get("/api/v1/projects/10"))
+        var etag = mvc.perform(get("/api/v1/projects/10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.name").value("N"));
+                .andExpect(header().string("ETag", startsWith("\"0-")))
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andExpect(jsonPath("$.name").value("N"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/v1/projects/10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
     }
 
     @Test
@@ -197,7 +253,7 @@ class ProjectControllerTest {
     @WithMockUser(roles = {"ADMIN", "USER"})
     void getPage_ok200() throws Exception {
         var pageDto = ProjectListDTO.builder()
-                .totalProjects(2)
+                .totalProjects(2L)
                 .pageNumber(0)
                 .pageSize(20)
                 .totalPages(1)
@@ -206,8 +262,8 @@ class ProjectControllerTest {
                 .sortBy("id")
                 .sortDir("asc")
                 .projects(List.of(
-                        new ProjectResponseDTO(1L, "A", "DA", null, null, List.of()),
-                        new ProjectResponseDTO(2L, "B", "DB", null, null, List.of())
+                        new ProjectResponseDTO(1L, "A", "DA", null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY),
+                        new ProjectResponseDTO(2L, "B", "DB", null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY)
                 ))
                 .build();
 
@@ -224,6 +280,25 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.projects", hasSize(2)));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN", "USER"})
+    void getPage_unchangedVersion_304_withoutQueryingThePage() throws Exception {
+        when(projectService.getProjectListVersion()).thenReturn("\"v1\"");
+        when(projectService.getPageOfProjects(any(org.springframework.data.domain.Pageable.class)))
+                .thenReturn(ProjectListDTO.builder().projects(List.of()).build());
+        var etag = mvc.perform(get("/api/v1/projects"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/v1/projects").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(projectService, times(1)).getPageOfProjects(any(org.springframework.data.domain.Pageable.class));
+
+        when(projectService.getProjectListVersion()).thenReturn("\"v2\"");
+        mvc.perform(get("/api/v1/projects").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN", "USER"})
     void getPage_outOfRange_400() throws Exception {
@@ -284,7 +359,7 @@ class ProjectControllerTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void delete_ok200_returnsSnapshot() throws Exception {
-        var dto = new ProjectResponseDTO(3L, "X", "DX", null, null, List.of());
+        var dto = new ProjectResponseDTO(3L, "X", "DX", null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
         when(projectService.deleteProjectById(3L)).thenReturn(dto);
 
         mvc.perform(delete("/api/v1/projects/3").with(csrf()))
@@ -292,6 +367,59 @@ class ProjectControllerTest {
                 .andExpect(jsonPath("$.id").value(3));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void delete_largeProject_accepted202_withStatusLocation() throws Exception {
+        var deletion = new ProjectDeletionDTO(3L, ProjectDeletionStatus.PENDING, 50_000, 0, null, null, null);
+        when(projectService.scheduleDeletionIfLarge(3L)).thenReturn(Optional.of(deletion));
+
+        mvc.perform(delete("/api/v1/projects/3").with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/projects/3/deletion"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.totalTasks").value(50000));
+
+        verify(projectService, never()).deleteProjectById(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void getDeletion_ok200() throws Exception {
+        var deletion = new ProjectDeletionDTO(3L, ProjectDeletionStatus.RUNNING, 50_000, 20_000, null, null, null);
+        when(projectService.getDeletion(3L)).thenReturn(deletion);
+
+        mvc.perform(get("/api/v1/projects/3/deletion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deletedTasks").value(20000));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getTaskStats_ok200() throws Exception {
+        when(projectService.getTaskStats(3L)).thenReturn(new ProjectTaskStatsDTO(4, 2, 9));
+
+        mvc.perform(get("/api/v1/projects/3/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inProgress").value(2))
+                .andExpect(jsonPath("$.total").value(15));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getTaskStats_notFound404() throws Exception {
+        when(projectService.getTaskStats(404L)).thenThrow(new NotFoundException("Project 404 not found"));
+
+        mvc.perform(get("/api/v1/projects/404/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getDeletion_forbidden_403() throws Exception {
+        mvc.perform(get("/api/v1/projects/3/deletion"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void delete_notFound404() throws Exception {
@@ -315,4 +443,16 @@ class ProjectControllerTest {
         mvc.perform(delete("/api/v1/projects/1").with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    // ---------- QUERY BUDGET ----------
+
+    @Test
+    void everyHandlerDeclaresAQueryBudget() {
+        var handlers = Arrays.stream(ProjectController.class.getDeclaredMethods())
+                .filter(m -> AnnotatedElementUtils.hasAnnotation(m, RequestMapping.class))
+                .toList();
+
+        assertThat(handlers).isNotEmpty().allSatisfy(m -> assertThat(m.getAnnotation(QueryBudget.class))
+                .as("@QueryBudget on %s", m.getName()).isNotNull());
+    }
 }
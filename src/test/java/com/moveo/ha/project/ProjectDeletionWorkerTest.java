@@ -0,0 +1,86 @@
+package com.moveo.ha.project;
+
+import com.moveo.ha.config.ProjectProperties;
+import com.moveo.ha.enums.ProjectDeletionStatus;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.ProjectDeletionRepository;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.service.ProjectDeletionRequestedEvent;
+import com.moveo.ha.service.ProjectDeletionWorker;
+import com.moveo.ha.service.ResponseCaches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ProjectDeletionWorkerTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private ProjectRepository projectRepository;
+    private TaskRepository taskRepository;
+    private ProjectDeletionRepository deletionRepository;
+    private PlatformTransactionManager txManager;
+    private ResponseCaches responseCaches;
+    private EntityCacheEvictor cacheEvictor;
+    private ProjectDeletionWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        deletionRepository = mock(ProjectDeletionRepository.class);
+        txManager = mock(PlatformTransactionManager.class);
+        responseCaches = mock(ResponseCaches.class);
+        cacheEvictor = mock(EntityCacheEvictor.class);
+        worker = new ProjectDeletionWorker(projectRepository, taskRepository, deletionRepository,
+                new ProjectProperties(20, 100, BATCH_SIZE), new TransactionTemplate(txManager),
+                responseCaches, cacheEvictor);
+    }
+
+    @Test
+    void deletesTasksInBatches_thenArchivedTasks_thenProject_thenMarksDone() {
+        when(taskRepository.deleteBatchByProjectId(5L, BATCH_SIZE))
+                .thenReturn(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        when(taskRepository.deleteArchivedBatchByProjectId(5L, BATCH_SIZE)).thenReturn(2, 0);
+
+        worker.onDeletionRequested(new ProjectDeletionRequestedEvent(5L));
+
+        InOrder order = inOrder(deletionRepository, taskRepository, projectRepository);
+        order.verify(deletionRepository).updateStatus(eq(5L), eq(ProjectDeletionStatus.RUNNING), isNull(), any());
+        order.verify(taskRepository).deleteBatchByProjectId(5L, BATCH_SIZE);
+        order.verify(deletionRepository).addDeletedTasks(eq(5L), eq(2L), any());
+        order.verify(taskRepository, times(2)).deleteBatchByProjectId(5L, BATCH_SIZE);
+        order.verify(deletionRepository).addDeletedTasks(eq(5L), eq(1L), any());
+        order.verify(taskRepository, times(2)).deleteArchivedBatchByProjectId(5L, BATCH_SIZE);
+        order.verify(projectRepository).deleteByIdCascading(5L);
+        order.verify(deletionRepository).updateStatus(eq(5L), eq(ProjectDeletionStatus.DONE), isNull(), any());
+        verify(deletionRepository, times(3)).addDeletedTasks(eq(5L), anyLong(), any());
+        // one transaction per batch, plus the start and finish transactions
+        verify(txManager, times(7)).commit(any());
+        // only the deleted tasks leave the caches
+        verify(responseCaches).evictTasks(List.of(1L, 2L));
+        verify(responseCaches).evictTasks(List.of(3L, 4L));
+        verify(responseCaches).evictTasks(List.of(5L));
+        verify(cacheEvictor).evictTasks(List.of(5L));
+        verify(responseCaches).evictProject(5L);
+    }
+
+    @Test
+    void failure_marksFailed_andKeepsProject() {
+        when(taskRepository.deleteBatchByProjectId(5L, BATCH_SIZE)).thenThrow(new QueryTimeoutException("lock timeout"));
+
+        worker.onDeletionRequested(new ProjectDeletionRequestedEvent(5L));
+
+        verify(deletionRepository).updateStatus(eq(5L), eq(ProjectDeletionStatus.FAILED), eq("lock timeout"), any());
+        verify(projectRepository, never()).deleteByIdCascading(any());
+    }
+}
@@ -2,11 +2,17 @@ package com.moveo.ha.project;
 
 
 import com.moveo.ha.dto.project.ProjectRequestDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.dto.task.TaskSummaryDTO;
 import com.moveo.ha.entity.Project;
+import com.moveo.ha.entity.ProjectTaskStats;
+import com.moveo.ha.enums.TaskStatus;
 import com.moveo.ha.mapper.ProjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ProjectMapperTest {
@@ -34,5 +40,32 @@ class ProjectMapperTest {
         assertEquals("N", dto.name());
         assertEquals("D", dto.description());
     }
-}
 
+    @Test
+    void toResponse_withSummaries_flagsTruncationAgainstTotal() {
+        var entity = Project.builder().id(10L).name("N").description("D").build();
+        var summaries = List.of(
+                new TaskSummaryDTO(1L, "A", TaskStatus.TODO, null),
+                new TaskSummaryDTO(2L, "B", TaskStatus.DONE, null)
+        );
+
+        var stats = new ProjectTaskStatsDTO(3, 0, 2);
+        var truncated = mapper.toResponse(entity, summaries, stats);
+        assertEquals(10L, truncated.id());
+        assertEquals(2, truncated.tasks().size());
+        assertEquals(5L, truncated.taskCount());
+        assertTrue(truncated.tasksTruncated());
+        assertEquals(stats, truncated.taskStats());
+
+        var complete = mapper.toResponse(entity, summaries, new ProjectTaskStatsDTO(1, 0, 1));
+        assertFalse(complete.tasksTruncated());
+    }
+
+    @Test
+    void toStats_mapsCountsPerStatus() {
+        var row = ProjectTaskStats.builder().projectId(1L).todoCount(4).inProgressCount(2).doneCount(9).build();
+        var stats = mapper.toStats(row);
+        assertEquals(new ProjectTaskStatsDTO(4, 2, 9), stats);
+        assertEquals(15L, stats.total());
+    }
+}
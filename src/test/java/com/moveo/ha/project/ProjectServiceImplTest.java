@@ -1,18 +1,43 @@
 package com.moveo.ha.project;
 
+import com.moveo.ha.config.PagingProperties;
+import com.moveo.ha.config.ProjectProperties;
+import com.moveo.ha.dto.Cursor;
+import com.moveo.ha.dto.project.ProjectDeletionDTO;
 import com.moveo.ha.dto.project.ProjectListDTO;
+import com.moveo.ha.dto.project.ProjectPatchDTO;
 import com.moveo.ha.dto.project.ProjectRequestDTO;
 import com.moveo.ha.dto.project.ProjectResponseDTO;
+import com.moveo.ha.dto.project.ProjectTaskStatsDTO;
+import com.moveo.ha.dto.task.TaskSummaryDTO;
 import com.moveo.ha.entity.Project;
+import com.moveo.ha.entity.ProjectDeletion;
+import com.moveo.ha.entity.ProjectTaskStats;
+import com.moveo.ha.enums.ProjectDeletionStatus;
+import com.moveo.ha.enums.TaskStatus;
 import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import com.moveo.ha.mapper.ProjectMapper;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.ProjectDeletionRepository;
 import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.ProjectTaskStatsRepository;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.projection.ProjectListVersionView;
+import com.moveo.ha.repository.projection.ProjectRowView;
+import com.moveo.ha.repository.projection.ProjectTaskSummaryView;
+import com.moveo.ha.service.ProjectDeletionRequestedEvent;
 import com.moveo.ha.service.ProjectServiceImpl;
+import com.moveo.ha.service.ResponseCaches;
+import com.moveo.ha.service.RowCountEstimator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.*;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -22,15 +47,33 @@ import static org.mockito.Mockito.*;
 
 class ProjectServiceImplTest {
 
+    private static final int EMBEDDED_TASKS_LIMIT = 2;
+    private static final long ASYNC_DELETE_THRESHOLD = 100;
+
     private ProjectRepository repository;
+    private TaskRepository taskRepository;
     private ProjectMapper mapper;
+    private ProjectDeletionRepository deletionRepository;
+    private ProjectTaskStatsRepository statsRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private ResponseCaches responseCaches;
+    private EntityCacheEvictor cacheEvictor;
     private ProjectServiceImpl service;
 
     @BeforeEach
     void setUp() {
         repository = mock(ProjectRepository.class);
+        taskRepository = mock(TaskRepository.class);
         mapper = mock(ProjectMapper.class);
-        service = new ProjectServiceImpl(repository, mapper);
+        deletionRepository = mock(ProjectDeletionRepository.class);
+        statsRepository = mock(ProjectTaskStatsRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        responseCaches = mock(ResponseCaches.class);
+        cacheEvictor = mock(EntityCacheEvictor.class);
+        service = new ProjectServiceImpl(repository, taskRepository, mapper,
+                new ProjectProperties(EMBEDDED_TASKS_LIMIT, ASYNC_DELETE_THRESHOLD, 10),
+                new RowCountEstimator(new PagingProperties(10, Duration.ofSeconds(30))),
+                deletionRepository, statsRepository, eventPublisher, responseCaches, cacheEvictor);
     }
 
     @Test
@@ -41,82 +84,175 @@ class ProjectServiceImplTest {
                 .createdAt(Instant.parse("2025-11-10T11:00:00Z"))
                 .updatedAt(Instant.parse("2025-11-10T11:00:00Z"))
                 .build();
-        var dto = new ProjectResponseDTO(1L, "N", "D", saved.getCreatedAt(), saved.getUpdatedAt(), List.of());
+        var dto = new ProjectResponseDTO(1L, "N", "D", saved.getCreatedAt(), saved.getUpdatedAt(), 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
 
         when(mapper.toEntity(req)).thenReturn(entityToSave);
         when(repository.save(entityToSave)).thenReturn(saved);
-        when(mapper.toResponse(saved)).thenReturn(dto);
+        when(mapper.toResponse(saved, List.of(), ProjectTaskStatsDTO.EMPTY)).thenReturn(dto);
 
         var out = service.createProject(req);
 
         assertThat(out).isEqualTo(dto);
         verify(mapper).toEntity(req);
         verify(repository).save(entityToSave);
-        verify(mapper).toResponse(saved);
+        verify(mapper).toResponse(saved, List.of(), ProjectTaskStatsDTO.EMPTY);
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
-    void updateProject_ok() {
+    void updateProject_ok_singleStatement() {
         var id = 5L;
         var req = new ProjectRequestDTO("New", "Desc");
-        var existing = Project.builder().id(id).name("Old").description("OldD").build();
-        var updated = Project.builder().id(id).name("New").description("Desc").build();
-        var dto = new ProjectResponseDTO(id, "New", "Desc", null, null, List.of());
+        var row = mock(ProjectRowView.class);
+        var dto = new ProjectResponseDTO(id, "New", "Desc", null, null, 1L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
 
-        when(repository.findById(id)).thenReturn(Optional.of(existing));
-        when(repository.save(existing)).thenReturn(updated);
-        when(mapper.toResponse(updated)).thenReturn(dto);
+        when(row.getPreviousName()).thenReturn("Old");
+        when(repository.updateReturning(id, null, "New", "Desc")).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(dto);
+        when(taskRepository.findIdsByProjectId(id)).thenReturn(List.of(10L, 11L));
 
-        var out = service.updateProjectById(id, req);
+        var out = service.updateProjectById(id, req, null);
 
         assertThat(out).isEqualTo(dto);
-        assertThat(existing.getName()).isEqualTo("New");
-        assertThat(existing.getDescription()).isEqualTo("Desc");
-        verify(repository).save(existing);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).findVersionById(any());
+        verify(cacheEvictor).evictProjects(List.of(id));
+        verify(responseCaches).putProject(dto);
+        verify(responseCaches).evictTasks(List.of(10L, 11L));
+    }
+
+    @Test
+    void updateProject_sameName_keepsTaskResponses() {
+        var row = mock(ProjectRowView.class);
+        var dto = new ProjectResponseDTO(5L, "Same", "New desc", null, null, 2L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+        when(row.getPreviousName()).thenReturn("Same");
+        when(repository.updateReturning(5L, null, "Same", "New desc")).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(dto);
+
+        service.updateProjectById(5L, new ProjectRequestDTO("Same", "New desc"), null);
+
+        verify(responseCaches).putProject(dto);
+        verify(taskRepository, never()).findIdsByProjectId(any());
+        verify(responseCaches, never()).evictTasks(any());
     }
 
     @Test
     void updateProject_notFound() {
-        when(repository.findById(42L)).thenReturn(Optional.empty());
-        assertThatThrownBy(() -> service.updateProjectById(42L, new ProjectRequestDTO("A", "B")))
+        when(repository.updateReturning(42L, null, "A", "B")).thenReturn(Optional.empty());
+        when(repository.findVersionById(42L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.updateProjectById(42L, new ProjectRequestDTO("A", "B"), null))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Project 42 not found");
+        verifyNoInteractions(cacheEvictor, responseCaches);
+    }
+
+    @Test
+    void updateProject_staleVersion_preconditionFailed_nothingWritten() {
+        when(repository.updateReturning(5L, 1L, "New", "Desc")).thenReturn(Optional.empty());
+        when(repository.findVersionById(5L)).thenReturn(Optional.of(2L));
+
+        assertThatThrownBy(() -> service.updateProjectById(5L, new ProjectRequestDTO("New", "Desc"), 1L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("Project 5 has version 2, not 1");
+        verify(repository, never()).findResponseById(any());
+        verifyNoInteractions(cacheEvictor, responseCaches);
     }
 
     @Test
-    void getProjectById_ok() {
-        var p = Project.builder().id(2L).name("N").description("D").build();
-        var dto = new ProjectResponseDTO(2L, "N", "D", null, null, List.of());
+    void updateProject_nothingChanged_returnsCurrentState() {
+        when(repository.updateReturning(5L, 1L, "Old", "OldD")).thenReturn(Optional.empty());
+        when(repository.findVersionById(5L)).thenReturn(Optional.of(1L));
+        when(repository.findResponseById(5L)).thenReturn(Optional.of(new ProjectResponseDTO(5L, "Old", "OldD", null, null, 1L)));
+
+        var out = service.updateProjectById(5L, new ProjectRequestDTO("Old", "OldD"), 1L);
+
+        assertThat(out.version()).isEqualTo(1L);
+        verifyNoInteractions(cacheEvictor, responseCaches);
+    }
+
+    @Test
+    void patchProject_passesNullForUntouchedColumns() {
+        var patch = new ProjectPatchDTO("New", null);
+        var row = mock(ProjectRowView.class);
+        var dto = new ProjectResponseDTO(5L, "New", "OldD", null, null, 2L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+        when(row.getPreviousName()).thenReturn("Old");
+        when(repository.updateReturning(5L, 1L, "New", null)).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(dto);
+
+        var out = service.patchProjectById(5L, patch, 1L);
+
+        assertThat(out.version()).isEqualTo(2L);
+        verify(repository, never()).findById(any());
+        verify(responseCaches).putProject(out);
+    }
+
+    @Test
+    void getProjectById_ok_projectsWithoutLoadingEntity() {
+        var dto = new ProjectResponseDTO(2L, "N", "D", null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
+
+        when(repository.findResponseById(2L)).thenReturn(Optional.of(new ProjectResponseDTO(2L, "N", "D", null, null, 0L)));
+
+        var out = service.getProjectById(2L);
+        assertThat(out).isEqualTo(dto);
+        verify(repository, never()).findById(any());
+        verifyNoInteractions(mapper);
+    }
 
-        when(repository.findById(2L)).thenReturn(Optional.of(p));
-        when(mapper.toResponse(p)).thenReturn(dto);
+    @Test
+    void getProjectById_embedsCappedSummaries_andReportsTotal() {
+        var v1 = summaryView(2L, 10L);
+        var v2 = summaryView(2L, 11L);
+        var s1 = new TaskSummaryDTO(10L, "T", TaskStatus.TODO, null);
+        var s2 = new TaskSummaryDTO(11L, "T", TaskStatus.TODO, null);
+        var statsRow = ProjectTaskStats.builder().projectId(2L).todoCount(3).inProgressCount(1).doneCount(1).build();
+        var stats = new ProjectTaskStatsDTO(3, 1, 1);
+        var dto = new ProjectResponseDTO(2L, "N", "D", null, null, 0L, List.of(s1, s2), 5, true, stats);
+
+        when(repository.findResponseById(2L)).thenReturn(Optional.of(new ProjectResponseDTO(2L, "N", "D", null, null, 0L)));
+        when(taskRepository.findTaskSummariesByProjectIds(List.of(2L), EMBEDDED_TASKS_LIMIT))
+                .thenReturn(List.of(v1, v2));
+        when(statsRepository.findAllById(List.of(2L))).thenReturn(List.of(statsRow));
+        when(mapper.toStats(statsRow)).thenReturn(stats);
+        when(mapper.toTaskSummary(v1)).thenReturn(s1);
+        when(mapper.toTaskSummary(v2)).thenReturn(s2);
 
         var out = service.getProjectById(2L);
         assertThat(out).isEqualTo(dto);
+        verify(taskRepository).findTaskSummariesByProjectIds(List.of(2L), EMBEDDED_TASKS_LIMIT);
     }
 
     @Test
     void getProjectById_notFound() {
-        when(repository.findById(99L)).thenReturn(Optional.empty());
+        when(repository.findResponseById(99L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.getProjectById(99L))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Project 99 not found");
     }
 
+    @Test
+    void getProjectListVersion_movesWithAnyCountOrTimestamp() {
+        var version = mock(ProjectListVersionView.class);
+        when(version.getProjectCount()).thenReturn(2L);
+        when(version.getTasksUpdatedAt()).thenReturn(Instant.parse("2025-11-10T15:10:00Z"));
+        when(repository.findListVersion()).thenReturn(version);
+
+        var out = service.getProjectListVersion();
+
+        assertThat(service.getProjectListVersion()).isEqualTo(out);
+        when(version.getProjectCount()).thenReturn(1L);
+        assertThat(service.getProjectListVersion()).isNotEqualTo(out);
+        verify(repository, never()).findResponses(any(), any(), anyLong(), anyInt());
+    }
+
     @Test
     void getPageOfProjects_ok_withSortMeta() {
         var pageable = PageRequest.of(0, 2, Sort.by(Sort.Order.asc("name")));
 
-        var e1 = Project.builder().id(1L).name("A").description("D1").build();
-        var e2 = Project.builder().id(2L).name("B").description("D2").build();
-        var page = new PageImpl<>(List.of(e1, e2), pageable, 5);
+        var d1 = new ProjectResponseDTO(1L, "A", "D1", null, null, 0L);
+        var d2 = new ProjectResponseDTO(2L, "B", "D2", null, null, 0L);
 
-        var d1 = new ProjectResponseDTO(1L, "A", "D1", null, null, List.of());
-        var d2 = new ProjectResponseDTO(2L, "B", "D2", null, null, List.of());
-
-        when(repository.findAll(pageable)).thenReturn(page);
-        when(mapper.toResponse(e1)).thenReturn(d1);
-        when(mapper.toResponse(e2)).thenReturn(d2);
+        when(repository.count()).thenReturn(5L);
+        when(repository.findResponses(null, pageable.getSort(), 0L, 2)).thenReturn(List.of(d1, d2));
 
         ProjectListDTO out = service.getPageOfProjects(pageable);
 
@@ -134,35 +270,183 @@ class ProjectServiceImplTest {
     @Test
     void getPageOfProjects_outOfRange_throwsBadRequest() {
         var asked = PageRequest.of(5, 2, Sort.by("id"));
-        var emptyPage = new PageImpl<Project>(List.of(), asked, 6); // -> totalPages=3
 
-        when(repository.findAll(asked)).thenReturn(emptyPage);
+        when(repository.count()).thenReturn(6L); // -> totalPages=3
 
         assertThatThrownBy(() -> service.getPageOfProjects(asked))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("This page does not exist");
+        verify(repository, never()).findResponses(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getSliceOfProjects_skipsCount_andReportsHasNext() {
+        var pageable = PageRequest.of(0, 1, Sort.by("id"));
+        var d1 = new ProjectResponseDTO(1L, "A", "D1", null, null, 0L);
+        var d2 = new ProjectResponseDTO(2L, "B", "D2", null, null, 0L);
+
+        when(repository.findResponses(null, pageable.getSort(), 0L, 2)).thenReturn(List.of(d1, d2));
+
+        ProjectListDTO out = service.getSliceOfProjects(pageable);
+
+        assertThat(out.getProjects()).containsExactly(d1);
+        assertThat(out.isLast()).isFalse();
+        assertThat(out.getTotalProjects()).isNull();
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void getEstimatedPageOfProjects_usesPlannerEstimate() {
+        var pageable = PageRequest.of(0, 1, Sort.by("id"));
+        var d1 = new ProjectResponseDTO(1L, "A", "D1", null, null, 0L);
+        var d2 = new ProjectResponseDTO(2L, "B", "D2", null, null, 0L);
+
+        when(repository.findResponses(null, pageable.getSort(), 0L, 2)).thenReturn(List.of(d1, d2));
+        when(repository.estimateCount()).thenReturn(50L);
+
+        ProjectListDTO out = service.getEstimatedPageOfProjects(pageable);
+
+        assertThat(out.getTotalProjects()).isEqualTo(50L);
+        assertThat(out.getTotalPages()).isEqualTo(50);
+        assertThat(out.isTotalEstimated()).isTrue();
+        verify(repository, never()).count();
     }
 
     @Test
-    void deleteProjectById_ok() {
+    void getWindowOfProjects_moreRows_returnsCursorOfLastReturnedRow() {
+        var d1 = new ProjectResponseDTO(1L, "A", "D1", null, null, 0L);
+        var d2 = new ProjectResponseDTO(2L, "B", "D2", null, null, 0L);
+
+        when(repository.findResponses(any(), any(), eq(0L), eq(2))).thenReturn(List.of(d1, d2));
+
+        var out = service.getWindowOfProjects(Sort.by("name"), 1, null);
+
+        assertThat(out.getProjects()).containsExactly(d1);
+        assertThat(out.isLast()).isFalse();
+        assertThat(out.getTotalProjects()).isNull();
+        assertThat(Cursor.decode(out.getNextCursor())).isEqualTo(new Cursor("name", "asc", 1L, "A"));
+    }
+
+    @Test
+    void deleteProjectById_ok_bulkDeletesWithoutLoadingTasks() {
         var id = 7L;
-        var e = Project.builder().id(id).name("N").description("D").build();
-        var dto = new ProjectResponseDTO(id, "N", "D", null, null, List.of());
+        var dto = new ProjectResponseDTO(id, "N", "D", null, null, 0L, List.of(), 0, false, ProjectTaskStatsDTO.EMPTY);
 
-        when(repository.findById(id)).thenReturn(Optional.of(e));
-        when(mapper.toResponse(e)).thenReturn(dto);
+        when(repository.findResponseById(id)).thenReturn(Optional.of(new ProjectResponseDTO(id, "N", "D", null, null, 0L)));
+        when(taskRepository.findIdsByProjectId(id)).thenReturn(List.of(70L, 71L));
 
         var out = service.deleteProjectById(id);
 
         assertThat(out).isEqualTo(dto);
-        verify(repository).delete(e);
+        var order = inOrder(taskRepository, repository);
+        order.verify(taskRepository).findIdsByProjectId(id);
+        order.verify(repository).deleteByIdCascading(id);
+        verify(responseCaches).evictProject(id);
+        verify(responseCaches).evictTasks(List.of(70L, 71L));
+        verify(repository, never()).findById(any());
+        verify(repository, never()).delete(any());
     }
 
     @Test
     void deleteProjectById_notFound() {
-        when(repository.findById(77L)).thenReturn(Optional.empty());
+        when(repository.findResponseById(77L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.deleteProjectById(77L))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Project 77 not found");
+        verify(repository, never()).deleteByIdCascading(any());
+    }
+
+    @Test
+    void scheduleDeletionIfLarge_smallProject_leftToInlineDelete() {
+        when(deletionRepository.findById(7L)).thenReturn(Optional.empty());
+        when(repository.existsById(7L)).thenReturn(true);
+        stubStats(7L, ASYNC_DELETE_THRESHOLD);
+
+        assertThat(service.scheduleDeletionIfLarge(7L)).isEmpty();
+        verify(deletionRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void scheduleDeletionIfLarge_largeProject_recordsPendingAndPublishes() {
+        var dto = new ProjectDeletionDTO(7L, ProjectDeletionStatus.PENDING, 500, 0, null, null, null);
+
+        when(deletionRepository.findById(7L)).thenReturn(Optional.empty());
+        when(repository.existsById(7L)).thenReturn(true);
+        stubStats(7L, 500L);
+        when(deletionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(mapper.toDeletionResponse(any())).thenReturn(dto);
+
+        var out = service.scheduleDeletionIfLarge(7L);
+
+        assertThat(out).contains(dto);
+        var captor = ArgumentCaptor.forClass(ProjectDeletion.class);
+        verify(deletionRepository).save(captor.capture());
+        assertThat(captor.getValue().getProjectId()).isEqualTo(7L);
+        assertThat(captor.getValue().getStatus()).isEqualTo(ProjectDeletionStatus.PENDING);
+        assertThat(captor.getValue().getTotalTasks()).isEqualTo(500L);
+        verify(eventPublisher).publishEvent(new ProjectDeletionRequestedEvent(7L));
+    }
+
+    @Test
+    void scheduleDeletionIfLarge_alreadyRunning_returnsExisting() {
+        var running = ProjectDeletion.builder().projectId(7L).status(ProjectDeletionStatus.RUNNING).build();
+        var dto = new ProjectDeletionDTO(7L, ProjectDeletionStatus.RUNNING, 500, 100, null, null, null);
+
+        when(deletionRepository.findById(7L)).thenReturn(Optional.of(running));
+        when(mapper.toDeletionResponse(running)).thenReturn(dto);
+
+        assertThat(service.scheduleDeletionIfLarge(7L)).contains(dto);
+        verify(statsRepository, never()).findById(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void getTaskStats_readsStatsRow() {
+        when(repository.existsById(3L)).thenReturn(true);
+        var stats = stubStats(3L, 7L);
+
+        assertThat(service.getTaskStats(3L)).isEqualTo(stats);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void getTaskStats_projectWithoutTasks_allZero() {
+        when(repository.existsById(3L)).thenReturn(true);
+        when(statsRepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertThat(service.getTaskStats(3L)).isEqualTo(ProjectTaskStatsDTO.EMPTY);
+    }
+
+    @Test
+    void getTaskStats_notFound() {
+        when(repository.existsById(3L)).thenReturn(false);
+        assertThatThrownBy(() -> service.getTaskStats(3L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Project 3 not found");
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void getDeletion_notFound() {
+        when(deletionRepository.findById(8L)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.getDeletion(8L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Deletion of project 8 not found");
+    }
+
+    private static ProjectTaskSummaryView summaryView(long projectId, long taskId) {
+        var v = mock(ProjectTaskSummaryView.class);
+        when(v.getProjectId()).thenReturn(projectId);
+        when(v.getId()).thenReturn(taskId);
+        return v;
+    }
+
+    private ProjectTaskStatsDTO stubStats(long projectId, long todo) {
+        var row = ProjectTaskStats.builder().projectId(projectId).todoCount(todo).build();
+        var stats = new ProjectTaskStatsDTO(todo, 0, 0);
+        when(statsRepository.findById(projectId)).thenReturn(Optional.of(row));
+        when(mapper.toStats(row)).thenReturn(stats);
+        return stats;
     }
 }
@@ -0,0 +1,64 @@
+package com.moveo.ha.project;
+
+import com.moveo.ha.config.ProjectStatsProperties;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.ProjectTaskStatsRepository;
+import com.moveo.ha.service.ProjectTaskStatsReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProjectTaskStatsReconcilerTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private ProjectRepository projectRepository;
+    private ProjectTaskStatsRepository statsRepository;
+    private PlatformTransactionManager txManager;
+    private ProjectTaskStatsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        statsRepository = mock(ProjectTaskStatsRepository.class);
+        txManager = mock(PlatformTransactionManager.class);
+        reconciler = new ProjectTaskStatsReconciler(projectRepository, statsRepository,
+                new ProjectStatsProperties("-", BATCH_SIZE), new TransactionTemplate(txManager));
+    }
+
+    @Test
+    void walksProjectsInBatches_locksBeforeRecounting() {
+        when(projectRepository.findIdsAfter(0L, BATCH_SIZE)).thenReturn(List.of(1L, 2L));
+        when(projectRepository.findIdsAfter(2L, BATCH_SIZE)).thenReturn(List.of(5L));
+        when(projectRepository.findIdsAfter(5L, BATCH_SIZE)).thenReturn(List.of());
+        when(statsRepository.recount(any())).thenReturn(List.of());
+
+        reconciler.reconcileAll();
+
+        InOrder order = inOrder(statsRepository);
+        order.verify(statsRepository).insertMissing(List.of(1L, 2L));
+        order.verify(statsRepository).lockByProjectIds(List.of(1L, 2L));
+        order.verify(statsRepository).recount(List.of(1L, 2L));
+        order.verify(statsRepository).insertMissing(List.of(5L));
+        order.verify(statsRepository).lockByProjectIds(List.of(5L));
+        order.verify(statsRepository).recount(List.of(5L));
+        // one transaction per batch
+        verify(txManager, times(2)).commit(any());
+    }
+
+    @Test
+    void noProjects_noTransactions() {
+        when(projectRepository.findIdsAfter(0L, BATCH_SIZE)).thenReturn(List.of());
+
+        reconciler.reconcileAll();
+
+        verifyNoInteractions(statsRepository, txManager);
+    }
+}
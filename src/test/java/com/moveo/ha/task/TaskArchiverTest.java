@@ -0,0 +1,95 @@
+package com.moveo.ha.task;
+
+import com.moveo.ha.config.TaskArchiveProperties;
+import com.moveo.ha.repository.EntityCacheEvictor;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.projection.ArchivedTaskView;
+import com.moveo.ha.service.ResponseCaches;
+import com.moveo.ha.service.TaskArchiver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TaskArchiverTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private TaskRepository taskRepository;
+    private PlatformTransactionManager txManager;
+    private EntityCacheEvictor cacheEvictor;
+    private ResponseCaches responseCaches;
+    private TaskArchiver archiver;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        txManager = mock(PlatformTransactionManager.class);
+        cacheEvictor = mock(EntityCacheEvictor.class);
+        responseCaches = mock(ResponseCaches.class);
+        archiver = new TaskArchiver(taskRepository,
+                new TaskArchiveProperties("-", Duration.ofDays(90), BATCH_SIZE),
+                new TransactionTemplate(txManager), cacheEvictor, responseCaches);
+    }
+
+    private ArchivedTaskView archived(long id, long projectId) {
+        var view = mock(ArchivedTaskView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getProjectId()).thenReturn(projectId);
+        return view;
+    }
+
+    @Test
+    void movesBatchesUntilOneComesBackShort_withOneCutoff() {
+        var first = List.of(archived(1L, 7L), archived(2L, 8L));
+        var last = List.of(archived(3L, 7L));
+        when(taskRepository.archiveDoneBefore(any(), eq(BATCH_SIZE))).thenReturn(first, last);
+
+        var before = Instant.now().minus(Duration.ofDays(90));
+        archiver.archiveDone();
+
+        var cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(taskRepository, times(2)).archiveDoneBefore(cutoff.capture(), eq(BATCH_SIZE));
+        assertThat(cutoff.getAllValues()).containsOnly(cutoff.getValue());
+        assertThat(cutoff.getValue()).isBetween(before, Instant.now().minus(Duration.ofDays(90)));
+        // one transaction per batch
+        verify(txManager, times(2)).commit(any());
+    }
+
+    @Test
+    void evictsEachBatchsTasksAndTheirProjects() {
+        var first = List.of(archived(1L, 7L), archived(2L, 7L));
+        var last = List.of(archived(3L, 8L));
+        when(taskRepository.archiveDoneBefore(any(), eq(BATCH_SIZE))).thenReturn(first, last);
+
+        archiver.archiveDone();
+
+        verify(cacheEvictor).evictTasks(List.of(1L, 2L));
+        verify(cacheEvictor).evictProjectTasks(Set.of(7L));
+        verify(responseCaches).evictTasks(List.of(1L, 2L));
+        verify(responseCaches).evictProjects(Set.of(7L));
+        verify(cacheEvictor).evictTasks(List.of(3L));
+        verify(responseCaches).evictProjects(Set.of(8L));
+    }
+
+    @Test
+    void nothingToArchive_evictsNothing() {
+        when(taskRepository.archiveDoneBefore(any(), eq(BATCH_SIZE))).thenReturn(List.of());
+
+        archiver.archiveDone();
+
+        verify(taskRepository).archiveDoneBefore(any(), eq(BATCH_SIZE));
+        verifyNoInteractions(cacheEvictor, responseCaches);
+    }
+}
@@ -2,29 +2,50 @@ package com.moveo.ha.task;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moveo.ha.WebMvcTestSecurity;
+import com.moveo.ha.config.QueryBudget;
 import com.moveo.ha.controller.TaskController;
+import com.moveo.ha.dto.Cursor;
 import com.moveo.ha.dto.project.ProjectSummaryDTO;
+import com.moveo.ha.dto.task.TaskBatchRequestDTO;
+import com.moveo.ha.dto.task.TaskFilter;
 import com.moveo.ha.dto.task.TaskListDTO;
+import com.moveo.ha.dto.task.TaskPatchDTO;
 import com.moveo.ha.dto.task.TaskRequestDTO;
 import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.dto.task.TaskSearchResultDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateResultDTO;
 import com.moveo.ha.enums.TaskStatus;
 import com.moveo.ha.error.MoveoHAExceptionHandler;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import com.moveo.ha.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.RequestMapping;
 
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -51,6 +72,7 @@ public class TaskControllerTest {
                 TaskStatus.IN_PROGRESS,
                 Instant.parse("2025-11-10T15:00:00Z"),
                 Instant.parse("2025-11-10T15:12:00Z"),
+                0L,
                 new ProjectSummaryDTO(1L, "Website Redesign", Instant.parse("2025-11-10T15:12:00Z"))
         );
     }
@@ -70,6 +92,21 @@ public class TaskControllerTest {
                 .andExpect(jsonPath("$.id").value(100));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void createTask_unknownProject_foreignKeyViolation404() throws Exception {
+        var fk = new SQLException("insert or update on table \"tasks\" violates foreign key constraint", "23503");
+        when(taskService.createTask(any()))
+                .thenThrow(new DataIntegrityViolationException("fk_tasks_project", fk));
+
+        mvc.perform(post("/api/v1/tasks")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(validReq())))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404));
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN","USER"})
     void createTask_validation400_blankFields() throws Exception {
@@ -96,6 +133,74 @@ public class TaskControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void createTasks_batch_created201() throws Exception {
+        when(taskService.createTasks(any())).thenReturn(List.of(sampleDto(100L), sampleDto(101L)));
+
+        mvc.perform(post("/api/v1/tasks/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new TaskBatchRequestDTO(List.of(validReq(), validReq())))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id").value(101));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void createTasks_batch_emptyOrInvalidItem400() throws Exception {
+        mvc.perform(post("/api/v1/tasks/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new TaskBatchRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        var bad = new TaskRequestDTO(1L, "", "d", TaskStatus.TODO);
+        mvc.perform(post("/api/v1/tasks/batch")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(new TaskBatchRequestDTO(List.of(validReq(), bad)))))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).createTasks(any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void updateStatus_ok200_returnsCount() throws Exception {
+        when(taskService.updateStatus(any())).thenReturn(new TaskStatusUpdateResultDTO(2, List.of(1L, 2L)));
+
+        mvc.perform(post("/api/v1/tasks/status")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"status":"DONE","projectId":1,"currentStatus":"IN_PROGRESS"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void updateStatus_ambiguousSelector400() throws Exception {
+        mvc.perform(post("/api/v1/tasks/status")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"status":"DONE","ids":[1,2],"projectId":1}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        mvc.perform(post("/api/v1/tasks/status")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"status":"DONE","projectId":1}
+                                """))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).updateStatus(any());
+    }
+
     @Test
     void createTask_unauthenticated401() throws Exception {
         mvc.perform(post("/api/v1/tasks")
@@ -120,7 +225,7 @@ public class TaskControllerTest {
     @Test
     @WithMockUser(roles = {"ADMIN","USER"})
     void updateTask_ok200() throws Exception {
-        when(taskService.updateTaskById(eq(5L), any())).thenReturn(sampleDto(5L));
+        when(taskService.updateTaskById(eq(5L), any(), isNull())).thenReturn(sampleDto(5L));
 
         mvc.perform(post("/api/v1/tasks/5")
                         .with(csrf())
@@ -133,7 +238,7 @@ public class TaskControllerTest {
     @Test
     @WithMockUser(roles = {"ADMIN","USER"})
     void updateTask_notFound404() throws Exception {
-        when(taskService.updateTaskById(eq(999L), any()))
+        when(taskService.updateTaskById(eq(999L), any(), any()))
                 .thenThrow(new NotFoundException("Task 999 not found"));
 
         mvc.perform(post("/api/v1/tasks/999")
@@ -143,6 +248,85 @@ public class TaskControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void updateTask_ifMatchVersion_passedToService() throws Exception {
+        when(taskService.updateTaskById(eq(5L), any(), eq(3L))).thenReturn(sampleDto(5L));
+
+        mvc.perform(post("/api/v1/tasks/5")
+                        .with(csrf())
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(validReq())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void updateTask_staleVersion_412() throws Exception {
+        when(taskService.updateTaskById(eq(5L), any(), eq(2L)))
+                .thenThrow(new PreconditionFailedException("Task 5 has version 3, not 2"));
+
+        mvc.perform(post("/api/v1/tasks/5")
+                        .with(csrf())
+                        .header("If-Match", "\"2-0123456789abcdef\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(validReq())))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void updateTask_weakIfMatch_412_withoutCallingService() throws Exception {
+        mvc.perform(post("/api/v1/tasks/5")
+                        .with(csrf())
+                        .header("If-Match", "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(validReq())))
+                .andExpect(status().isPreconditionFailed());
+        verify(taskService, never()).updateTaskById(any(), any(), any());
+    }
+
+    // ---------- PATCH ----------
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void patchTask_mergePatch_statusOnly_ok200() throws Exception {
+        when(taskService.patchTaskById(eq(5L), any(), isNull())).thenReturn(sampleDto(5L));
+
+        mvc.perform(patch("/api/v1/tasks/5")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(5));
+        verify(taskService).patchTaskById(5L, new TaskPatchDTO(null, null, null, TaskStatus.DONE), null);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void patchTask_explicitNull_400() throws Exception {
+        mvc.perform(patch("/api/v1/tasks/5")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("'title' cannot be null")));
+        verify(taskService, never()).patchTaskById(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void patchTask_blankTitle_400() throws Exception {
+        mvc.perform(patch("/api/v1/tasks/5")
+                        .with(csrf())
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"  \"}"))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).patchTaskById(any(), any(), any());
+    }
+
     // ---------- GET BY ID ----------
 
     @Test
@@ -152,9 +336,60 @@ public class TaskControllerTest {
 
         mvc.perform(get("/api/v1/tasks/10"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"0-")))
+                .andExpect(header().string("Last-Modified", "Mon, 10 Nov 2025 15:12:00 GMT"))
                 .andExpect(jsonPath("$.project.id").value(1));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getTaskById_matchingETag_304() throws Exception {
+        when(taskService.getTaskById(10L)).thenReturn(sampleDto(10L));
+        var etag = mvc.perform(get("/api/v1/tasks/10")).andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/v1/tasks/10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getTaskById_etagFollowsTheReturnedBody() throws Exception {
+        var before = sampleDto(10L);
+        var renamed = new TaskResponseDTO(10L, before.title(), before.description(), before.status(),
+                before.createdAt(), before.updatedAt(), before.version(),
+                new ProjectSummaryDTO(1L, "Renamed", Instant.parse("2025-11-10T16:00:00Z")));
+        when(taskService.getTaskById(10L)).thenReturn(before, renamed);
+        var etag = mvc.perform(get("/api/v1/tasks/10")).andReturn().getResponse().getHeader("ETag");
+
+        // a tag is only ever sent with the body it was computed from
+        mvc.perform(get("/api/v1/tasks/10").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.project.name").value("Renamed"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getTaskById_notModifiedSince_304() throws Exception {
+        when(taskService.getTaskById(10L)).thenReturn(sampleDto(10L));
+
+        mvc.perform(get("/api/v1/tasks/10").header("If-Modified-Since", "Mon, 10 Nov 2025 15:12:00 GMT"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getTaskById_includeArchived_readsArchiveFallback() throws Exception {
+        when(taskService.getTaskByIdIncludingArchived(10L)).thenReturn(sampleDto(10L));
+
+        mvc.perform(get("/api/v1/tasks/10").param("includeArchived", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.id").value(10));
+        verify(taskService, never()).getTaskById(any());
+    }
+
     @Test
     @WithMockUser(roles = {"ADMIN","USER"})
     void getTaskById_notFound404() throws Exception {
@@ -176,7 +411,7 @@ public class TaskControllerTest {
     @WithMockUser(roles = {"ADMIN","USER"})
     void getPage_ok200() throws Exception {
         var list = TaskListDTO.builder()
-                .totalTasks(2)
+                .totalTasks(2L)
                 .pageNumber(0)
                 .pageSize(20)
                 .totalPages(1)
@@ -187,7 +422,8 @@ public class TaskControllerTest {
                 .tasks(List.of(sampleDto(1L), sampleDto(2L)))
                 .build();
 
-        when(taskService.getPageOfTasks(any())).thenReturn(list);
+        when(taskService.getTaskListVersion(any())).thenReturn("\"v1\"");
+        when(taskService.getPageOfTasks(any(), any())).thenReturn(list);
 
         mvc.perform(get("/api/v1/tasks")
                         .param("pageNumber", "0")
@@ -195,10 +431,155 @@ public class TaskControllerTest {
                         .param("sortBy", "id")
                         .param("sortDir", "asc"))
                 .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
                 .andExpect(jsonPath("$.totalTasks").value(2))
                 .andExpect(jsonPath("$.tasks", hasSize(2)));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_unchangedVersion_304_withoutQueryingThePage() throws Exception {
+        when(taskService.getTaskListVersion(any())).thenReturn("\"v1\"");
+        when(taskService.getPageOfTasks(any(), any())).thenReturn(TaskListDTO.builder().tasks(List.of()).build());
+        var etag = mvc.perform(get("/api/v1/tasks").param("projectId", "1"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/v1/tasks").param("projectId", "1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(taskService, times(1)).getPageOfTasks(any(), any());
+
+        // same rows, another page
+        mvc.perform(get("/api/v1/tasks").param("projectId", "1").param("pageNumber", "1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        // another version of the rows
+        when(taskService.getTaskListVersion(any())).thenReturn("\"v2\"");
+        mvc.perform(get("/api/v1/tasks").param("projectId", "1").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_cursorMode_ok200_returnsNextCursor() throws Exception {
+        var window = TaskListDTO.builder()
+                .pageNumber(0)
+                .pageSize(1)
+                .first(true)
+                .last(false)
+                .sortBy("createdAt")
+                .sortDir("desc")
+                .nextCursor("abc")
+                .tasks(List.of(sampleDto(1L)))
+                .build();
+
+        when(taskService.getWindowOfTasks(any(), any(), eq(1), isNull())).thenReturn(window);
+
+        mvc.perform(get("/api/v1/tasks")
+                        .param("paging", "cursor")
+                        .param("pageSize", "1")
+                        .param("sortBy", "createdAt")
+                        .param("sortDir", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("abc"))
+                .andExpect(jsonPath("$.totalTasks").value(nullValue()))
+                .andExpect(jsonPath("$.tasks", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_estimatedMode_ok200_delegatesToEstimatedPage() throws Exception {
+        var page = TaskListDTO.builder()
+                .totalTasks(1_000L)
+                .totalPages(50)
+                .totalEstimated(true)
+                .pageNumber(0)
+                .pageSize(20)
+                .first(true)
+                .last(false)
+                .sortBy("id")
+                .sortDir("asc")
+                .tasks(List.of(sampleDto(1L)))
+                .build();
+
+        when(taskService.getEstimatedPageOfTasks(any(), any())).thenReturn(page);
+
+        mvc.perform(get("/api/v1/tasks").param("paging", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEstimated").value(true))
+                .andExpect(jsonPath("$.totalTasks").value(1000));
+        verify(taskService, never()).getPageOfTasks(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_unknownPagingMode_400() throws Exception {
+        mvc.perform(get("/api/v1/tasks").param("paging", "fast"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_cursorForOtherSort_400() throws Exception {
+        var cursor = Cursor.after("id", "asc", 5L, 5L).encode();
+
+        mvc.perform(get("/api/v1/tasks")
+                        .param("cursor", cursor)
+                        .param("sortBy", "createdAt")
+                        .param("sortDir", "asc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_malformedCursor_400() throws Exception {
+        mvc.perform(get("/api/v1/tasks").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_filters_boundAndPassedToService() throws Exception {
+        var list = TaskListDTO.builder().pageNumber(0).pageSize(20).first(true).last(true)
+                .sortBy("updatedAt").sortDir("desc").tasks(List.of(sampleDto(1L))).build();
+        when(taskService.getSliceOfTasks(any(), any())).thenReturn(list);
+
+        mvc.perform(get("/api/v1/tasks")
+                        .param("paging", "slice")
+                        .param("sortBy", "updatedAt")
+                        .param("sortDir", "desc")
+                        .param("projectId", "1")
+                        .param("status", "TODO", "IN_PROGRESS")
+                        .param("updatedFrom", "2025-11-01T00:00:00Z")
+                        .param("updatedTo", "2025-12-01T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks", hasSize(1)));
+
+        var expected = TaskFilter.builder()
+                .projectId(1L)
+                .status(List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS))
+                .updatedFrom(Instant.parse("2025-11-01T00:00:00Z"))
+                .updatedTo(Instant.parse("2025-12-01T00:00:00Z"))
+                .build();
+        verify(taskService).getSliceOfTasks(eq(expected), any());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_emptyRange_400() throws Exception {
+        mvc.perform(get("/api/v1/tasks")
+                        .param("createdFrom", "2025-12-01T00:00:00Z")
+                        .param("createdTo", "2025-11-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void getPage_unknownStatus_400() throws Exception {
+        mvc.perform(get("/api/v1/tasks").param("status", "BLOCKED"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getPage_unauthenticated401() throws Exception {
         mvc.perform(get("/api/v1/tasks")
@@ -209,6 +590,30 @@ public class TaskControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    // ---------- SEARCH ----------
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void search_ok200() throws Exception {
+        var result = TaskSearchResultDTO.builder()
+                .query("sprint demo").pageNumber(0).pageSize(20).first(true).last(true)
+                .tasks(List.of()).build();
+        when(taskService.searchTasks("sprint demo", 1L, 0, 20)).thenReturn(result);
+
+        mvc.perform(get("/api/v1/tasks/search").param("q", " sprint demo ").param("projectId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.query").value("sprint demo"))
+                .andExpect(jsonPath("$.tasks", hasSize(0)));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN","USER"})
+    void search_blankQuery_400() throws Exception {
+        mvc.perform(get("/api/v1/tasks/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+        verify(taskService, never()).searchTasks(any(), any(), anyInt(), anyInt());
+    }
+
     // ---------- DELETE ----------
 
     @Test
@@ -243,4 +648,16 @@ public class TaskControllerTest {
         mvc.perform(delete("/api/v1/tasks/1").with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    // ---------- QUERY BUDGET ----------
+
+    @Test
+    void everyHandlerDeclaresAQueryBudget() {
+        var handlers = Arrays.stream(TaskController.class.getDeclaredMethods())
+                .filter(m -> AnnotatedElementUtils.hasAnnotation(m, RequestMapping.class))
+                .toList();
+
+        assertThat(handlers).isNotEmpty().allSatisfy(m -> assertThat(m.getAnnotation(QueryBudget.class))
+                .as("@QueryBudget on %s", m.getName()).isNotNull());
+    }
 }
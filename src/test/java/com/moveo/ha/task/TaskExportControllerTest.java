@@ -0,0 +1,84 @@
+package com.moveo.ha.task;
+
+import com.moveo.ha.WebMvcTestSecurity;
+import com.moveo.ha.controller.TaskExportController;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.error.MoveoHAExceptionHandler;
+import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.service.TaskExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TaskExportController.class)
+@Import({WebMvcTestSecurity.class, MoveoHAExceptionHandler.class})
+class TaskExportControllerTest {
+
+    @Autowired MockMvc mvc;
+
+    @MockitoBean TaskExportService taskExportService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportCsv_streamsBody() throws Exception {
+        when(taskExportService.exportTasks(eq(1L), eq(FileFormat.CSV), any())).thenAnswer(inv -> {
+            inv.<OutputStream>getArgument(2).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        var started = mvc.perform(get("/api/v1/tasks/export").param("projectId", "1").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"tasks.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void unknownProject_notFound404_beforeStreaming() throws Exception {
+        doThrow(new NotFoundException("Project 9 not found")).when(taskExportService).requireExportable(9L);
+
+        mvc.perform(get("/api/v1/tasks/export").param("projectId", "9"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(header().doesNotExist("Content-Disposition"));
+        verify(taskExportService, never()).exportTasks(any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void unknownFormat_badRequest400() throws Exception {
+        mvc.perform(get("/api/v1/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        verify(taskExportService, never()).exportTasks(any(), any(), any());
+    }
+
+    @Test
+    void export_unauthenticated401() throws Exception {
+        mvc.perform(get("/api/v1/tasks/export"))
+                .andExpect(status().isUnauthorized());
+    }
+}
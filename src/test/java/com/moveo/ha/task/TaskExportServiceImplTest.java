@@ -0,0 +1,96 @@
+package com.moveo.ha.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.moveo.ha.config.TaskExportProperties;
+import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.enums.TaskStatus;
+import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.service.TaskExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskExportServiceImplTest {
+
+    private static final Instant TS = Instant.parse("2025-11-10T15:00:00Z");
+
+    private TaskRepository taskRepo;
+    private ProjectRepository projectRepo;
+    private TaskExportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo = mock(TaskRepository.class);
+        projectRepo = mock(ProjectRepository.class);
+        var objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new TaskExportServiceImpl(taskRepo, projectRepo, objectMapper, new TaskExportProperties(500));
+    }
+
+    private static TaskResponseDTO task(long id, String title) {
+        return new TaskResponseDTO(id, title, "d", TaskStatus.TODO, TS, TS, 0L, 1L, "P", TS);
+    }
+
+    @Test
+    void ndjson_oneObjectPerLine_andClosesCursor() throws Exception {
+        var closed = new AtomicBoolean();
+        when(taskRepo.streamResponses(isNull(), eq(Sort.by("id")), eq(500)))
+                .thenReturn(Stream.of(task(1, "A"), task(2, "B")).onClose(() -> closed.set(true)));
+        var out = new ByteArrayOutputStream();
+
+        var exported = service.exportTasks(null, FileFormat.NDJSON, out);
+
+        assertThat(exported).isEqualTo(2);
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("{\"id\":1,\"title\":\"A\"").contains("\"project\":{\"id\":1");
+        assertThat(lines.get(1)).startsWith("{\"id\":2,\"title\":\"B\"");
+        assertThat(closed).isTrue();
+        verifyNoInteractions(projectRepo);
+    }
+
+    @Test
+    void csv_headerThenFlatRows() throws Exception {
+        when(taskRepo.streamResponses(notNull(), any(), anyInt())).thenReturn(Stream.of(task(1, "A")));
+        var out = new ByteArrayOutputStream();
+
+        service.exportTasks(1L, FileFormat.CSV, out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8).lines().toList()).containsExactly(
+                "id,projectId,projectName,title,description,status,createdAt,updatedAt",
+                "1,1,P,A,d,TODO,2025-11-10T15:00:00Z,2025-11-10T15:00:00Z");
+    }
+
+    @Test
+    void requireExportable_unknownProject_notFound() {
+        when(projectRepo.existsById(9L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.requireExportable(9L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Project 9 not found");
+        verifyNoInteractions(taskRepo);
+    }
+
+    @Test
+    void requireExportable_allTasks_noLookup() {
+        service.requireExportable(null);
+
+        verifyNoInteractions(projectRepo);
+    }
+}
@@ -0,0 +1,63 @@
+package com.moveo.ha.task;
+
+import com.moveo.ha.WebMvcTestSecurity;
+import com.moveo.ha.controller.TaskImportController;
+import com.moveo.ha.dto.task.TaskImportResultDTO;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.error.MoveoHAExceptionHandler;
+import com.moveo.ha.service.TaskImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TaskImportController.class)
+@Import({WebMvcTestSecurity.class, MoveoHAExceptionHandler.class})
+class TaskImportControllerTest {
+
+    @Autowired MockMvc mvc;
+
+    @MockitoBean TaskImportService taskImportService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importCsv_ok200_reportsCounts() throws Exception {
+        var result = new TaskImportResultDTO(1, 1, List.of(new TaskImportResultDTO.Rejection(2, "title: must not be blank")));
+        when(taskImportService.importTasks(any(), eq(FileFormat.CSV))).thenReturn(result);
+
+        mvc.perform(post("/api/v1/admin/tasks/import")
+                        .with(csrf())
+                        .contentType("text/csv; charset=UTF-8")
+                        .content("projectId,title,description,status\n1,T,D,TODO\n1,,D,TODO\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.rejections[0].row").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void import_forbidden403() throws Exception {
+        mvc.perform(post("/api/v1/admin/tasks/import")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n"))
+                .andExpect(status().isForbidden());
+        verify(taskImportService, never()).importTasks(any(), any());
+    }
+}
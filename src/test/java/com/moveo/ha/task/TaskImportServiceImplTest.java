@@ -0,0 +1,110 @@
+package com.moveo.ha.task;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moveo.ha.config.TaskImportProperties;
+import com.moveo.ha.enums.FileFormat;
+import com.moveo.ha.enums.TaskStatus;
+import com.moveo.ha.error.BadRequestException;
+import com.moveo.ha.repository.ProjectRepository;
+import com.moveo.ha.repository.TaskCopyRepository;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.service.ResponseCaches;
+import com.moveo.ha.service.TaskImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskImportServiceImplTest {
+
+    private TaskRepository taskRepo;
+    private ProjectRepository projectRepo;
+    private TaskCopyRepository copyRepo;
+    private TaskImportServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        taskRepo = mock(TaskRepository.class);
+        projectRepo = mock(ProjectRepository.class);
+        copyRepo = mock(TaskCopyRepository.class);
+        service = new TaskImportServiceImpl(taskRepo, projectRepo, copyRepo, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(), new TaskImportProperties(2, 10),
+                mock(ResponseCaches.class));
+
+        when(projectRepo.findExistingIds(anyCollection())).thenAnswer(inv -> {
+            var ids = inv.<java.util.Collection<Long>>getArgument(0);
+            return ids.stream().filter(id -> id < 100).toList();
+        });
+        when(taskRepo.allocateIdBlocks(anyInt())).thenReturn(List.of(1000L));
+        when(copyRepo.copyIn(anyList(), any())).thenAnswer(inv -> (long) inv.<List<?>>getArgument(0).size());
+    }
+
+    private static ByteArrayInputStream body(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ndjson_validRowsCopiedInChunks_invalidRowsReported() {
+        var ndjson = """
+                {"projectId":1,"title":"A","description":"d","status":"TODO"}
+                {"projectId":1,"title":"","description":"d","status":"TODO"}
+                {"projectId":2,"title":"B","description":"d","status":"NOPE"}
+                {"projectId":2,"title":"C","description":"d","status":"DONE"}
+                {"projectId":404,"title":"D","description":"d","status":"TODO"}
+                {"projectId":1,"title":"E","description":"d","status":"IN_PROGRESS"}
+                """;
+
+        var out = service.importTasks(body(ndjson), FileFormat.NDJSON);
+
+        assertThat(out.accepted()).isEqualTo(3);
+        assertThat(out.rejected()).isEqualTo(3);
+        assertThat(out.rejections()).extracting(r -> r.row()).containsExactly(2L, 3L, 5L);
+        assertThat(out.rejections().get(0).reason()).contains("title");
+        assertThat(out.rejections().get(2).reason()).contains("project 404 not found");
+
+        ArgumentCaptor<List<TaskCopyRepository.Row>> rows = ArgumentCaptor.forClass(List.class);
+        verify(copyRepo, times(2)).copyIn(rows.capture(), any());
+        assertThat(rows.getAllValues().get(0))
+                .containsExactly(new TaskCopyRepository.Row(1000L, 1L, "A", "d", TaskStatus.TODO),
+                        new TaskCopyRepository.Row(1001L, 2L, "C", "d", TaskStatus.DONE));
+        assertThat(rows.getAllValues().get(1))
+                .containsExactly(new TaskCopyRepository.Row(1000L, 1L, "E", "d", TaskStatus.IN_PROGRESS));
+        verify(projectRepo, never()).findById(any());
+    }
+
+    @Test
+    void csv_withHeader_isImported() {
+        var csv = """
+                projectId,title,description,status
+                1,"Title, with comma",d,TODO
+                3,T,"multi
+                line",DONE
+                """;
+
+        var out = service.importTasks(body(csv), FileFormat.CSV);
+
+        assertThat(out.accepted()).isEqualTo(2);
+        assertThat(out.rejected()).isZero();
+    }
+
+    @Test
+    void malformedNdjson_throwsBadRequest_andWritesNothing() {
+        var ndjson = """
+                {"projectId":1,"title":"A","description":"d","status":"TODO"}
+                {"projectId":1,"title":
+                """;
+
+        assertThatThrownBy(() -> service.importTasks(body(ndjson), FileFormat.NDJSON))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Malformed NDJSON at row 2");
+        verifyNoInteractions(copyRepo);
+    }
+}
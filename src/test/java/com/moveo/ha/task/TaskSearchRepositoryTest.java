@@ -0,0 +1,71 @@
+package com.moveo.ha.task;
+
+import com.moveo.ha.PostgresTestcontainer;
+import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.projection.TaskSummaryView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PostgresTestcontainer.class)
+@Testcontainers(disabledWithoutDocker = true)
+class TaskSearchRepositoryTest {
+
+    @Autowired TaskRepository taskRepository;
+    @Autowired JdbcTemplate jdbc;
+
+    private long projectId;
+    private final ArrayList<Long> descriptionMatches = new ArrayList<>();
+    private long titleMatch;
+
+    @BeforeEach
+    void setUp() {
+        projectId = jdbc.queryForObject("""
+                INSERT INTO projects (name, description, created_at, updated_at)
+                VALUES ('Search', 'Search test project', now(), now()) RETURNING id
+                """, Long.class);
+        // inserted first, so a scan without ORDER BY meets these before the best match
+        for (int i = 0; i < 5; i++) {
+            descriptionMatches.add(insertTask("Routine chore " + i, "Needs a deploy afterwards"));
+        }
+        titleMatch = insertTask("Deploy the release", "Ship it");
+        insertTask("Unrelated", "Nothing to see here");
+    }
+
+    private long insertTask(String title, String description) {
+        return jdbc.queryForObject("""
+                INSERT INTO tasks (project_id, title, description, status, created_at, updated_at)
+                VALUES (?, ?, ?, 'TODO', now(), now()) RETURNING id
+                """, Long.class, projectId, title, description);
+    }
+
+    @Test
+    void search_bestMatchFirst_evenWhenItIsNotAmongTheFirstMatches() {
+        var hits = taskRepository.search("deploy", 0, 2);
+
+        assertThat(hits).extracting(TaskSummaryView::getId)
+                .containsExactly(titleMatch, descriptionMatches.getFirst());
+    }
+
+    @Test
+    void searchInProject_pagesCoverEveryMatchOnce_inRankThenIdOrder() {
+        var first = taskRepository.searchInProject("deploy", projectId, 0, 3);
+        var second = taskRepository.searchInProject("deploy", projectId, 3, 3);
+
+        var expected = Stream.concat(Stream.of(titleMatch), descriptionMatches.stream()).toList();
+        assertThat(Stream.concat(first.stream(), second.stream()).map(TaskSummaryView::getId))
+                .containsExactlyElementsOf(expected);
+    }
+}
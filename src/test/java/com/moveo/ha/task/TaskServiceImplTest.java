@@ -1,24 +1,43 @@
 package com.moveo.ha.task;
 
+import com.moveo.ha.config.PagingProperties;
+import com.moveo.ha.config.TaskSearchProperties;
+import com.moveo.ha.dto.Cursor;
 import com.moveo.ha.dto.project.ProjectSummaryDTO;
+import com.moveo.ha.dto.task.TaskFilter;
+import com.moveo.ha.dto.task.TaskPatchDTO;
 import com.moveo.ha.dto.task.TaskRequestDTO;
 import com.moveo.ha.dto.task.TaskResponseDTO;
+import com.moveo.ha.dto.task.TaskSummaryDTO;
+import com.moveo.ha.dto.task.TaskStatusUpdateDTO;
 import com.moveo.ha.entity.Project;
 import com.moveo.ha.entity.Task;
 import com.moveo.ha.enums.TaskStatus;
 import com.moveo.ha.error.BadRequestException;
 import com.moveo.ha.error.NotFoundException;
+import com.moveo.ha.error.PreconditionFailedException;
 import com.moveo.ha.mapper.TaskMapper;
+import com.moveo.ha.repository.EntityCacheEvictor;
 import com.moveo.ha.repository.ProjectRepository;
 import com.moveo.ha.repository.TaskRepository;
+import com.moveo.ha.repository.projection.TaskListVersionView;
+import com.moveo.ha.repository.projection.TaskRowView;
+import com.moveo.ha.repository.projection.TaskSummaryView;
+import com.moveo.ha.service.ResponseCaches;
+import com.moveo.ha.service.RowCountEstimator;
 import com.moveo.ha.service.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +47,8 @@ public class TaskServiceImplTest {
     private TaskRepository taskRepo;
     private ProjectRepository projectRepo;
     private TaskMapper mapper;
+    private EntityCacheEvictor cacheEvictor;
+    private ResponseCaches responseCaches;
     private TaskServiceImpl service;
 
     @BeforeEach
@@ -35,7 +56,11 @@ public class TaskServiceImplTest {
         taskRepo = mock(TaskRepository.class);
         projectRepo = mock(ProjectRepository.class);
         mapper = mock(TaskMapper.class);
-        service = new TaskServiceImpl(taskRepo, projectRepo, mapper);
+        cacheEvictor = mock(EntityCacheEvictor.class);
+        responseCaches = mock(ResponseCaches.class);
+        service = new TaskServiceImpl(taskRepo, projectRepo, mapper,
+                new RowCountEstimator(new PagingProperties(10, Duration.ofSeconds(30))),
+                new TaskSearchProperties(100), cacheEvictor, responseCaches);
     }
 
     // ---------- helpers ----------
@@ -55,156 +80,559 @@ public class TaskServiceImplTest {
                 id, "T", "D", TaskStatus.TODO,
                 Instant.parse("2025-11-10T15:00:00Z"),
                 Instant.parse("2025-11-10T15:10:00Z"),
+                0L,
                 new ProjectSummaryDTO(projectId, "P", Instant.parse("2025-11-10T15:10:00Z"))
         );
     }
 
     // ---------- CREATE ----------
     @Test
-    void createTask_ok() {
+    void createTask_ok_referencesProjectWithoutLoadingIt() {
         var req = new TaskRequestDTO(1L, "T", "D", TaskStatus.TODO);
         var proj = project(1L);
-        var toSave = Task.builder().title("T").description("D").status(TaskStatus.TODO).project(proj).build();
+        var toSave = Task.builder().title("T").description("D").status(TaskStatus.TODO).build();
         var saved = entity(100L, 1L);
         var outDto = dto(100L, 1L);
 
-        when(projectRepo.findById(1L)).thenReturn(Optional.of(proj));
+        when(projectRepo.getReferenceById(1L)).thenReturn(proj);
         when(mapper.toEntity(req)).thenReturn(toSave);
-        when(taskRepo.save(toSave)).thenReturn(saved);
+        when(taskRepo.saveAndFlush(toSave)).thenReturn(saved);
         when(mapper.toResponse(saved)).thenReturn(outDto);
 
         var out = service.createTask(req);
         assertThat(out).isEqualTo(outDto);
-        verify(taskRepo).save(toSave);
+        assertThat(toSave.getProject()).isSameAs(proj);
+        verify(projectRepo, never()).findById(any());
+        verify(responseCaches).evictProject(1L);
     }
 
     @Test
-    void createTask_projectNotFound() {
+    void createTask_projectNotFound_propagatesForeignKeyViolation() {
         var req = new TaskRequestDTO(99L, "T", "D", TaskStatus.TODO);
-        when(projectRepo.findById(99L)).thenReturn(Optional.empty());
+        var toSave = Task.builder().title("T").build();
+        when(projectRepo.getReferenceById(99L)).thenReturn(project(99L));
+        when(mapper.toEntity(req)).thenReturn(toSave);
+        when(taskRepo.saveAndFlush(toSave)).thenThrow(new DataIntegrityViolationException("fk_tasks_project"));
 
         assertThatThrownBy(() -> service.createTask(req))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        verifyNoInteractions(responseCaches);
+    }
+
+    @Test
+    void createTasks_loadsEachProjectOnce_andSavesInOneCall() {
+        var r1 = new TaskRequestDTO(1L, "T", "D", TaskStatus.TODO);
+        var r2 = new TaskRequestDTO(2L, "T", "D", TaskStatus.TODO);
+        var r3 = new TaskRequestDTO(1L, "T", "D", TaskStatus.DONE);
+        var t1 = Task.builder().title("T").build();
+        var t2 = Task.builder().title("T").build();
+        var t3 = Task.builder().title("T").build();
+        var s1 = entity(100L, 1L);
+        var s2 = entity(101L, 2L);
+        var s3 = entity(102L, 1L);
+
+        when(projectRepo.findAllById(Set.of(1L, 2L))).thenReturn(List.of(project(1L), project(2L)));
+        when(mapper.toEntity(r1)).thenReturn(t1);
+        when(mapper.toEntity(r2)).thenReturn(t2);
+        when(mapper.toEntity(r3)).thenReturn(t3);
+        when(taskRepo.saveAll(List.of(t1, t2, t3))).thenReturn(List.of(s1, s2, s3));
+        when(mapper.toResponse(s1)).thenReturn(dto(100L, 1L));
+        when(mapper.toResponse(s2)).thenReturn(dto(101L, 2L));
+        when(mapper.toResponse(s3)).thenReturn(dto(102L, 1L));
+
+        var out = service.createTasks(List.of(r1, r2, r3));
+
+        assertThat(out).extracting(TaskResponseDTO::id).containsExactly(100L, 101L, 102L);
+        assertThat(t1.getProject().getId()).isEqualTo(1L);
+        assertThat(t2.getProject().getId()).isEqualTo(2L);
+        assertThat(t3.getProject()).isSameAs(t1.getProject());
+        verify(projectRepo, never()).findById(any());
+    }
+
+    @Test
+    void createTasks_missingProject_createsNothing() {
+        var r1 = new TaskRequestDTO(1L, "T", "D", TaskStatus.TODO);
+        var r2 = new TaskRequestDTO(9L, "T", "D", TaskStatus.TODO);
+        when(projectRepo.findAllById(Set.of(1L, 9L))).thenReturn(List.of(project(1L)));
+
+        assertThatThrownBy(() -> service.createTasks(List.of(r1, r2)))
                 .isInstanceOf(NotFoundException.class)
-                .hasMessageContaining("Project 99 not found");
-        verify(taskRepo, never()).save(any());
+                .hasMessageContaining("Projects [9] not found");
+        verify(taskRepo, never()).saveAll(any());
     }
 
     // ---------- UPDATE ----------
+    private TaskRowView row(long id, long projectId, long previousProjectId) {
+        var row = mock(TaskRowView.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getProjectId()).thenReturn(projectId);
+        when(row.getPreviousProjectId()).thenReturn(previousProjectId);
+        return row;
+    }
+
     @Test
-    void updateTask_ok_sameProject() {
-        var existing = entity(5L, 1L);
+    void updateTask_ok_sameProject_singleStatement() {
         var req = new TaskRequestDTO(1L, "T2", "D2", TaskStatus.IN_PROGRESS);
-        var updated = existing.toBuilder().title("T2").description("D2").status(TaskStatus.IN_PROGRESS).build();
+        var row = row(5L, 1L, 1L);
         var outDto = dto(5L, 1L);
 
-        when(taskRepo.findById(5L)).thenReturn(Optional.of(existing));
-        when(projectRepo.findById(1L)).thenReturn(Optional.of(project(1L)));
-        when(taskRepo.save(existing)).thenReturn(updated);
-        when(mapper.toResponse(updated)).thenReturn(outDto);
+        when(taskRepo.updateReturning(5L, null, 1L, "T2", "D2", "IN_PROGRESS")).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(outDto);
 
-        var out = service.updateTaskById(5L, req);
+        var out = service.updateTaskById(5L, req, null);
         assertThat(out).isEqualTo(outDto);
-        assertThat(existing.getTitle()).isEqualTo("T2");
-        assertThat(existing.getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+        verify(taskRepo, never()).findById(any());
+        verify(taskRepo, never()).findVersionById(any());
+        verify(projectRepo, never()).findById(any());
+        verify(cacheEvictor).evictTasks(List.of(5L));
+        verify(cacheEvictor, never()).evictProjectTasks(any());
+        verify(responseCaches).putTask(outDto);
+        verify(responseCaches).evictProjects(Set.of(1L));
     }
 
     @Test
-    void updateTask_changeProject_ok() {
-        var existing = entity(7L, 1L);
+    void updateTask_changeProject_evictsBothProjects() {
         var req = new TaskRequestDTO(2L, "T", "D", TaskStatus.TODO);
+        var row = row(7L, 2L, 1L);
 
-        when(taskRepo.findById(7L)).thenReturn(Optional.of(existing));
-        when(projectRepo.findById(2L)).thenReturn(Optional.of(project(2L)));
-        when(taskRepo.save(existing)).thenReturn(existing);
-        when(mapper.toResponse(existing)).thenReturn(dto(7L, 2L));
+        when(taskRepo.updateReturning(7L, null, 2L, "T", "D", "TODO")).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(dto(7L, 2L));
 
-        var out = service.updateTaskById(7L, req);
+        var out = service.updateTaskById(7L, req, null);
         assertThat(out.project().id()).isEqualTo(2L);
+        verify(cacheEvictor).evictProjectTasks(Set.of(1L, 2L));
+        verify(responseCaches).putTask(out);
+        verify(responseCaches).evictProjects(Set.of(1L, 2L));
     }
 
     @Test
     void updateTask_taskNotFound() {
-        when(taskRepo.findById(111L)).thenReturn(Optional.empty());
+        when(taskRepo.updateReturning(eq(111L), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepo.findVersionById(111L)).thenReturn(Optional.empty());
+
         var req = new TaskRequestDTO(1L, "T", "D", TaskStatus.TODO);
-        assertThatThrownBy(() -> service.updateTaskById(111L, req))
+        assertThatThrownBy(() -> service.updateTaskById(111L, req, null))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Task 111 not found");
+        verifyNoInteractions(responseCaches);
     }
 
     @Test
-    void updateTask_newProjectNotFound() {
-        var existing = entity(8L, 1L);
-        when(taskRepo.findById(8L)).thenReturn(Optional.of(existing));
-        when(projectRepo.findById(777L)).thenReturn(Optional.empty());
+    void updateTask_nothingChanged_returnsCurrentState_withoutCacheChurn() {
+        when(taskRepo.updateReturning(eq(5L), eq(3L), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepo.findVersionById(5L)).thenReturn(Optional.of(3L));
+        when(taskRepo.findResponseById(5L)).thenReturn(Optional.of(dto(5L, 1L)));
 
-        var req = new TaskRequestDTO(777L, "T", "D", TaskStatus.TODO);
-        assertThatThrownBy(() -> service.updateTaskById(8L, req))
-                .isInstanceOf(NotFoundException.class)
-                .hasMessageContaining("Project 777 not found");
+        var out = service.updateTaskById(5L, new TaskRequestDTO(1L, "T", "D", TaskStatus.TODO), 3L);
+
+        assertThat(out.id()).isEqualTo(5L);
+        verifyNoInteractions(cacheEvictor, responseCaches);
+    }
+
+    @Test
+    void updateTask_staleVersion_preconditionFailed_nothingWritten() {
+        when(taskRepo.updateReturning(eq(5L), eq(3L), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepo.findVersionById(5L)).thenReturn(Optional.of(4L));
+
+        var req = new TaskRequestDTO(1L, "T2", "D2", TaskStatus.DONE);
+        assertThatThrownBy(() -> service.updateTaskById(5L, req, 3L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("Task 5 has version 4, not 3");
+        verify(taskRepo, never()).findResponseById(any());
+        verifyNoInteractions(responseCaches);
+    }
+
+    // ---------- PATCH ----------
+    @Test
+    void patchTask_statusOnly_passesNullsForUntouchedColumns() {
+        var patch = new TaskPatchDTO(null, null, null, TaskStatus.DONE);
+        var row = row(5L, 1L, 1L);
+        when(taskRepo.updateReturning(5L, null, null, null, null, "DONE")).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(dto(5L, 1L));
+
+        var out = service.patchTaskById(5L, patch, null);
+
+        assertThat(out.id()).isEqualTo(5L);
+        verify(projectRepo, never()).findById(any());
+        verify(responseCaches).putTask(out);
+        verify(responseCaches).evictProjects(Set.of(1L));
+    }
+
+    @Test
+    void patchTask_projectId_movesTask() {
+        var row = row(7L, 2L, 1L);
+        when(taskRepo.updateReturning(7L, null, 2L, null, null, null)).thenReturn(Optional.of(row));
+        when(mapper.toResponse(row)).thenReturn(dto(7L, 2L));
+
+        service.patchTaskById(7L, new TaskPatchDTO(2L, null, null, null), null);
+
+        verify(cacheEvictor).evictProjectTasks(Set.of(1L, 2L));
+        verify(responseCaches).evictProjects(Set.of(1L, 2L));
+    }
+
+    @Test
+    void patchTask_staleVersion_preconditionFailed() {
+        when(taskRepo.updateReturning(5L, 3L, null, null, null, "DONE")).thenReturn(Optional.empty());
+        when(taskRepo.findVersionById(5L)).thenReturn(Optional.of(4L));
+
+        var patch = new TaskPatchDTO(null, null, null, TaskStatus.DONE);
+        assertThatThrownBy(() -> service.patchTaskById(5L, patch, 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verifyNoInteractions(mapper);
     }
 
     // ---------- GET BY ID ----------
     @Test
-    void getTaskById_ok() {
-        var e = entity(10L, 1L);
-        when(taskRepo.findById(10L)).thenReturn(Optional.of(e));
-        when(mapper.toResponse(e)).thenReturn(dto(10L, 1L));
+    void getTaskById_ok_projectsWithoutLoadingEntity() {
+        when(taskRepo.findResponseById(10L)).thenReturn(Optional.of(dto(10L, 1L)));
 
         var out = service.getTaskById(10L);
         assertThat(out.id()).isEqualTo(10L);
+        verify(taskRepo, never()).findById(any());
+        verifyNoInteractions(mapper);
     }
 
     @Test
     void getTaskById_notFound() {
-        when(taskRepo.findById(77L)).thenReturn(Optional.empty());
+        when(taskRepo.findResponseById(77L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.getTaskById(77L))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Task 77 not found");
     }
 
+    @Test
+    void getTaskByIdIncludingArchived_live_skipsArchive() {
+        when(taskRepo.findResponseById(10L)).thenReturn(Optional.of(dto(10L, 1L)));
+
+        assertThat(service.getTaskByIdIncludingArchived(10L).id()).isEqualTo(10L);
+        verify(taskRepo, never()).findArchivedById(any());
+    }
+
+    @Test
+    void getTaskByIdIncludingArchived_fallsBackToArchive() {
+        var archived = row(10L, 1L, 1L);
+        when(taskRepo.findResponseById(10L)).thenReturn(Optional.empty());
+        when(taskRepo.findArchivedById(10L)).thenReturn(Optional.of(archived));
+        when(mapper.toResponse(archived)).thenReturn(dto(10L, 1L));
+
+        assertThat(service.getTaskByIdIncludingArchived(10L).id()).isEqualTo(10L);
+    }
+
+    @Test
+    void getTaskByIdIncludingArchived_neither_notFound() {
+        when(taskRepo.findResponseById(77L)).thenReturn(Optional.empty());
+        when(taskRepo.findArchivedById(77L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getTaskByIdIncludingArchived(77L))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Task 77 not found");
+    }
+
     // ---------- PAGE ----------
+    @Test
+    void getTaskListVersion_projectFilter_probesOnlyThatProject() {
+        var version = mock(TaskListVersionView.class);
+        when(version.getTasksUpdatedAt()).thenReturn(Instant.parse("2025-11-10T15:10:00Z"));
+        when(version.getTaskCount()).thenReturn(3L);
+        when(taskRepo.findListVersionByProjectId(1L)).thenReturn(version);
+
+        var filter = TaskFilter.builder().projectId(1L).status(List.of(TaskStatus.TODO)).build();
+        var out = service.getTaskListVersion(filter);
+
+        when(version.getTaskCount()).thenReturn(2L);
+        assertThat(service.getTaskListVersion(filter)).isNotEqualTo(out);
+        verify(taskRepo, never()).findListVersion();
+        verifyNoInteractions(mapper);
+    }
+
+    @Test
+    void getTaskListVersion_noProject_probesAllTasks() {
+        when(taskRepo.findListVersion()).thenReturn(mock(TaskListVersionView.class));
+
+        assertThat(service.getTaskListVersion(new TaskFilter())).startsWith("\"");
+        verify(taskRepo, never()).findListVersionByProjectId(any());
+    }
+
     @Test
     void getPageOfTasks_ok() {
         var pageable = PageRequest.of(0, 2, Sort.by("id"));
-        var e1 = entity(1L, 1L);
-        var e2 = entity(2L, 1L);
-        var page = new PageImpl<>(List.of(e1, e2), pageable, 4);
 
-        when(taskRepo.findAll(pageable)).thenReturn(page);
-        when(mapper.toResponse(e1)).thenReturn(dto(1L, 1L));
-        when(mapper.toResponse(e2)).thenReturn(dto(2L, 1L));
+        when(taskRepo.count()).thenReturn(4L);
+        when(taskRepo.findResponses(null, pageable.getSort(), 0L, 2)).thenReturn(List.of(dto(1L, 1L), dto(2L, 1L)));
 
-        var out = service.getPageOfTasks(pageable);
+        var out = service.getPageOfTasks(new TaskFilter(), pageable);
         assertThat(out.getTotalTasks()).isEqualTo(4);
         assertThat(out.getTotalPages()).isEqualTo(2);
+        assertThat(out.isTotalEstimated()).isFalse();
     }
 
     @Test
-    void getPageOfTasks_outOfRange_throwsBadRequest() {
+    void getPageOfTasks_outOfRange_throwsBadRequest_withoutFetchingRows() {
         var asked = PageRequest.of(5, 2, Sort.by("id"));
-        var empty = new PageImpl<Task>(List.of(), asked, 6); // totalPages = 3
-        when(taskRepo.findAll(asked)).thenReturn(empty);
+        when(taskRepo.count()).thenReturn(6L); // totalPages = 3
+
+        assertThatThrownBy(() -> service.getPageOfTasks(new TaskFilter(), asked))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("This page does not exist");
+        verify(taskRepo, never()).findResponses(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getPageOfTasks_filtered_countsOnlyMatchingTasks() {
+        var pageable = PageRequest.of(0, 2, Sort.by("id"));
+        var filter = TaskFilter.builder().projectId(1L).status(List.of(TaskStatus.TODO)).build();
+
+        when(taskRepo.count(any(Specification.class))).thenReturn(1L);
+        when(taskRepo.findResponses(notNull(), eq(pageable.getSort()), eq(0L), eq(2))).thenReturn(List.of(dto(1L, 1L)));
+
+        var out = service.getPageOfTasks(filter, pageable);
+
+        assertThat(out.getTotalTasks()).isEqualTo(1L);
+        assertThat(out.getTotalPages()).isEqualTo(1);
+        verify(taskRepo, never()).count();
+    }
+
+    // ---------- SLICE / ESTIMATED ----------
+    @Test
+    void getSliceOfTasks_reportsHasNext_withoutCounting() {
+        var pageable = PageRequest.of(0, 2, Sort.by("id"));
+        when(taskRepo.findResponses(null, pageable.getSort(), 0L, 3))
+                .thenReturn(List.of(dto(1L, 1L), dto(2L, 1L), dto(3L, 1L)));
+
+        var out = service.getSliceOfTasks(new TaskFilter(), pageable);
+
+        assertThat(out.getTasks()).hasSize(2);
+        assertThat(out.isLast()).isFalse();
+        assertThat(out.getTotalTasks()).isNull();
+        assertThat(out.getTotalPages()).isNull();
+        verify(taskRepo, never()).count();
+    }
+
+    @Test
+    void getSliceOfTasks_emptyPastFirst_throwsBadRequest() {
+        var asked = PageRequest.of(3, 2, Sort.by("id"));
+        when(taskRepo.findResponses(null, asked.getSort(), 6L, 3)).thenReturn(List.of());
 
-        assertThatThrownBy(() -> service.getPageOfTasks(asked))
+        assertThatThrownBy(() -> service.getSliceOfTasks(new TaskFilter(), asked))
                 .isInstanceOf(BadRequestException.class)
                 .hasMessageContaining("This page does not exist");
     }
 
+    @Test
+    void getEstimatedPageOfTasks_usesPlannerEstimate_onLargeTables() {
+        var pageable = PageRequest.of(0, 2, Sort.by("id"));
+        when(taskRepo.findResponses(null, pageable.getSort(), 0L, 3))
+                .thenReturn(List.of(dto(1L, 1L), dto(2L, 1L), dto(3L, 1L)));
+        when(taskRepo.estimateCount()).thenReturn(1_000L);
+
+        var out = service.getEstimatedPageOfTasks(new TaskFilter(), pageable);
+
+        assertThat(out.getTotalTasks()).isEqualTo(1_000L);
+        assertThat(out.getTotalPages()).isEqualTo(500);
+        assertThat(out.isTotalEstimated()).isTrue();
+        verify(taskRepo, never()).count();
+    }
+
+    @Test
+    void getEstimatedPageOfTasks_smallTable_fallsBackToCachedExactCount() {
+        var pageable = PageRequest.of(0, 1, Sort.by("id"));
+        when(taskRepo.findResponses(null, pageable.getSort(), 0L, 2)).thenReturn(List.of(dto(1L, 1L), dto(2L, 1L)));
+        when(taskRepo.estimateCount()).thenReturn(-1L); // never analyzed
+        when(taskRepo.count()).thenReturn(3L);
+
+        service.getEstimatedPageOfTasks(new TaskFilter(), pageable);
+        var out = service.getEstimatedPageOfTasks(new TaskFilter(), pageable);
+
+        assertThat(out.getTotalTasks()).isEqualTo(3L);
+        assertThat(out.getTotalPages()).isEqualTo(3);
+        verify(taskRepo, times(1)).count();
+    }
+
+    @Test
+    void getEstimatedPageOfTasks_filtered_countsInsteadOfPlannerEstimate() {
+        var pageable = PageRequest.of(0, 1, Sort.by("id"));
+        var filter = TaskFilter.builder().projectId(1L).build();
+        when(taskRepo.findResponses(notNull(), eq(pageable.getSort()), eq(0L), eq(2)))
+                .thenReturn(List.of(dto(1L, 1L), dto(2L, 1L)));
+        when(taskRepo.count(any(Specification.class))).thenReturn(5L);
+
+        var out = service.getEstimatedPageOfTasks(filter, pageable);
+
+        assertThat(out.getTotalTasks()).isEqualTo(5L);
+        assertThat(out.isTotalEstimated()).isFalse();
+        verify(taskRepo, never()).estimateCount();
+    }
+
+    @Test
+    void getEstimatedPageOfTasks_lastPage_reportsExactTotal() {
+        var pageable = PageRequest.of(1, 2, Sort.by("id"));
+        when(taskRepo.findResponses(null, pageable.getSort(), 2L, 3)).thenReturn(List.of(dto(3L, 1L)));
+
+        var out = service.getEstimatedPageOfTasks(new TaskFilter(), pageable);
+
+        assertThat(out.getTotalTasks()).isEqualTo(3L);
+        assertThat(out.getTotalPages()).isEqualTo(2);
+        assertThat(out.isTotalEstimated()).isFalse();
+        verifyNoMoreInteractions(ignoreStubs(taskRepo));
+    }
+
+    // ---------- CURSOR ----------
+    @Test
+    void getWindowOfTasks_moreRows_returnsCursorOfLastReturnedRow() {
+        when(taskRepo.findResponses(any(), any(), eq(0L), eq(3)))
+                .thenReturn(List.of(dto(1L, 1L), dto(2L, 1L), dto(3L, 1L)));
+
+        var out = service.getWindowOfTasks(new TaskFilter(), Sort.by(Sort.Direction.DESC, "createdAt"), 2, null);
+
+        assertThat(out.getTasks()).hasSize(2);
+        assertThat(out.isFirst()).isTrue();
+        assertThat(out.isLast()).isFalse();
+        assertThat(out.getTotalTasks()).isNull();
+        assertThat(Cursor.decode(out.getNextCursor()))
+                .isEqualTo(new Cursor("createdAt", "desc", 2L, "2025-11-10T15:00:00Z"));
+    }
+
+    @Test
+    void getWindowOfTasks_lastWindow_hasNoCursor() {
+        when(taskRepo.findResponses(any(), any(), eq(0L), eq(3))).thenReturn(List.of(dto(1L, 1L)));
+
+        var after = new Cursor("id", "asc", 0L, "0");
+        var out = service.getWindowOfTasks(new TaskFilter(), Sort.by("id"), 2, after);
+
+        assertThat(out.isFirst()).isFalse();
+        assertThat(out.isLast()).isTrue();
+        assertThat(out.getNextCursor()).isNull();
+    }
+
+    // ---------- SEARCH ----------
+    @Test
+    void searchTasks_fetchesOneAhead_andMapsSummaries() {
+        var hit = mock(TaskSummaryView.class);
+        when(taskRepo.search("demo", 2L, 3)).thenReturn(List.of(hit, hit, hit));
+        when(mapper.toSummary(hit)).thenReturn(new TaskSummaryDTO(1L, "demo", TaskStatus.TODO, Instant.now()));
+
+        var out = service.searchTasks("demo", null, 1, 2);
+
+        assertThat(out.getTasks()).hasSize(2);
+        assertThat(out.isFirst()).isFalse();
+        assertThat(out.isLast()).isFalse();
+        assertThat(out.isTruncated()).isFalse();
+        verify(taskRepo, never()).searchInProject(any(), any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchTasks_pageReachingTheCap_isCutAndFlaggedTruncated() {
+        // maxCandidates = 100: page 4 of 30 covers 90..119, only 90..99 are served
+        var hit = mock(TaskSummaryView.class);
+        var rows = Collections.nCopies(11, hit);
+        when(taskRepo.search("demo", 90L, 11)).thenReturn(rows);
+        when(mapper.toSummary(hit)).thenReturn(new TaskSummaryDTO(1L, "demo", TaskStatus.TODO, Instant.now()));
+
+        var out = service.searchTasks("demo", null, 3, 30);
+
+        assertThat(out.getTasks()).hasSize(10);
+        assertThat(out.isLast()).isTrue();
+        assertThat(out.isTruncated()).isTrue();
+    }
+
+    @Test
+    void searchTasks_pagePastTheCap_isEmpty() {
+        when(taskRepo.search("demo", 100L, 1)).thenReturn(List.of(mock(TaskSummaryView.class)));
+
+        var out = service.searchTasks("demo", null, 5, 20);
+
+        assertThat(out.getTasks()).isEmpty();
+        assertThat(out.isLast()).isTrue();
+        assertThat(out.isTruncated()).isTrue();
+    }
+
+    @Test
+    void searchTasks_inProject_usesScopedQuery() {
+        when(projectRepo.existsById(7L)).thenReturn(true);
+        when(taskRepo.searchInProject("demo", 7L, 0L, 21)).thenReturn(List.of());
+
+        var out = service.searchTasks("demo", 7L, 0, 20);
+
+        assertThat(out.getTasks()).isEmpty();
+        assertThat(out.isLast()).isTrue();
+        assertThat(out.isTruncated()).isFalse();
+        verify(taskRepo, never()).search(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void searchTasks_unknownProject_throwsNotFound() {
+        when(projectRepo.existsById(7L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.searchTasks("demo", 7L, 0, 20))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Project 7 not found");
+        verifyNoInteractions(taskRepo);
+    }
+
+    // ---------- BULK STATUS ----------
+    @Test
+    void updateStatus_byIds_singleStatement_returnsChangedIds() {
+        when(taskRepo.updateStatusByIds(List.of(1L, 2L, 3L), "DONE")).thenReturn(List.of(1L, 3L));
+
+        var out = service.updateStatus(new TaskStatusUpdateDTO(TaskStatus.DONE, List.of(1L, 2L, 3L), null, null));
+
+        assertThat(out.updated()).isEqualTo(2);
+        assertThat(out.ids()).containsExactly(1L, 3L);
+        verify(cacheEvictor).evictTasks(List.of(1L, 3L));
+        verify(taskRepo, never()).findById(any());
+        verify(taskRepo, never()).save(any());
+    }
+
+    @Test
+    void updateStatus_byProjectAndStatus_ok_withoutExistenceCheck() {
+        when(taskRepo.updateStatusByProjectAndStatus(4L, "IN_PROGRESS", "DONE")).thenReturn(List.of(7L));
+
+        var out = service.updateStatus(new TaskStatusUpdateDTO(TaskStatus.DONE, null, 4L, TaskStatus.IN_PROGRESS));
+
+        assertThat(out.updated()).isEqualTo(1);
+        verify(projectRepo, never()).existsById(any());
+    }
+
+    @Test
+    void updateStatus_byProject_nothingMatched_existingProject_ok() {
+        when(taskRepo.updateStatusByProjectAndStatus(4L, "TODO", "DONE")).thenReturn(List.of());
+        when(projectRepo.existsById(4L)).thenReturn(true);
+
+        var out = service.updateStatus(new TaskStatusUpdateDTO(TaskStatus.DONE, null, 4L, TaskStatus.TODO));
+
+        assertThat(out.updated()).isZero();
+    }
+
+    @Test
+    void updateStatus_unknownProject_notFound() {
+        when(taskRepo.updateStatusByProjectAndStatus(4L, "TODO", "DONE")).thenReturn(List.of());
+        when(projectRepo.existsById(4L)).thenReturn(false);
+
+        assertThatThrownBy(() -> service.updateStatus(new TaskStatusUpdateDTO(TaskStatus.DONE, null, 4L, TaskStatus.TODO)))
+                .isInstanceOf(NotFoundException.class)
+                .hasMessageContaining("Project 4 not found");
+    }
+
     // ---------- DELETE ----------
     @Test
-    void deleteTask_ok_returnsSnapshot() {
-        var e = entity(3L, 1L);
-        when(taskRepo.findById(3L)).thenReturn(Optional.of(e));
-        when(mapper.toResponse(e)).thenReturn(dto(3L, 1L));
+    void deleteTask_ok_singleStatement_returnsSnapshot() {
+        var removed = row(3L, 1L, 1L);
+        when(taskRepo.deleteReturning(3L)).thenReturn(Optional.of(removed));
+        when(mapper.toResponse(removed)).thenReturn(dto(3L, 1L));
 
         var out = service.deleteTaskById(3L);
         assertThat(out.id()).isEqualTo(3L);
-        verify(taskRepo).delete(e);
+        verify(taskRepo, never()).findById(any());
+        verify(taskRepo, never()).delete(any());
+        verify(cacheEvictor).evictTasks(List.of(3L));
+        verify(cacheEvictor).evictProjectTasks(List.of(1L));
+        verify(responseCaches).evictTask(3L);
+        verify(responseCaches).evictProject(1L);
     }
 
     @Test
     void deleteTask_notFound() {
-        when(taskRepo.findById(404L)).thenReturn(Optional.empty());
+        when(taskRepo.deleteReturning(404L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.deleteTaskById(404L))
                 .isInstanceOf(NotFoundException.class)
                 .hasMessageContaining("Task 404 not found");